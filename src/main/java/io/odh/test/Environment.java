@@ -68,6 +68,39 @@ public class Environment {
     private static final String OPERATOR_INSTALL_TYPE_ENV = "OPERATOR_INSTALL_TYPE";
     private static final String OLM_UPGRADE_STARTING_VERSION_ENV = "OLM_UPGRADE_STARTING_VERSION";
 
+    /**
+     * Kube client env variables
+     */
+    private static final String API_REQUEST_BUDGET_ENV = "API_REQUEST_BUDGET";
+    private static final String KUBE_CLIENT_QPS_ENV = "KUBE_CLIENT_QPS";
+    private static final String KUBE_CLIENT_BURST_ENV = "KUBE_CLIENT_BURST";
+
+    /**
+     * Reconcile telemetry env variables
+     */
+    private static final String DSC_RECONCILE_BASELINE_ENV = "DSC_RECONCILE_BASELINE";
+    private static final String DSC_RECONCILE_TOLERANCE_ENV = "DSC_RECONCILE_TOLERANCE";
+
+    /**
+     * Upgrade tests env variables
+     */
+    private static final String UPGRADE_MAX_UNAVAILABLE_MS_ENV = "UPGRADE_MAX_UNAVAILABLE_MS";
+    private static final String UPGRADE_MAX_GAP_MS_ENV = "UPGRADE_MAX_GAP_MS";
+
+    /**
+     * Performance tests env variables
+     */
+    private static final String PERFORMANCE_ITERATIONS_ENV = "PERFORMANCE_ITERATIONS";
+    private static final String PERFORMANCE_MODEL_COUNTS_ENV = "PERFORMANCE_MODEL_COUNTS";
+    private static final String PERFORMANCE_PAYLOAD_ELEMENTS_ENV = "PERFORMANCE_PAYLOAD_ELEMENTS";
+    private static final String PERFORMANCE_TOGGLE_COMPONENTS_ENV = "PERFORMANCE_TOGGLE_COMPONENTS";
+    private static final String PERFORMANCE_NAMESPACE_COUNTS_ENV = "PERFORMANCE_NAMESPACE_COUNTS";
+    private static final String PROMETHEUS_URL_ENV = "PROMETHEUS_URL";
+    private static final String RESOURCE_SAMPLE_INTERVAL_ENV = "RESOURCE_SAMPLE_INTERVAL";
+    private static final String RESOURCE_MAX_MEMORY_MIB_ENV = "RESOURCE_MAX_MEMORY_MIB";
+    private static final String RESOURCE_MAX_CPU_MILLICORES_ENV = "RESOURCE_MAX_CPU_MILLICORES";
+    private static final String RESOURCE_MAX_LEAK_MIB_PER_HOUR_ENV = "RESOURCE_MAX_LEAK_MIB_PER_HOUR";
+
     public static final String PRODUCT_ODH = "odh";
     public static final String PRODUCT_RHOAI = "rhoai";
 
@@ -97,6 +130,32 @@ public class Environment {
 
     public static final String OPERATOR_INSTALL_TYPE = getOrDefault(OPERATOR_INSTALL_TYPE_ENV, InstallTypes.BUNDLE.toString());
 
+    // Kube client, budget 0 means unlimited
+    public static final int API_REQUEST_BUDGET = getOrDefault(API_REQUEST_BUDGET_ENV, Integer::valueOf, 0);
+    // Client side rate limiting, qps 0 means disabled
+    public static final double KUBE_CLIENT_QPS = getOrDefault(KUBE_CLIENT_QPS_ENV, Double::valueOf, 0d);
+    public static final int KUBE_CLIENT_BURST = getOrDefault(KUBE_CLIENT_BURST_ENV, Integer::valueOf, 10);
+
+    // Reconcile telemetry, no baseline means the waterfall is only exported
+    public static final String DSC_RECONCILE_BASELINE = getOrDefault(DSC_RECONCILE_BASELINE_ENV, null);
+    public static final double DSC_RECONCILE_TOLERANCE = getOrDefault(DSC_RECONCILE_TOLERANCE_ENV, Double::valueOf, 1.5d);
+
+    // Upgrade availability, no limits means the report is only attached
+    public static final String UPGRADE_MAX_UNAVAILABLE_MS = getOrDefault(UPGRADE_MAX_UNAVAILABLE_MS_ENV, null);
+    public static final String UPGRADE_MAX_GAP_MS = getOrDefault(UPGRADE_MAX_GAP_MS_ENV, null);
+
+    // Performance
+    public static final int PERFORMANCE_ITERATIONS = getOrDefault(PERFORMANCE_ITERATIONS_ENV, Integer::valueOf, 5);
+    public static final String PERFORMANCE_MODEL_COUNTS = getOrDefault(PERFORMANCE_MODEL_COUNTS_ENV, "1,5,10,20");
+    public static final String PERFORMANCE_PAYLOAD_ELEMENTS = getOrDefault(PERFORMANCE_PAYLOAD_ELEMENTS_ENV, "784,8192,65536,524288,2097152");
+    public static final String PERFORMANCE_TOGGLE_COMPONENTS = getOrDefault(PERFORMANCE_TOGGLE_COMPONENTS_ENV, "kserve,ray,modelmesh");
+    public static final String PERFORMANCE_NAMESPACE_COUNTS = getOrDefault(PERFORMANCE_NAMESPACE_COUNTS_ENV, "100,500,1000,2000");
+    public static final String PROMETHEUS_URL = getOrDefault(PROMETHEUS_URL_ENV, null);
+    public static final int RESOURCE_SAMPLE_INTERVAL = getOrDefault(RESOURCE_SAMPLE_INTERVAL_ENV, Integer::valueOf, 10);
+    public static final String RESOURCE_MAX_MEMORY_MIB = getOrDefault(RESOURCE_MAX_MEMORY_MIB_ENV, null);
+    public static final String RESOURCE_MAX_CPU_MILLICORES = getOrDefault(RESOURCE_MAX_CPU_MILLICORES_ENV, null);
+    public static final String RESOURCE_MAX_LEAK_MIB_PER_HOUR = getOrDefault(RESOURCE_MAX_LEAK_MIB_PER_HOUR_ENV, null);
+
     public static final Path LOG_DIR = getOrDefault(LOG_DIR_ENV, Paths::get, Paths.get(USER_PATH, "target", "logs")).resolve("test-run-" + DATE_FORMAT.format(LocalDateTime.now()));
 
     private Environment() {
@@ -11,6 +11,7 @@ public class TestSuite {
     public static final String BUNDLE_UPGRADE = "bundle-upgrade";
     public static final String STANDARD = "standard";
     public static final String CONTINUOUS = "continuous";
+    public static final String PERFORMANCE = "performance";
     public static final String UNIT = "unit";
 
     private TestSuite() {
@@ -9,9 +9,11 @@ import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import io.fabric8.kubernetes.api.model.EndpointSubset;
 import io.fabric8.kubernetes.api.model.Endpoints;
+import io.fabric8.kubernetes.api.model.apiextensions.v1.CustomResourceDefinition;
 import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.dsl.Resource;
 import io.fabric8.openshift.api.model.operatorhub.v1alpha1.InstallPlan;
+import io.odh.test.utils.TeardownUtils;
 import io.opendatahub.datasciencecluster.v1.datascienceclusterstatus.Conditions;
 import io.skodjob.testframe.resources.KubeResourceManager;
 import io.skodjob.testframe.utils.KubeUtils;
@@ -30,13 +32,18 @@ import java.net.http.HttpResponse;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
 
 import static io.odh.test.TestConstants.GLOBAL_POLL_INTERVAL_SHORT;
 import static io.odh.test.TestConstants.GLOBAL_TIMEOUT;
@@ -169,24 +176,23 @@ public final class TestUtils {
     }
 
     public static io.opendatahub.datasciencecluster.v1.datascienceclusterstatus.Conditions getDscConditionByType(List<Conditions> conditions, String type) {
-        return conditions.stream().filter(c -> c.getType().equals(type)).findFirst().orElseGet(null);
+        return conditions.stream().filter(c -> c.getType().equals(type)).findFirst().orElse(null);
     }
 
     public static org.kubeflow.v1.notebookstatus.Conditions getNotebookConditionByType(List<org.kubeflow.v1.notebookstatus.Conditions> conditions, String type) {
-        return conditions.stream().filter(c -> c.getType().equals(type)).findFirst().orElseGet(null);
+        return conditions.stream().filter(c -> c.getType().equals(type)).findFirst().orElse(null);
     }
 
     public static io.kserve.serving.v1beta1.inferenceservicestatus.Conditions getInferenceServiceConditionByType(List<io.kserve.serving.v1beta1.inferenceservicestatus.Conditions> conditions, String type) {
-        return conditions.stream().filter(c -> c.getType().equals(type)).findFirst().orElseGet(null);
+        return conditions.stream().filter(c -> c.getType().equals(type)).findFirst().orElse(null);
     }
 
     public static void clearOdhRemainingResources() {
-        KubeResourceManager.getKubeClient().getClient().apiextensions().v1().customResourceDefinitions().list().getItems()
-                .stream().filter(crd -> crd.getMetadata().getName().contains("opendatahub.io")).toList()
-                .forEach(crd -> {
-                    LOGGER.info("Deleting CRD {}", crd.getMetadata().getName());
-                    KubeResourceManager.getKubeClient().getClient().resource(crd).delete();
-                });
+        List<CustomResourceDefinition> crds = KubeResourceManager.getKubeClient().getClient().apiextensions().v1()
+                .customResourceDefinitions().list().getItems()
+                .stream().filter(crd -> crd.getMetadata().getName().contains("opendatahub.io")).toList();
+        crds.forEach(crd -> LOGGER.info("Deleting CRD {}", crd.getMetadata().getName()));
+        TeardownUtils.deleteAndWait(crds);
         KubeResourceManager.getKubeClient().getClient().namespaces().withName("opendatahub").delete();
     }
 
@@ -198,18 +204,73 @@ public final class TestUtils {
         KubeResourceManager.getKubeCmdClient().exec(false, true, Long.valueOf(GLOBAL_TIMEOUT).intValue(),  "delete", "dsci", "--all");
     }
 
-    public static void waitForInstallPlan(String namespace, String csvName) {
-        Wait.until(String.format("Install plan with new version: %s:%s", namespace, csvName),
-                GLOBAL_POLL_INTERVAL_SHORT, GLOBAL_TIMEOUT, () -> {
-                    try {
-                        InstallPlan ip = KubeUtils.getNonApprovedInstallPlan(namespace, csvName);
-                        LOGGER.debug("Found InstallPlan {} - {}", ip.getMetadata().getName(), ip.getSpec().getClusterServiceVersionNames());
-                        return true;
-                    } catch (NoSuchElementException ex) {
-                        LOGGER.debug("No new install plan available. Checking again ...");
-                        return false;
-                    }
-                }, () -> { });
+    /**
+     * Parses limits in the {@code name=value,...} format, the {@code *} name is used for names without their own limit
+     */
+    public static Map<String, Double> parseLimits(String limits) {
+        Map<String, Double> result = new LinkedHashMap<>();
+        if (limits == null || limits.isBlank()) {
+            return result;
+        }
+        for (String limit : limits.split(",")) {
+            String[] parts = limit.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Limit %s is not in the name=value format".formatted(limit));
+            }
+            result.put(parts[0].trim(), Double.valueOf(parts[1].trim()));
+        }
+        return result;
+    }
+
+    /**
+     * @return limit for the name, 0 when there is none
+     */
+    public static double getLimit(Map<String, Double> limits, String name) {
+        return limits.getOrDefault(name, limits.getOrDefault("*", 0d));
+    }
+
+    public static InstallPlan waitForInstallPlan(String namespace, String csvName) {
+        return waitForInstallPlan(namespace, csvName, false);
+    }
+
+    /**
+     * Waits for non-approved InstallPlan which contains given CSV. Instead of polling the InstallPlans every few seconds
+     * this starts an informer in the operator namespace, so the future completes as soon as the matching plan appears.
+     *
+     * @param namespace operator namespace
+     * @param csvName name (or prefix) of the CSV which should be part of the InstallPlan
+     * @param approve approve found InstallPlan right away
+     * @return found InstallPlan
+     */
+    public static InstallPlan waitForInstallPlan(String namespace, String csvName, boolean approve) {
+        LOGGER.info("Waiting for InstallPlan with new version: {}:{}", namespace, csvName);
+        Predicate<InstallPlan> isNonApproved = ip -> !Boolean.TRUE.equals(ip.getSpec().getApproved())
+                && ip.getSpec().getClusterServiceVersionNames().toString().contains(csvName);
+
+        CompletableFuture<List<InstallPlan>> future = KubeResourceManager.getKubeClient().getOpenShiftClient().operatorHub()
+                .installPlans().inNamespace(namespace).informOnCondition(ips -> ips.stream().anyMatch(isNonApproved));
+
+        InstallPlan ip;
+        try {
+            ip = future.get(GLOBAL_TIMEOUT, TimeUnit.MILLISECONDS).stream().filter(isNonApproved).findFirst().orElseThrow();
+        } catch (TimeoutException e) {
+            throw new IllegalStateException(String.format("Install plan with new version: %s:%s was not created in %d ms",
+                    namespace, csvName, GLOBAL_TIMEOUT), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            future.cancel(true);
+        }
+        LOGGER.debug("Found InstallPlan {} - {}", ip.getMetadata().getName(), ip.getSpec().getClusterServiceVersionNames());
+
+        if (approve) {
+            LOGGER.info("Approving InstallPlan {}", ip.getMetadata().getName());
+            KubeUtils.approveInstallPlan(namespace, ip.getMetadata().getName());
+        }
+        return ip;
     }
 
     public static void waitForEndpoints(String name, Resource<Endpoints> endpoints) {
@@ -0,0 +1,60 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.framework.kubeclient;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OkHttp interceptor which records every request into {@link ApiRequestAccounting}.
+ * Response bytes are counted while the body is read, so chunked responses are accounted too.
+ * Traffic of watches upgraded to web sockets is not counted, only the watch requests themselves.
+ */
+public class AccountingInterceptor implements Interceptor {
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        ApiRequest apiRequest = ApiRequest.of(request.method(), request.url().pathSegments(), request.url().queryParameter("watch"));
+        ApiRequestAccounting.TestStats stats = ApiRequestAccounting.current();
+        long requestBytes = request.body() == null ? 0 : request.body().contentLength();
+
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            stats.record(apiRequest.verb(), apiRequest.resource(), requestBytes, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), -1);
+            throw e;
+        }
+        stats.record(apiRequest.verb(), apiRequest.resource(), requestBytes, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), response.code());
+
+        ResponseBody body = response.body();
+        if (body == null || response.code() == 101) {
+            return response;
+        }
+        ForwardingSource counting = new ForwardingSource(body.source()) {
+            @Override
+            public long read(Buffer sink, long byteCount) throws IOException {
+                long read = super.read(sink, byteCount);
+                if (read > 0) {
+                    stats.addReceivedBytes(read);
+                }
+                return read;
+            }
+        };
+        return response.newBuilder()
+                .body(ResponseBody.create(body.contentType(), body.contentLength(), Okio.buffer(counting)))
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.framework.kubeclient;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Request to the API server described the same way as in the audit log, e.g. verb "list" of resource "pods"
+ * or "get" of "datascienceclusters.datasciencecluster.opendatahub.io".
+ *
+ * @param verb        get, list, watch, create, update, patch, delete or deletecollection
+ * @param resource    plural resource name with group suffix for non-core groups, or the raw path for non resource URLs
+ * @param subresource status, log, ... or null
+ */
+public record ApiRequest(String verb, String resource, String subresource) {
+
+    public static ApiRequest of(String method, List<String> pathSegments, String watchParameter) {
+        List<String> segments = pathSegments.stream().filter(s -> !s.isEmpty()).toList();
+        int resourceIndex;
+        String group;
+        if (segments.size() > 2 && segments.get(0).equals("api")) {
+            resourceIndex = 2;
+            group = "";
+        } else if (segments.size() > 3 && segments.get(0).equals("apis")) {
+            resourceIndex = 3;
+            group = "." + segments.get(1);
+        } else {
+            return new ApiRequest(method.toLowerCase(Locale.ENGLISH), "/" + String.join("/", segments), null);
+        }
+
+        if (segments.get(resourceIndex).equals("namespaces") && segments.size() > resourceIndex + 2) {
+            resourceIndex += 2;
+        }
+        String resource = segments.get(resourceIndex) + group;
+        boolean named = segments.size() > resourceIndex + 1;
+        String subresource = segments.size() > resourceIndex + 2 ? segments.get(resourceIndex + 2) : null;
+        return new ApiRequest(verb(method, named, "true".equals(watchParameter)), resource, subresource);
+    }
+
+    private static String verb(String method, boolean named, boolean watch) {
+        return switch (method) {
+            case "GET" -> watch ? "watch" : named ? "get" : "list";
+            case "POST" -> "create";
+            case "PUT" -> "update";
+            case "PATCH" -> "patch";
+            case "DELETE" -> named ? "delete" : "deletecollection";
+            default -> method.toLowerCase(Locale.ENGLISH);
+        };
+    }
+
+    public boolean isWrite() {
+        return switch (verb) {
+            case "create", "update", "patch", "delete", "deletecollection" -> true;
+            default -> false;
+        };
+    }
+
+    @Override
+    public String toString() {
+        return verb + " " + resource + (subresource == null ? "" : "/" + subresource);
+    }
+}
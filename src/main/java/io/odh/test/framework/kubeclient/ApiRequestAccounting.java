@@ -0,0 +1,162 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.framework.kubeclient;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accounting of the requests sent to the API server by the kube clients of the suite.
+ * Requests are attributed to the currently running test, everything else (informers started in a test keep running
+ * on their own threads) goes to the same test as well because the tests are executed sequentially.
+ */
+public final class ApiRequestAccounting {
+
+    public static final String SUITE = "suite";
+    static final long[] LATENCY_BUCKETS_MS = {10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    private static final Map<String, TestStats> STATS = new ConcurrentHashMap<>();
+    private static volatile String currentTest = SUITE;
+
+    private ApiRequestAccounting() { }
+
+    public static void startTest(String testId) {
+        STATS.remove(testId);
+        currentTest = testId;
+    }
+
+    /**
+     * Switches accounting back to the parent context (e.g. test class) and returns stats of the finished test
+     */
+    public static TestStats stopTest(String testId, String parentId) {
+        currentTest = parentId;
+        return getStats(testId);
+    }
+
+    public static String getCurrentTest() {
+        return currentTest;
+    }
+
+    public static TestStats getStats(String testId) {
+        return STATS.computeIfAbsent(testId, TestStats::new);
+    }
+
+    static TestStats current() {
+        return getStats(currentTest);
+    }
+
+    /**
+     * Counters of a single test. Latency of watch requests is not part of the histogram,
+     * it only says how long the watch was open.
+     */
+    public static final class TestStats {
+        private final String testId;
+        private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder bytesSent = new LongAdder();
+        private final LongAdder bytesReceived = new LongAdder();
+        private final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKETS_MS.length + 1);
+        private final LongAdder latencySumMs = new LongAdder();
+        private final LongAdder throttledMs = new LongAdder();
+
+        private TestStats(String testId) {
+            this.testId = testId;
+        }
+
+        void record(String verb, String resource, long requestBytes, long latencyMs, int status) {
+            requests.computeIfAbsent(verb + " " + resource, k -> new LongAdder()).increment();
+            if (status >= 400 || status < 0) {
+                errors.increment();
+            }
+            if (requestBytes > 0) {
+                bytesSent.add(requestBytes);
+            }
+            if (!"watch".equals(verb)) {
+                int bucket = 0;
+                while (bucket < LATENCY_BUCKETS_MS.length && latencyMs > LATENCY_BUCKETS_MS[bucket]) {
+                    bucket++;
+                }
+                latencyHistogram.incrementAndGet(bucket);
+                latencySumMs.add(latencyMs);
+            }
+        }
+
+        void addReceivedBytes(long bytes) {
+            bytesReceived.add(bytes);
+        }
+
+        void addThrottled(long ms) {
+            throttledMs.add(ms);
+        }
+
+        public String getTestId() {
+            return testId;
+        }
+
+        public long getTotalRequests() {
+            return requests.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+
+        /**
+         * @return request count per "verb resource", e.g. "list pods"
+         */
+        public Map<String, Long> getRequests() {
+            Map<String, Long> result = new TreeMap<>();
+            requests.forEach((key, count) -> result.put(key, count.sum()));
+            return result;
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getBytesSent() {
+            return bytesSent.sum();
+        }
+
+        public long getBytesReceived() {
+            return bytesReceived.sum();
+        }
+
+        /**
+         * @return total time the requests spent in the client side rate limiter
+         */
+        public long getThrottledMs() {
+            return throttledMs.sum();
+        }
+
+        public long[] getLatencyHistogram() {
+            long[] result = new long[latencyHistogram.length()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = latencyHistogram.get(i);
+            }
+            return result;
+        }
+
+        public String render() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("API requests of %s: %d (errors: %d, sent: %d B, received: %d B, throttled: %d ms)%n",
+                    testId, getTotalRequests(), getErrors(), getBytesSent(), getBytesReceived(), getThrottledMs()));
+            getRequests().entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .forEach(e -> sb.append(String.format("  %6d  %s%n", e.getValue(), e.getKey())));
+
+            long[] histogram = getLatencyHistogram();
+            long count = 0;
+            for (long bucket : histogram) {
+                count += bucket;
+            }
+            sb.append(String.format("Latency (avg %d ms):%n", count == 0 ? 0 : latencySumMs.sum() / count));
+            for (int i = 0; i < histogram.length; i++) {
+                String bound = i < LATENCY_BUCKETS_MS.length ? "<= " + LATENCY_BUCKETS_MS[i] + " ms" : "> " + LATENCY_BUCKETS_MS[i - 1] + " ms";
+                sb.append(String.format("  %-12s %6d%n", bound, histogram[i]));
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.framework.kubeclient;
+
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.http.HttpClient;
+import io.fabric8.kubernetes.client.okhttp.OkHttpClientFactory;
+import io.odh.test.Environment;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+
+/**
+ * Http client factory picked by fabric8 through the service loader (see META-INF/services), it is the only way
+ * to instrument the clients which test-frame creates for {@code KubeResourceManager}.
+ * Priority is higher than the one of the stock OkHttp and Vert.x factories.
+ * When {@link Environment#KUBE_CLIENT_QPS} is set, all clients share one {@link RequestScheduler}.
+ * The clients are built by {@link OkHttpClientFactory}, it is wrapped because its builder type is not public
+ * and the fabric8 level {@link PriorityHeaderInterceptor} can only be added through that builder.
+ */
+public class InstrumentedOkHttpClientFactory implements HttpClient.Factory {
+
+    private static final RequestScheduler SCHEDULER = Environment.KUBE_CLIENT_QPS > 0
+            ? new RequestScheduler(Environment.KUBE_CLIENT_QPS, Environment.KUBE_CLIENT_BURST) : null;
+
+    private final OkHttpClientFactory delegate = new OkHttpClientFactory() {
+        @Override
+        protected void additionalConfig(OkHttpClient.Builder builder) {
+            builder.dispatcher(newDispatcher());
+            InstrumentedOkHttpClientFactory.this.additionalConfig(builder);
+        }
+    };
+
+    @Override
+    public int priority() {
+        return 10;
+    }
+
+    @Override
+    public HttpClient.Builder newBuilder() {
+        return delegate.newBuilder();
+    }
+
+    @Override
+    public HttpClient.Builder newBuilder(Config config) {
+        HttpClient.Builder builder = delegate.newBuilder(config);
+        builder.addOrReplaceInterceptor(PriorityHeaderInterceptor.NAME, new PriorityHeaderInterceptor());
+        return builder;
+    }
+
+    /**
+     * The OkHttp interceptors, and so {@link RateLimitingInterceptor}, run on the dispatcher threads. With a per host limit,
+     * low priority requests parked in the scheduler would hold all the slots, and a higher priority request would wait
+     * in the dispatcher queue without reaching the scheduler. The concurrency is left to the scheduler instead.
+     */
+    private static Dispatcher newDispatcher() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(Integer.MAX_VALUE);
+        dispatcher.setMaxRequestsPerHost(Integer.MAX_VALUE);
+        return dispatcher;
+    }
+
+    protected void additionalConfig(OkHttpClient.Builder builder) {
+        // Rate limiter goes first, so the accounted latency is the one of the API server
+        if (SCHEDULER != null) {
+            builder.addInterceptor(new RateLimitingInterceptor(SCHEDULER));
+        }
+        builder.addInterceptor(new AccountingInterceptor());
+    }
+}
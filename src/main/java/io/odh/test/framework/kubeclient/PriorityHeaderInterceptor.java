@@ -0,0 +1,38 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.framework.kubeclient;
+
+import io.fabric8.kubernetes.client.http.BasicBuilder;
+import io.fabric8.kubernetes.client.http.HttpRequest;
+import io.fabric8.kubernetes.client.http.Interceptor;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * fabric8 interceptor which stores the priority set by {@link RequestPriority#withPriority} into the request header.
+ * It runs on the thread which makes the call, unlike the OkHttp interceptors which run on the dispatcher threads,
+ * so the priority can be read back by {@link RateLimitingInterceptor}.
+ */
+public class PriorityHeaderInterceptor implements Interceptor {
+    public static final String NAME = "odh-request-priority";
+
+    // Retries are sent from the fabric8 scheduler thread, they get the priority of the first attempt
+    private final Map<HttpRequest, RequestPriority> priorities = Collections.synchronizedMap(new WeakHashMap<>());
+
+    @Override
+    public void before(BasicBuilder builder, HttpRequest request, RequestTags tags) {
+        RequestPriority priority = RequestPriority.current();
+        if (priority != null) {
+            priorities.put(request, priority);
+        } else {
+            priority = priorities.get(request);
+        }
+        if (priority != null) {
+            builder.setHeader(RequestPriority.HEADER, priority.name());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.framework.kubeclient;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+
+/**
+ * OkHttp interceptor which holds every request until {@link RequestScheduler} lets it through.
+ */
+public class RateLimitingInterceptor implements Interceptor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitingInterceptor.class);
+    private static final long SLOW_ACQUIRE_MS = Duration.ofSeconds(5).toMillis();
+
+    private final RequestScheduler scheduler;
+
+    public RateLimitingInterceptor(RequestScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        ApiRequest apiRequest = ApiRequest.of(request.method(), request.url().pathSegments(), request.url().queryParameter("watch"));
+        RequestPriority priority = RequestPriority.of(apiRequest, request.header(RequestPriority.HEADER));
+        if (request.header(RequestPriority.HEADER) != null) {
+            request = request.newBuilder().removeHeader(RequestPriority.HEADER).build();
+        }
+        try {
+            long waited = scheduler.acquire(priority);
+            if (waited > 0) {
+                ApiRequestAccounting.current().addThrottled(waited);
+            }
+            if (waited > SLOW_ACQUIRE_MS) {
+                LOGGER.debug("Request {} with priority {} was throttled for {} ms", apiRequest, priority, waited);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for request " + apiRequest);
+        }
+        return chain.proceed(request);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.framework.kubeclient;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Priority classes of the client side request scheduler, lower ordinal is served first.
+ */
+public enum RequestPriority {
+    /**
+     * Writes, the test can't progress without them
+     */
+    CRITICAL,
+    /**
+     * Reads which gate the test progress (readiness polls, gets, informers)
+     */
+    READINESS,
+    /**
+     * Events, logs and everything else collected only for debugging
+     */
+    DIAGNOSTIC;
+
+    private static final Set<String> DIAGNOSTIC_RESOURCES = Set.of("events", "events.events.k8s.io");
+    private static final Set<String> DIAGNOSTIC_SUBRESOURCES = Set.of("log");
+    private static final ThreadLocal<RequestPriority> OVERRIDE = new ThreadLocal<>();
+
+    /**
+     * Header which carries the priority set by {@link #withPriority} from the calling thread to the rate limiter
+     */
+    public static final String HEADER = "X-Odh-E2e-Request-Priority";
+
+    public static RequestPriority of(ApiRequest request) {
+        return of(request, null);
+    }
+
+    /**
+     * @param header value of {@link #HEADER}, null when the request was not made within {@link #withPriority}
+     */
+    public static RequestPriority of(ApiRequest request, String header) {
+        if (header != null) {
+            return valueOf(header);
+        }
+        if (DIAGNOSTIC_RESOURCES.contains(request.resource())
+                || request.subresource() != null && DIAGNOSTIC_SUBRESOURCES.contains(request.subresource())) {
+            return DIAGNOSTIC;
+        }
+        return request.isWrite() ? CRITICAL : READINESS;
+    }
+
+    /**
+     * @return priority set by {@link #withPriority} on the current thread, null when there is none
+     */
+    static RequestPriority current() {
+        return OVERRIDE.get();
+    }
+
+    /**
+     * Sends all requests of the current thread made within the supplier with given priority,
+     * e.g. log collection on failure is marked as {@link #DIAGNOSTIC}.
+     * The priority travels in {@link #HEADER}, set by {@link PriorityHeaderInterceptor}.
+     */
+    public static <T> T withPriority(RequestPriority priority, Supplier<T> supplier) {
+        RequestPriority previous = OVERRIDE.get();
+        OVERRIDE.set(priority);
+        try {
+            return supplier.get();
+        } finally {
+            if (previous == null) {
+                OVERRIDE.remove();
+            } else {
+                OVERRIDE.set(previous);
+            }
+        }
+    }
+
+    public static void withPriority(RequestPriority priority, Runnable runnable) {
+        withPriority(priority, () -> {
+            runnable.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.framework.kubeclient;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket shared by all kube clients of the suite. Waiting requests are served strictly by
+ * {@link RequestPriority}, so a burst of diagnostic requests can't delay the ones gating the test progress.
+ */
+public class RequestScheduler {
+
+    private final double qps;
+    private final int burst;
+    private final int[] waiting = new int[RequestPriority.values().length];
+    private double tokens;
+    private long lastRefill;
+
+    public RequestScheduler(double qps, int burst) {
+        if (qps <= 0 || burst < 1) {
+            throw new IllegalArgumentException("QPS has to be positive and burst at least 1");
+        }
+        this.qps = qps;
+        this.burst = burst;
+        this.tokens = burst;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Blocks until the request may be sent
+     *
+     * @return time spent waiting in ms
+     */
+    public synchronized long acquire(RequestPriority priority) throws InterruptedException {
+        long start = System.nanoTime();
+        waiting[priority.ordinal()]++;
+        try {
+            while (true) {
+                refill();
+                boolean preceded = isHigherPriorityWaiting(priority);
+                if (tokens >= 1 && !preceded) {
+                    tokens -= 1;
+                    notifyAll();
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }
+                // Requests with higher priority are woken up by notifyAll once they take their token
+                long nanosToToken = tokens >= 1 ? TimeUnit.MILLISECONDS.toNanos(10) : (long) ((1 - tokens) / qps * TimeUnit.SECONDS.toNanos(1));
+                TimeUnit.NANOSECONDS.timedWait(this, Math.max(nanosToToken, 1));
+            }
+        } finally {
+            waiting[priority.ordinal()]--;
+        }
+    }
+
+    private boolean isHigherPriorityWaiting(RequestPriority priority) {
+        for (int i = 0; i < priority.ordinal(); i++) {
+            if (waiting[i] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefill) * qps / TimeUnit.SECONDS.toNanos(1));
+        lastRefill = now;
+    }
+}
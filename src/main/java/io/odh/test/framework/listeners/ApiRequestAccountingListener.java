@@ -0,0 +1,61 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.framework.listeners;
+
+import io.odh.test.Environment;
+import io.odh.test.framework.kubeclient.ApiRequestAccounting;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * jUnit5 specific class which attributes kube API requests to the running test class and test method,
+ * publishes them in the Allure report and enforces {@link Environment#API_REQUEST_BUDGET}.
+ */
+public class ApiRequestAccountingListener implements BeforeAllCallback, AfterAllCallback, BeforeEachCallback, AfterEachCallback {
+    static final Logger LOGGER = LoggerFactory.getLogger(ApiRequestAccountingListener.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        ApiRequestAccounting.startTest(classId(context));
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        ApiRequestAccounting.TestStats stats = ApiRequestAccounting.stopTest(classId(context), ApiRequestAccounting.SUITE);
+        LOGGER.info("{}", stats.render());
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        ApiRequestAccounting.startTest(testId(context));
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        ApiRequestAccounting.TestStats stats = ApiRequestAccounting.stopTest(testId(context), classId(context));
+        String report = stats.render();
+        LOGGER.info("{}", report);
+        Allure.addAttachment("api-requests", "text/plain", report);
+
+        if (Environment.API_REQUEST_BUDGET > 0 && stats.getTotalRequests() > Environment.API_REQUEST_BUDGET) {
+            throw new AssertionError(String.format("Test %s sent %d API requests, budget is %d",
+                    stats.getTestId(), stats.getTotalRequests(), Environment.API_REQUEST_BUDGET));
+        }
+    }
+
+    private static String classId(ExtensionContext context) {
+        return context.getRequiredTestClass().getSimpleName();
+    }
+
+    private static String testId(ExtensionContext context) {
+        return classId(context) + "." + context.getRequiredTestMethod().getName();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.framework.listeners;
+
+import io.odh.test.utils.DscReconcileRecorder;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * jUnit5 specific class which reports reconcile waterfalls of DataScienceClusters created during the test class.
+ * Recorders are started and stopped from the resource manager callbacks, the waterfall is reported and compared
+ * with the baseline after all tests of the class. DSCs which existed before the class started are not reported.
+ */
+public class DscReconcileListener implements BeforeAllCallback, AfterAllCallback {
+    static final Logger LOGGER = LoggerFactory.getLogger(DscReconcileListener.class);
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(DscReconcileListener.class);
+    private static final Map<String, DscReconcileRecorder> RECORDERS = new ConcurrentHashMap<>();
+
+    /**
+     * Starts recording the reconcile of the DSC, does nothing when it is being recorded already
+     * @param name name of the DSC
+     */
+    public static void startRecorder(String name) {
+        RECORDERS.computeIfAbsent(name, DscReconcileRecorder::start);
+    }
+
+    /**
+     * Stops recording the reconcile of the DSC without reporting it
+     * @param name name of the DSC
+     */
+    public static void stopRecorder(String name) {
+        DscReconcileRecorder recorder = RECORDERS.remove(name);
+        if (recorder != null) {
+            recorder.close();
+        }
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(Instant.class, Instant.now());
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        Instant classStarted = context.getStore(NAMESPACE).remove(Instant.class, Instant.class);
+        List<String> regressions = new ArrayList<>();
+        for (String name : List.copyOf(RECORDERS.keySet())) {
+            DscReconcileRecorder recorder = RECORDERS.remove(name);
+            if (recorder == null) {
+                continue;
+            }
+            try {
+                if (recorder.getCreated() == null || classStarted != null && recorder.getCreated().isBefore(classStarted)) {
+                    LOGGER.info("DataScienceCluster {} was not created by {}, reconcile is not reported", name,
+                            context.getRequiredTestClass().getSimpleName());
+                } else if (!recorder.isComplete()) {
+                    LOGGER.warn("DataScienceCluster {} was not ready, reconcile is not reported:\n{}", name, recorder.render());
+                } else {
+                    recorder.report();
+                }
+            } catch (AssertionError e) {
+                regressions.add(e.getMessage());
+            } finally {
+                recorder.close();
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            throw new AssertionError(String.join("; ", regressions));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.framework.listeners;
+
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.odh.test.utils.OdhMetricsRecorder;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * jUnit5 specific class which records ODH operator and component metrics from Prometheus during each test method
+ * and attaches them to the Allure report. Tests run without metrics when Prometheus is not available.
+ */
+public class OdhMetricsListener implements BeforeEachCallback, AfterEachCallback {
+    static final Logger LOGGER = LoggerFactory.getLogger(OdhMetricsListener.class);
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(OdhMetricsListener.class);
+    private static final Pattern INVOCATION = Pattern.compile("\\[test-template-invocation:#(\\d+)]$");
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        try {
+            OdhMetricsRecorder recorder = OdhMetricsRecorder.create();
+            recorder.start();
+            context.getStore(NAMESPACE).put(OdhMetricsRecorder.class, recorder);
+        } catch (IllegalStateException | KubernetesClientException e) {
+            LOGGER.warn("Metrics of {} will not be recorded: {}", context.getDisplayName(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        OdhMetricsRecorder recorder = context.getStore(NAMESPACE).remove(OdhMetricsRecorder.class, OdhMetricsRecorder.class);
+        if (recorder != null) {
+            recorder.stop(getExportName(context));
+        }
+    }
+
+    /**
+     * Parameterized and repeated tests run the same method more times, each invocation is exported under its index
+     */
+    private static String getExportName(ExtensionContext context) {
+        String name = "metrics-" + context.getRequiredTestClass().getSimpleName() + "." + context.getRequiredTestMethod().getName();
+        Matcher invocation = INVOCATION.matcher(context.getUniqueId());
+        return invocation.find() ? name + "-" + invocation.group(1) : name;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.framework.listeners;
+
+import io.odh.test.Environment;
+import io.odh.test.TestUtils;
+import io.odh.test.utils.ResourceUsageSampler;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * jUnit5 specific class which samples resource usage of the ODH operator and components during the whole test class,
+ * publishes peak/avg usage and memory growth in the Allure report and enforces the RESOURCE_MAX_* limits
+ * from {@link Environment}.
+ * Tests which need the samples themselves take the class sampler as a {@link ResourceUsageSampler} parameter
+ * instead of starting another one.
+ */
+public class ResourceUsageListener implements BeforeAllCallback, AfterAllCallback, ParameterResolver {
+    static final Logger LOGGER = LoggerFactory.getLogger(ResourceUsageListener.class);
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ResourceUsageListener.class);
+    private static final Duration MIN_LEAK_WINDOW = Duration.ofMinutes(10);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(ResourceUsageSampler.class,
+                new ResourceUsageSampler(Duration.ofSeconds(Environment.RESOURCE_SAMPLE_INTERVAL)));
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == ResourceUsageSampler.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        // method stores see the values of the class store
+        return extensionContext.getStore(NAMESPACE).get(ResourceUsageSampler.class, ResourceUsageSampler.class);
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        ResourceUsageSampler sampler = context.getStore(NAMESPACE).remove(ResourceUsageSampler.class, ResourceUsageSampler.class);
+        if (sampler == null) {
+            return;
+        }
+        Map<String, ResourceUsageSampler.Ring> rings = sampler.stop();
+        Map<String, Double> maxMemory = TestUtils.parseLimits(Environment.RESOURCE_MAX_MEMORY_MIB);
+        Map<String, Double> maxCpu = TestUtils.parseLimits(Environment.RESOURCE_MAX_CPU_MILLICORES);
+        Map<String, Double> maxLeak = TestUtils.parseLimits(Environment.RESOURCE_MAX_LEAK_MIB_PER_HOUR);
+
+        StringBuilder report = new StringBuilder(String.format("Resource usage of %s (cpu in millicores, memory in MiB)%n",
+                context.getRequiredTestClass().getSimpleName()));
+        report.append(ResourceUsageSampler.Summary.header());
+        List<String> violations = new ArrayList<>();
+        rings.forEach((name, ring) -> {
+            ResourceUsageSampler.Summary summary = ring.summarize();
+            report.append(summary.render(name));
+            violations.addAll(summary.check(name, TestUtils.getLimit(maxMemory, name),
+                    TestUtils.getLimit(maxCpu, name), TestUtils.getLimit(maxLeak, name), MIN_LEAK_WINDOW));
+        });
+        LOGGER.info("{}", report);
+        Allure.addAttachment("resource-usage", "text/plain", report.toString());
+
+        if (!violations.isEmpty()) {
+            throw new AssertionError("Resource usage limits exceeded: " + String.join("; ", violations));
+        }
+    }
+}
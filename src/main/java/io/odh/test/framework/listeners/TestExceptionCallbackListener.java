@@ -9,6 +9,7 @@ import io.odh.test.Environment;
 import io.odh.test.OdhConstants;
 import io.odh.test.TestConstants;
 import io.odh.test.TestUtils;
+import io.odh.test.framework.kubeclient.RequestPriority;
 import io.skodjob.testframe.LogCollector;
 import io.skodjob.testframe.LogCollectorBuilder;
 import io.skodjob.testframe.resources.KubeResourceManager;
@@ -76,14 +77,17 @@ public class TestExceptionCallbackListener implements TestExecutionExceptionHand
                 .withRootFolderPath(TestUtils.getLogPath(
                         Environment.LOG_DIR.resolve("failedTest").toString(), context).toString())
                 .build();
-        try {
-            logCollector.collectFromNamespacesWithLabels(new LabelSelectorBuilder()
-                    .withMatchLabels(Collections.singletonMap(TestConstants.LOG_COLLECT_LABEL, "true"))
-                    .build());
-        } catch (Exception ignored) {
-            LOGGER.warn("Failed to collect");
-        }
-        logCollector.collectClusterWideResources();
+        // Log collection must not hold back requests of other tests sharing the cluster
+        RequestPriority.withPriority(RequestPriority.DIAGNOSTIC, () -> {
+            try {
+                logCollector.collectFromNamespacesWithLabels(new LabelSelectorBuilder()
+                        .withMatchLabels(Collections.singletonMap(TestConstants.LOG_COLLECT_LABEL, "true"))
+                        .build());
+            } catch (Exception ignored) {
+                LOGGER.warn("Failed to collect");
+            }
+            logCollector.collectClusterWideResources();
+        });
         throw throwable;
     }
 }
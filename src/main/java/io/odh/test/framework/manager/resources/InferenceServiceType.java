@@ -9,7 +9,7 @@ import io.fabric8.kubernetes.client.dsl.MixedOperation;
 import io.fabric8.kubernetes.client.dsl.Resource;
 import io.kserve.serving.v1beta1.InferenceService;
 import io.odh.test.TestConstants;
-import io.odh.test.TestUtils;
+import io.odh.test.utils.ConditionView;
 import io.skodjob.testframe.interfaces.ResourceType;
 import io.skodjob.testframe.resources.KubeResourceManager;
 import io.skodjob.testframe.utils.PodUtils;
@@ -60,19 +60,12 @@ public class InferenceServiceType implements ResourceType<InferenceService> {
     public boolean isReady(InferenceService resource) {
         String message = String.format("InferenceService %s readiness", resource.getMetadata().getName());
         Wait.until(message, TestConstants.GLOBAL_POLL_INTERVAL_SHORT, TestConstants.GLOBAL_TIMEOUT, () -> {
-            boolean isReady;
-
             InferenceService inferenceService = get(resource.getMetadata().getNamespace(), resource.getMetadata().getName());
+            ConditionView conditions = ConditionView.of(inferenceService);
 
-            String predictorReadyStatus = TestUtils.getInferenceServiceConditionByType(inferenceService.getStatus().getConditions(), "PredictorReady").getStatus();
-            LOGGER.debug("InferenceService {} PredictorReady status: {}", resource.getMetadata().getName(), predictorReadyStatus);
-            isReady = predictorReadyStatus.equals("True");
-
-            String readyStatus = TestUtils.getInferenceServiceConditionByType(inferenceService.getStatus().getConditions(), "Ready").getStatus();
-            LOGGER.debug("InferenceService {} Ready status: {}", resource.getMetadata().getName(), readyStatus);
-            isReady = isReady && readyStatus.equals("True");
-
-            return isReady;
+            LOGGER.debug("InferenceService {} PredictorReady status: {}, Ready status: {}", resource.getMetadata().getName(),
+                    conditions.status("PredictorReady"), conditions.status("Ready"));
+            return conditions.isTrue("PredictorReady") && conditions.isTrue("Ready");
         }, () -> {
         });
 
@@ -10,6 +10,7 @@ import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.odh.test.Environment;
 import io.odh.test.TestConstants;
 import io.odh.test.TestUtils;
+import io.odh.test.utils.TeardownUtils;
 import io.skodjob.testframe.resources.KubeResourceManager;
 import io.skodjob.testframe.resources.ResourceItem;
 import org.slf4j.Logger;
@@ -100,6 +101,6 @@ public class BundleInstall {
 
     public void deleteWithoutResourceManager() {
         TestUtils.deleteDefaultDSCI();
-        KubeResourceManager.getKubeClient().delete(resources);
+        TeardownUtils.deleteAndWait(resources);
     }
 }
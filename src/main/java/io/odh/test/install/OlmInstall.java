@@ -7,20 +7,23 @@ package io.odh.test.install;
 import io.fabric8.kubernetes.api.model.Namespace;
 import io.fabric8.kubernetes.api.model.NamespaceBuilder;
 import io.fabric8.openshift.api.model.operatorhub.v1.OperatorGroupBuilder;
+import io.fabric8.openshift.api.model.operatorhub.v1alpha1.ClusterServiceVersion;
+import io.fabric8.openshift.api.model.operatorhub.v1alpha1.InstallPlan;
 import io.fabric8.openshift.api.model.operatorhub.v1alpha1.Subscription;
 import io.fabric8.openshift.api.model.operatorhub.v1alpha1.SubscriptionBuilder;
-import io.fabric8.openshift.client.OpenShiftClient;
 import io.odh.test.Environment;
 import io.odh.test.OdhConstants;
 import io.odh.test.TestConstants;
 import io.odh.test.TestUtils;
 import io.odh.test.utils.DeploymentUtils;
+import io.odh.test.utils.TeardownUtils;
 import io.skodjob.testframe.resources.KubeResourceManager;
 import io.skodjob.testframe.resources.ResourceItem;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collections;
+import java.util.List;
 
 public class OlmInstall {
     private static final Logger LOGGER = LoggerFactory.getLogger(OlmInstall.class);
@@ -128,22 +131,25 @@ public class OlmInstall {
     }
 
     public void deleteCSV() {
-        KubeResourceManager.getKubeClient().getClient().adapt(OpenShiftClient.class).operatorHub().clusterServiceVersions().inNamespace(namespace)
-            .list().getItems().stream().filter(csv -> csv.getMetadata().getName().contains(olmAppBundlePrefix)).toList()
-            .forEach(csv -> {
-                LOGGER.info("Deleting CSV {}", csv.getMetadata().getName());
-                KubeResourceManager.getKubeClient().getOpenShiftClient().operatorHub().clusterServiceVersions().resource(csv).delete();
-            });
+        // OLM labels resources of the operator with operators.coreos.com/<package>.<namespace>, the value is empty
+        // and the label is selected by its existence
+        String operatorLabel = "operators.coreos.com/" + operatorName + "." + namespace;
+        TeardownUtils.deleteCollectionAndWait("operators.coreos.com/v1alpha1", "ClusterServiceVersion", namespace,
+                Collections.singletonMap(operatorLabel, null), TestConstants.GLOBAL_TIMEOUT);
+
+        // CSVs without the label (e.g. not yet adopted by OLM) are deleted by name
+        List<ClusterServiceVersion> csvs = KubeResourceManager.getKubeClient().getOpenShiftClient().operatorHub().clusterServiceVersions()
+            .inNamespace(namespace).list().getItems().stream().filter(csv -> csv.getMetadata().getName().contains(olmAppBundlePrefix)).toList();
+        csvs.forEach(csv -> LOGGER.info("Deleting CSV {}", csv.getMetadata().getName()));
+        TeardownUtils.deleteAndWait(csvs);
         deleteInstallPlans();
     }
 
     public void deleteInstallPlans() {
-        KubeResourceManager.getKubeClient().getClient().adapt(OpenShiftClient.class).operatorHub().installPlans().inNamespace(namespace)
-            .list().getItems().stream().filter(ip -> ip.getSpec().getClusterServiceVersionNames().stream().toList().toString().contains(olmAppBundlePrefix)).toList()
-            .forEach(ip -> {
-                LOGGER.info("Deleting InstallPlan {}", ip.getMetadata().getName());
-                KubeResourceManager.getKubeClient().getOpenShiftClient().operatorHub().installPlans().resource(ip).delete();
-            });
+        List<InstallPlan> installPlans = KubeResourceManager.getKubeClient().getOpenShiftClient().operatorHub().installPlans().inNamespace(namespace)
+            .list().getItems().stream().filter(ip -> ip.getSpec().getClusterServiceVersionNames().stream().toList().toString().contains(olmAppBundlePrefix)).toList();
+        installPlans.forEach(ip -> LOGGER.info("Deleting InstallPlan {}", ip.getMetadata().getName()));
+        TeardownUtils.deleteAndWait(installPlans);
     }
 
     /**
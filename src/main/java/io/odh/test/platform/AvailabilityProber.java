@@ -0,0 +1,274 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.platform;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLContext;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background prober which keeps sending GET requests to the registered endpoints and records every response.
+ * It is meant to run during the upgrade so the tests can tell how long (if at all) the endpoints were unavailable.
+ * A request is considered failed when it ends with an exception or with a 5xx status code,
+ * redirects and 4xx (e.g. oauth-proxy asking for login) prove that the route and the backend are alive.
+ */
+public class AvailabilityProber implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AvailabilityProber.class);
+    public static final Duration DEFAULT_PROBE_INTERVAL = Duration.ofMillis(500);
+    public static final Duration DEFAULT_SLOW_THRESHOLD = Duration.ofSeconds(2);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient httpClient;
+    private final Duration probeInterval;
+    private final Duration slowThreshold;
+    private final Map<String, URI> targets = new LinkedHashMap<>();
+    private final Queue<Sample> samples = new ConcurrentLinkedQueue<>();
+    private ScheduledExecutorService executor;
+    private volatile Instant started;
+    private volatile Instant stopped;
+    private volatile Instant windowStart;
+    private volatile Instant windowEnd;
+
+    public AvailabilityProber(SSLContext sslContext) {
+        this(sslContext, DEFAULT_PROBE_INTERVAL, DEFAULT_SLOW_THRESHOLD);
+    }
+
+    public AvailabilityProber(SSLContext sslContext, Duration probeInterval, Duration slowThreshold) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .sslContext(sslContext)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+        this.probeInterval = probeInterval;
+        this.slowThreshold = slowThreshold;
+    }
+
+    public AvailabilityProber addTarget(String name, String url) {
+        if (executor != null) {
+            throw new IllegalStateException("Targets have to be registered before the prober is started");
+        }
+        targets.put(name, URI.create(url));
+        return this;
+    }
+
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        LOGGER.info("Starting availability prober every {} ms for {}", probeInterval.toMillis(), targets);
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "availability-prober");
+            t.setDaemon(true);
+            return t;
+        });
+        started = Instant.now();
+        executor.scheduleAtFixedRate(this::probeAll, 0, probeInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Marks the start of the interesting part of the run (e.g. operator rolling update).
+     * Latency measured inside the window is compared against the latency measured outside of it.
+     */
+    public void markWindowStart() {
+        windowStart = Instant.now();
+    }
+
+    public void markWindowEnd() {
+        windowEnd = Instant.now();
+    }
+
+    public boolean isRunning() {
+        return executor != null && stopped == null;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (executor == null || stopped != null) {
+            return;
+        }
+        executor.shutdownNow();
+        stopped = Instant.now();
+        if (windowStart != null && windowEnd == null) {
+            windowEnd = stopped;
+        }
+        LOGGER.info("Availability prober stopped after {} samples", samples.size());
+    }
+
+    private void probeAll() {
+        targets.forEach((name, uri) -> {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(uri)
+                    .GET()
+                    .timeout(REQUEST_TIMEOUT)
+                    .build();
+            Instant sent = Instant.now();
+            long startNanos = System.nanoTime();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, throwable) -> {
+                        long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+                        if (throwable != null) {
+                            samples.add(new Sample(name, sent, latencyMs, -1, throwable.toString()));
+                        } else {
+                            samples.add(new Sample(name, sent, latencyMs, response.statusCode(), null));
+                        }
+                    });
+        });
+    }
+
+    public List<Sample> getSamples() {
+        List<Sample> sorted = new ArrayList<>(samples);
+        sorted.sort(Comparator.comparing(Sample::sent));
+        return sorted;
+    }
+
+    public Map<String, TargetReport> getReports() {
+        Map<String, TargetReport> reports = new LinkedHashMap<>();
+        for (String target : targets.keySet()) {
+            reports.put(target, computeReport(target, getSamples().stream().filter(s -> s.target().equals(target)).toList()));
+        }
+        return reports;
+    }
+
+    private TargetReport computeReport(String target, List<Sample> targetSamples) {
+        long unavailableMs = 0;
+        long longestGapMs = 0;
+        Instant gapStart = null;
+        int failed = 0;
+        int slow = 0;
+        List<Long> inWindow = new ArrayList<>();
+        List<Long> outOfWindow = new ArrayList<>();
+
+        for (Sample sample : targetSamples) {
+            if (sample.isFailed()) {
+                failed++;
+                if (gapStart == null) {
+                    gapStart = sample.sent();
+                }
+                continue;
+            }
+            if (gapStart != null) {
+                long gap = Duration.between(gapStart, sample.sent()).toMillis();
+                unavailableMs += gap;
+                longestGapMs = Math.max(longestGapMs, gap);
+                gapStart = null;
+            }
+            if (sample.latencyMs() > slowThreshold.toMillis()) {
+                slow++;
+            }
+            if (isInWindow(sample.sent())) {
+                inWindow.add(sample.latencyMs());
+            } else {
+                outOfWindow.add(sample.latencyMs());
+            }
+        }
+        if (gapStart != null) {
+            // Endpoint did not recover before the prober was stopped
+            long gap = Duration.between(gapStart, stopped != null ? stopped : Instant.now()).toMillis();
+            unavailableMs += gap;
+            longestGapMs = Math.max(longestGapMs, gap);
+        }
+
+        return new TargetReport(target, targetSamples.size(), failed, slow, unavailableMs, longestGapMs,
+                percentile(outOfWindow, 50), percentile(inWindow, 50), percentile(outOfWindow, 95), percentile(inWindow, 95));
+    }
+
+    private boolean isInWindow(Instant instant) {
+        return windowStart != null && !instant.isBefore(windowStart) && (windowEnd == null || !instant.isAfter(windowEnd));
+    }
+
+    private static long percentile(List<Long> values, int percentile) {
+        if (values.isEmpty()) {
+            return -1;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        sorted.sort(Long::compare);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+
+    /**
+     * Renders summary for every target followed by all failed and slow requests.
+     * @return human-readable report
+     */
+    public String renderReport() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Availability report: %s - %s, probe interval %d ms, slow threshold %d ms%n",
+                started, stopped, probeInterval.toMillis(), slowThreshold.toMillis()));
+        sb.append(String.format("Measured window: %s - %s%n", windowStart, windowEnd));
+        sb.append(String.format("%-20s %8s %7s %5s %15s %15s %15s %15s %10s%n", "target", "requests", "failed", "slow",
+                "unavailable[ms]", "longestGap[ms]", "p50 out/in[ms]", "p95 out/in[ms]", "inflation"));
+        for (TargetReport report : getReports().values()) {
+            sb.append(String.format("%-20s %8d %7d %5d %15d %15d %15s %15s %10s%n", report.target(), report.requests(),
+                    report.failed(), report.slow(), report.unavailableMs(), report.longestGapMs(),
+                    report.p50OutsideMs() + "/" + report.p50InsideMs(), report.p95OutsideMs() + "/" + report.p95InsideMs(),
+                    report.latencyInflation() < 0 ? "n/a" : String.format("%.2fx", report.latencyInflation())));
+        }
+
+        List<Sample> problems = getSamples().stream()
+                .filter(s -> s.isFailed() || s.latencyMs() > slowThreshold.toMillis())
+                .toList();
+        if (!problems.isEmpty()) {
+            sb.append(String.format("%nFailed or slow requests:%n"));
+            for (Sample sample : problems) {
+                sb.append(String.format("%s %-20s status=%d latency=%d ms%s%n", sample.sent(), sample.target(), sample.status(),
+                        sample.latencyMs(), sample.error() != null ? " error=" + sample.error() : ""));
+            }
+        }
+        return sb.toString();
+    }
+
+    public record Sample(String target, Instant sent, long latencyMs, int status, String error) {
+        public boolean isFailed() {
+            return error != null || status >= 500;
+        }
+    }
+
+    public record TargetReport(String target, int requests, int failed, int slow, long unavailableMs, long longestGapMs,
+                               long p50OutsideMs, long p50InsideMs, long p95OutsideMs, long p95InsideMs) {
+        /**
+         * @return ratio of median latency inside the window to median latency outside of it, -1 when unknown
+         */
+        public double latencyInflation() {
+            if (p50OutsideMs <= 0 || p50InsideMs < 0) {
+                return -1;
+            }
+            return (double) p50InsideMs / p50OutsideMs;
+        }
+
+        /**
+         * Negative limits are not checked
+         * @return descriptions of exceeded limits, empty when all are met
+         */
+        public List<String> check(double maxUnavailableMs, double maxGapMs) {
+            List<String> violations = new ArrayList<>();
+            if (maxUnavailableMs >= 0 && unavailableMs > maxUnavailableMs) {
+                violations.add(String.format("%s was unavailable for %d ms, more than %.0f ms", target, unavailableMs, maxUnavailableMs));
+            }
+            if (maxGapMs >= 0 && longestGapMs > maxGapMs) {
+                violations.add(String.format("%s longest outage %d ms exceeds %.0f ms", target, longestGapMs, maxGapMs));
+            }
+            return violations;
+        }
+    }
+}
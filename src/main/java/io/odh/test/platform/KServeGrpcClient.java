@@ -0,0 +1,173 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.platform;
+
+import com.google.protobuf.UnsafeByteOperations;
+import io.grpc.ClientInterceptor;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+import io.odh.test.platform.KServeV2Client.InferInput;
+import io.odh.test.platform.KServeV2Client.InferOutput;
+import io.odh.test.platform.KServeV2Client.InferResponse;
+import io.odh.test.platform.inference.GRPCInferenceServiceGrpc;
+import io.odh.test.platform.inference.GrpcPredictV2.InferTensorContents;
+import io.odh.test.platform.inference.GrpcPredictV2.ModelInferRequest;
+import io.odh.test.platform.inference.GrpcPredictV2.ModelInferResponse;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static io.odh.test.TestUtils.DEFAULT_TIMEOUT_DURATION;
+import static io.odh.test.TestUtils.DEFAULT_TIMEOUT_UNIT;
+
+/**
+ * Client of the KServe v2 gRPC {@code ModelInfer} method, as served by ModelMesh.
+ * Tensors are sent and received as raw little-endian contents through the stubs generated from the vendored
+ * {@code grpc_predict_v2.proto}, typed FP32 contents in responses are accepted as well.
+ * <p>
+ * One client holds one channel for all its calls; it is thread safe and {@link #inferAsync(List)} can be used to keep
+ * many requests in flight over the single HTTP/2 connection.
+ */
+public class KServeGrpcClient implements AutoCloseable {
+    // ModelMesh routes the request to the model (InferenceService) named in this header
+    public static final String VMODEL_ID_HEADER = "mm-vmodel-id";
+
+    // the default 1MiB window stalls large tensors on connections with higher latency, e.g. through port-forward
+    private static final int FLOW_CONTROL_WINDOW = 8 * 1024 * 1024;
+    private static final int MAX_MESSAGE_SIZE = 64 * 1024 * 1024;
+
+    private final ManagedChannel managedChannel;
+    private final GRPCInferenceServiceGrpc.GRPCInferenceServiceBlockingStub blockingStub;
+    private final GRPCInferenceServiceGrpc.GRPCInferenceServiceStub asyncStub;
+    private final String modelName;
+
+    /**
+     * @param channel channel which is closed together with this client
+     * @param modelName name of the model, for ModelMesh the name of the InferenceService
+     */
+    public KServeGrpcClient(ManagedChannel channel, String modelName) {
+        Metadata headers = new Metadata();
+        headers.put(Metadata.Key.of(VMODEL_ID_HEADER, Metadata.ASCII_STRING_MARSHALLER), modelName);
+        ClientInterceptor attachHeaders = MetadataUtils.newAttachHeadersInterceptor(headers);
+        this.managedChannel = channel;
+        this.blockingStub = GRPCInferenceServiceGrpc.newBlockingStub(channel).withInterceptors(attachHeaders);
+        this.asyncStub = GRPCInferenceServiceGrpc.newStub(channel).withInterceptors(attachHeaders);
+        this.modelName = modelName;
+    }
+
+    /**
+     * Plaintext channel with flow control window and message size limits suitable for large tensors
+     */
+    public static ManagedChannel newChannel(String host, int port) {
+        return NettyChannelBuilder.forAddress(host, port)
+                .usePlaintext()
+                .flowControlWindow(FLOW_CONTROL_WINDOW)
+                .maxInboundMessageSize(MAX_MESSAGE_SIZE)
+                .build();
+    }
+
+    public InferResponse infer(String inputName, long[] shape, float[] data) {
+        return infer(List.of(new InferInput(inputName, shape, data)));
+    }
+
+    /**
+     * @throws IllegalStateException when the call does not succeed
+     */
+    public InferResponse infer(List<InferInput> inputs) {
+        try {
+            return toInferResponse(blockingStub.withDeadlineAfter(DEFAULT_TIMEOUT_DURATION, DEFAULT_TIMEOUT_UNIT)
+                    .modelInfer(toModelInferRequest(modelName, inputs)));
+        } catch (StatusRuntimeException e) {
+            throw inferenceFailed(e);
+        }
+    }
+
+    /**
+     * Starts the call and returns immediately; the future completes on a gRPC executor thread,
+     * exceptionally with {@link IllegalStateException} when the call does not succeed
+     */
+    public CompletableFuture<InferResponse> inferAsync(List<InferInput> inputs) {
+        CompletableFuture<InferResponse> future = new CompletableFuture<>();
+        asyncStub.withDeadlineAfter(DEFAULT_TIMEOUT_DURATION, DEFAULT_TIMEOUT_UNIT).modelInfer(toModelInferRequest(modelName, inputs),
+                new StreamObserver<>() {
+                    @Override
+                    public void onNext(ModelInferResponse value) {
+                        future.complete(toInferResponse(value));
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        future.completeExceptionally(inferenceFailed(t));
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                    }
+                });
+        return future;
+    }
+
+    private IllegalStateException inferenceFailed(Throwable t) {
+        return new IllegalStateException("Inference of %s failed with %s".formatted(modelName, Status.fromThrowable(t)), t);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        managedChannel.shutdown();
+        if (!managedChannel.awaitTermination(DEFAULT_TIMEOUT_DURATION, DEFAULT_TIMEOUT_UNIT)) {
+            managedChannel.shutdownNow();
+        }
+    }
+
+    /**
+     * Inputs are sent as raw_input_contents, which skips the per element encoding of the typed contents
+     */
+    public static ModelInferRequest toModelInferRequest(String modelName, List<InferInput> inputs) {
+        ModelInferRequest.Builder request = ModelInferRequest.newBuilder().setModelName(modelName);
+        for (InferInput input : inputs) {
+            request.addInputs(ModelInferRequest.InferInputTensor.newBuilder()
+                    .setName(input.name())
+                    .setDatatype(KServeV2Client.DATATYPE_FP32)
+                    .addAllShape(Arrays.stream(input.shape()).boxed().toList()));
+            ByteBuffer raw = ByteBuffer.allocate(input.data().length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            raw.asFloatBuffer().put(input.data());
+            // the buffer is not used after this, so it does not have to be copied
+            request.addRawInputContents(UnsafeByteOperations.unsafeWrap(raw.array()));
+        }
+        return request.build();
+    }
+
+    /**
+     * @return response with raw_output_contents when present, fp32_contents of the outputs otherwise
+     */
+    public static InferResponse toInferResponse(ModelInferResponse response) {
+        List<InferOutput> outputs = new ArrayList<>();
+        for (int i = 0; i < response.getOutputsCount(); i++) {
+            ModelInferResponse.InferOutputTensor tensor = response.getOutputs(i);
+            // raw contents, when used, are present for all outputs in the same order
+            ByteBuffer data = i < response.getRawOutputContentsCount()
+                    ? response.getRawOutputContents(i).asReadOnlyByteBuffer()
+                    : toByteBuffer(tensor.getContents());
+            outputs.add(new InferOutput(tensor.getName(), tensor.getDatatype(),
+                    tensor.getShapeList().stream().mapToLong(Long::longValue).toArray(), data.order(ByteOrder.LITTLE_ENDIAN)));
+        }
+        return new InferResponse(response.getModelName(), outputs);
+    }
+
+    private static ByteBuffer toByteBuffer(InferTensorContents contents) {
+        ByteBuffer buffer = ByteBuffer.allocate(contents.getFp32ContentsCount() * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        contents.getFp32ContentsList().forEach(buffer::putFloat);
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.platform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.odh.test.TestUtils.DEFAULT_TIMEOUT_DURATION;
+import static io.odh.test.TestUtils.DEFAULT_TIMEOUT_UNIT;
+
+/**
+ * Client of the KServe v2 (Open Inference Protocol) REST inference endpoint, using the binary tensor data extension.
+ * Input tensors are written as little-endian FP32 right after the json header into a request buffer, which is
+ * reused by subsequent calls, so one instance must not be used from several threads at once.
+ * <p>
+ * Binary outputs are decoded from the response bytes; servers which ignore the binary output request and answer
+ * with json data are supported as well.
+ */
+// https://kserve.github.io/website/latest/modelserving/data_plane/v2_protocol/
+// https://github.com/triton-inference-server/server/blob/main/docs/protocol/extension_binary_data.md
+public class KServeV2Client {
+    public static final String HEADER_CONTENT_LENGTH = "Inference-Header-Content-Length";
+    public static final String DATATYPE_FP32 = "FP32";
+
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient;
+    private final String modelUrl;
+
+    private ByteBuffer requestBuffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * @param modelUrl url of the model, ending with /v2/models/&lt;name&gt;, the /infer path is appended to it
+     */
+    public KServeV2Client(HttpClient httpClient, String modelUrl) {
+        this.httpClient = httpClient;
+        this.modelUrl = modelUrl;
+    }
+
+    public record InferInput(String name, long[] shape, float[] data) {
+        public InferInput {
+            if (Arrays.stream(shape).reduce(1, Math::multiplyExact) != data.length) {
+                throw new IllegalArgumentException("Shape %s does not match %d elements of %s".formatted(Arrays.toString(shape), data.length, name));
+            }
+        }
+    }
+
+    /**
+     * Output tensor, {@code data} is a little-endian view of the tensor bytes
+     */
+    public record InferOutput(String name, String datatype, long[] shape, ByteBuffer data) {
+        public float[] asFloatArray() {
+            if (!DATATYPE_FP32.equals(datatype)) {
+                throw new IllegalStateException("Output %s has datatype %s, not %s".formatted(name, datatype, DATATYPE_FP32));
+            }
+            float[] result = new float[data.remaining() / Float.BYTES];
+            data.duplicate().order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(result);
+            return result;
+        }
+    }
+
+    public record InferResponse(String modelName, List<InferOutput> outputs) {
+        public InferOutput getOutput(String name) {
+            return outputs.stream().filter(o -> o.name().equals(name)).findFirst()
+                    .orElseThrow(() -> new IllegalStateException("Response has no output " + name));
+        }
+    }
+
+    public InferResponse infer(String inputName, long[] shape, float[] data) throws IOException, InterruptedException {
+        return infer(List.of(new InferInput(inputName, shape, data)));
+    }
+
+    /**
+     * Sends the inputs as binary tensors and asks for binary outputs
+     * @throws IllegalStateException when the server does not answer with 200
+     */
+    public InferResponse infer(List<InferInput> inputs) throws IOException, InterruptedException {
+        return readResponse(httpClient.send(newInferRequest(inputs), HttpResponse.BodyHandlers.ofByteArray()));
+    }
+
+    /**
+     * Encodes the inputs as binary tensors into the request buffer of this client. The request can be sent
+     * repeatedly, but only until the next request of this client is created.
+     */
+    public HttpRequest newInferRequest(List<InferInput> inputs) throws IOException {
+        int jsonLength = encodeRequest(inputs);
+        return HttpRequest.newBuilder()
+                .uri(URI.create(modelUrl + "/infer"))
+                .header("Content-Type", "application/octet-stream")
+                .header(HEADER_CONTENT_LENGTH, String.valueOf(jsonLength))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(requestBuffer.array(), 0, requestBuffer.position()))
+                .timeout(Duration.of(DEFAULT_TIMEOUT_DURATION, DEFAULT_TIMEOUT_UNIT.toChronoUnit()))
+                .build();
+    }
+
+    /**
+     * Decodes the response of a request from {@link #newInferRequest(List)}, does not use the request buffer,
+     * so it can be called from several threads
+     * @throws IllegalStateException when the status is not 200
+     */
+    public InferResponse readResponse(HttpResponse<byte[]> response) throws IOException {
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Inference at %s failed with %d: %s".formatted(
+                    modelUrl, response.statusCode(), new String(response.body(), StandardCharsets.UTF_8)));
+        }
+        return decodeResponse(response.body(), response.headers().firstValue(HEADER_CONTENT_LENGTH).map(Integer::parseInt).orElse(null));
+    }
+
+    /**
+     * Writes the json header and the tensor bytes into the request buffer
+     * @return length of the json header
+     */
+    private int encodeRequest(List<InferInput> inputs) throws IOException {
+        ObjectNode header = objectMapper.createObjectNode();
+        ArrayNode inputsNode = header.putArray("inputs");
+        int dataLength = 0;
+        for (InferInput input : inputs) {
+            ObjectNode inputNode = inputsNode.addObject()
+                    .put("name", input.name())
+                    .put("datatype", DATATYPE_FP32);
+            ArrayNode shapeNode = inputNode.putArray("shape");
+            Arrays.stream(input.shape()).forEach(shapeNode::add);
+            inputNode.putObject("parameters").put("binary_data_size", input.data().length * Float.BYTES);
+            dataLength += input.data().length * Float.BYTES;
+        }
+        header.putObject("parameters").put("binary_data_output", true);
+        byte[] json = objectMapper.writeValueAsBytes(header);
+
+        ensureCapacity(json.length + dataLength);
+        requestBuffer.clear();
+        requestBuffer.put(json);
+        for (InferInput input : inputs) {
+            requestBuffer.asFloatBuffer().put(input.data());
+            requestBuffer.position(requestBuffer.position() + input.data().length * Float.BYTES);
+        }
+        return json.length;
+    }
+
+    private void ensureCapacity(int size) {
+        if (requestBuffer.capacity() < size) {
+            requestBuffer = ByteBuffer.allocate(Math.max(size, requestBuffer.capacity() * 2)).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /**
+     * @param jsonLength value of the {@link #HEADER_CONTENT_LENGTH} header, null when the whole body is json
+     */
+    private InferResponse decodeResponse(byte[] body, Integer jsonLength) throws IOException {
+        int headerLength = jsonLength == null ? body.length : jsonLength;
+        JsonNode header = objectMapper.readTree(body, 0, headerLength);
+        ByteBuffer binary = ByteBuffer.wrap(body, headerLength, body.length - headerLength).slice().order(ByteOrder.LITTLE_ENDIAN);
+
+        List<InferOutput> outputs = new ArrayList<>();
+        for (JsonNode output : header.path("outputs")) {
+            String name = output.path("name").asText();
+            String datatype = output.path("datatype").asText();
+            long[] shape = new long[output.path("shape").size()];
+            for (int i = 0; i < shape.length; i++) {
+                shape[i] = output.path("shape").get(i).asLong();
+            }
+
+            ByteBuffer data;
+            JsonNode binarySize = output.path("parameters").path("binary_data_size");
+            if (binarySize.isNumber()) {
+                data = binary.slice(binary.position(), binarySize.asInt()).order(ByteOrder.LITTLE_ENDIAN);
+                binary.position(binary.position() + binarySize.asInt());
+            } else {
+                data = encodeJsonData(name, datatype, output.path("data"));
+            }
+            outputs.add(new InferOutput(name, datatype, shape, data));
+        }
+        return new InferResponse(header.path("model_name").asText(null), outputs);
+    }
+
+    private static ByteBuffer encodeJsonData(String name, String datatype, JsonNode data) {
+        if (!DATATYPE_FP32.equals(datatype)) {
+            throw new IllegalStateException("Json data of output %s with datatype %s is not supported".formatted(name, datatype));
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(data.size() * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        data.forEach(value -> buffer.putFloat(value.floatValue()));
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.platform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static io.odh.test.TestUtils.DEFAULT_TIMEOUT_DURATION;
+import static io.odh.test.TestUtils.DEFAULT_TIMEOUT_UNIT;
+
+/**
+ * Client of the Prometheus HTTP query API, returning vectors and matrices as lists of labelled series.
+ */
+// https://prometheus.io/docs/prometheus/latest/querying/api/
+public class PrometheusClient {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final String bearerToken;
+
+    /**
+     * @param bearerToken token for the oauth proxy in front of Prometheus, null when it is not protected
+     */
+    public PrometheusClient(HttpClient httpClient, String baseUrl, String bearerToken) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.bearerToken = bearerToken;
+    }
+
+    public record Sample(Instant time, double value) {
+    }
+
+    public record Series(Map<String, String> labels, List<Sample> samples) {
+        /**
+         * @return labels in the PromQL selector syntax, e.g. {@code {controller="datasciencecluster"}}
+         */
+        public String labelString() {
+            return labels.entrySet().stream()
+                    .map(e -> "%s=\"%s\"".formatted(e.getKey(), e.getValue()))
+                    .collect(Collectors.joining(",", "{", "}"));
+        }
+    }
+
+    /**
+     * Evaluates an instant query at the current time
+     */
+    public List<Series> query(String promql) throws IOException, InterruptedException {
+        return get("/api/v1/query", Map.of("query", promql));
+    }
+
+    /**
+     * Evaluates the query over the time range, one sample per step
+     */
+    public List<Series> queryRange(String promql, Instant start, Instant end, Duration step) throws IOException, InterruptedException {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("query", promql);
+        params.put("start", formatTime(start));
+        params.put("end", formatTime(end));
+        params.put("step", formatTime(Instant.EPOCH.plus(step)));
+        return get("/api/v1/query_range", params);
+    }
+
+    /**
+     * @throws IllegalStateException when Prometheus does not answer with status success
+     */
+    private List<Series> get(String path, Map<String, String> params) throws IOException, InterruptedException {
+        String query = params.entrySet().stream()
+                .map(e -> e.getKey() + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+        HttpRequest.Builder request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + path + "?" + query))
+                .timeout(Duration.of(DEFAULT_TIMEOUT_DURATION, DEFAULT_TIMEOUT_UNIT.toChronoUnit()))
+                .GET();
+        if (bearerToken != null) {
+            request.header("Authorization", "Bearer " + bearerToken);
+        }
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        JsonNode body;
+        try {
+            body = objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new IllegalStateException("Prometheus query %s failed with %d: %s".formatted(
+                    params.get("query"), response.statusCode(), new String(response.body(), StandardCharsets.UTF_8)), e);
+        }
+        if (response.statusCode() != 200 || !"success".equals(body.path("status").asText())) {
+            throw new IllegalStateException("Prometheus query %s failed with %d: %s %s".formatted(
+                    params.get("query"), response.statusCode(), body.path("errorType").asText(), body.path("error").asText()));
+        }
+        return parseResult(body.path("data"));
+    }
+
+    private static List<Series> parseResult(JsonNode data) {
+        String resultType = data.path("resultType").asText();
+        List<Series> result = new ArrayList<>();
+        for (JsonNode item : data.path("result")) {
+            Map<String, String> labels = new TreeMap<>();
+            item.path("metric").fields().forEachRemaining(e -> labels.put(e.getKey(), e.getValue().asText()));
+            List<Sample> samples = new ArrayList<>();
+            switch (resultType) {
+                case "matrix" -> item.path("values").forEach(value -> samples.add(parseSample(value)));
+                case "vector" -> samples.add(parseSample(item.path("value")));
+                default -> throw new IllegalStateException("Unsupported Prometheus result type " + resultType);
+            }
+            result.add(new Series(labels, samples));
+        }
+        return result;
+    }
+
+    /**
+     * Parses {@code [<unix time in seconds>, "<value>"]}, values are strings so that NaN and infinities can be sent
+     */
+    private static Sample parseSample(JsonNode value) {
+        long millis = Math.round(value.get(0).asDouble() * 1000);
+        return new Sample(Instant.ofEpochMilli(millis), parseValue(value.get(1).asText()));
+    }
+
+    private static double parseValue(String value) {
+        return switch (value) {
+            case "+Inf" -> Double.POSITIVE_INFINITY;
+            case "-Inf" -> Double.NEGATIVE_INFINITY;
+            default -> Double.parseDouble(value);
+        };
+    }
+
+    private static String formatTime(Instant time) {
+        return "%d.%03d".formatted(time.getEpochSecond(), time.getNano() / 1_000_000);
+    }
+}
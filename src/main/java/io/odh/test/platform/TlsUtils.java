@@ -6,6 +6,7 @@
 package io.odh.test.platform;
 
 import io.fabric8.kubernetes.api.model.Secret;
+import io.skodjob.testframe.resources.KubeResourceManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,6 +18,7 @@ import java.security.SecureRandom;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateFactory;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
 import java.util.Locale;
@@ -26,12 +28,46 @@ import java.util.regex.Pattern;
 public class TlsUtils {
     private static final Logger LOGGER = LoggerFactory.getLogger(TlsUtils.class);
 
+    private static final String ROUTER_CERTS_NAMESPACE = "openshift-ingress";
+    private static final String ROUTER_CERTS_SECRET = "router-certs-default";
+
     public static SSLContext getSSLContextFromSecret(Secret signingKey) throws Exception {
         String caSecret = signingKey.getData().get("tls.crt");
-        return createSslContext(caSecret);
+        return createSslContext(parseCertificates(caSecret));
+    }
+
+    /**
+     * Trusts the certificates from all the secrets, secrets which are null or have no tls.crt are skipped
+     */
+    public static SSLContext getSSLContextFromSecrets(Secret... signingKeys) throws Exception {
+        List<Certificate> certList = new ArrayList<>();
+        for (Secret signingKey : signingKeys) {
+            if (signingKey == null || signingKey.getData() == null || !signingKey.getData().containsKey("tls.crt")) {
+                LOGGER.debug("Secret {} has no certificates", signingKey == null ? null : signingKey.getMetadata().getName());
+                continue;
+            }
+            certList.addAll(parseCertificates(signingKey.getData().get("tls.crt")));
+        }
+        return createSslContext(certList);
     }
 
-    private static SSLContext createSslContext(String base64EncodedPems) throws Exception {
+    /**
+     * Trusts the default OpenShift router certificate, which the routes are served with, and the certificates
+     * of the additional secrets, e.g. of other ingress gateways
+     */
+    public static SSLContext getIngressSSLContext(Secret... additionalSigningKeys) {
+        List<Secret> signingKeys = new ArrayList<>();
+        signingKeys.add(KubeResourceManager.getKubeClient().getClient().secrets()
+                .inNamespace(ROUTER_CERTS_NAMESPACE).withName(ROUTER_CERTS_SECRET).get());
+        signingKeys.addAll(Arrays.asList(additionalSigningKeys));
+        try {
+            return getSSLContextFromSecrets(signingKeys.toArray(new Secret[0]));
+        } catch (Exception e) {
+            throw new IllegalStateException("Can't create ssl context for ingress certificates", e);
+        }
+    }
+
+    private static List<Certificate> parseCertificates(String base64EncodedPems) throws Exception {
         Base64.Decoder decoder = Base64.getMimeDecoder();
         String pem = new String(decoder.decode(base64EncodedPems));
         Pattern parse = Pattern.compile("(?m)(?s)^---*BEGIN ([^-]+)---*$([^-]+)^---*END[^-]+-+$");
@@ -53,7 +89,10 @@ public class TlsUtils {
                 LOGGER.error("Unsupported type: {}", type);
             }
         }
+        return certList;
+    }
 
+    private static SSLContext createSslContext(List<Certificate> certList) throws Exception {
         KeyStore trustStore = KeyStore.getInstance("JKS");
         trustStore.load(null, null);
 
@@ -0,0 +1,246 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.utils;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodCondition;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.openshift.api.model.Route;
+import io.fabric8.openshift.api.model.RouteIngress;
+import io.kserve.serving.v1beta1.InferenceService;
+import io.skodjob.testframe.resources.KubeResourceManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Phases of an InferenceService cold start, from its creation until the first successful inference.
+ * Pods, the InferenceService and its Route are watched, so the phases are timed when they happen and not when
+ * a poll notices them. Pods which existed before the tracker was started (e.g. a warm ModelMesh runtime) are ignored.
+ */
+public class ColdStartTracker implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ColdStartTracker.class);
+    private static final long INFERENCE_POLL_INTERVAL = 250;
+
+    public enum Phase {
+        /**
+         * InferenceService was created
+         */
+        CREATED,
+        /**
+         * First new pod in the namespace was scheduled to a node
+         */
+        POD_SCHEDULED,
+        /**
+         * PredictorReady condition, the model is loaded in the runtime
+         */
+        MODEL_LOADED,
+        /**
+         * Route is admitted by the router (ModelMesh) or IngressReady condition (Serverless)
+         */
+        ROUTE_ADMITTED,
+        /**
+         * First inference request answered with 200
+         */
+        FIRST_SUCCESS
+    }
+
+    private final String namespace;
+    private final String name;
+    private final boolean modelMesh;
+    private final Set<String> oldPods;
+    private final Instant started = Instant.now();
+    private final Map<Phase, Instant> phases = new EnumMap<>(Phase.class);
+    private final List<SharedIndexInformer<?>> informers = new ArrayList<>();
+
+    private ColdStartTracker(InferenceService inferenceService) {
+        this.namespace = inferenceService.getMetadata().getNamespace();
+        this.name = inferenceService.getMetadata().getName();
+        this.modelMesh = ModelServingUtils.DEPLOYMENT_MODE_MODELMESH.equals(
+                inferenceService.getMetadata().getAnnotations().get(ModelServingUtils.DEPLOYMENT_MODE_ANNOTATION));
+
+        KubernetesClient client = KubeResourceManager.getKubeClient().getClient();
+        this.oldPods = client.pods().inNamespace(namespace).list().getItems().stream()
+                .map(p -> p.getMetadata().getUid()).collect(Collectors.toSet());
+
+        informers.add(client.pods().inNamespace(namespace).inform(new Handler<>(this::onPod)));
+        informers.add(client.resources(InferenceService.class).inNamespace(namespace).withName(name)
+                .inform(new Handler<>(this::onInferenceService)));
+        if (modelMesh) {
+            informers.add(KubeResourceManager.getKubeClient().getOpenShiftClient().routes().inNamespace(namespace).withName(name)
+                    .inform(new Handler<>(this::onRoute)));
+        }
+    }
+
+    /**
+     * Starts tracking, should be called right before the InferenceService is created
+     * @param inferenceService InferenceService which is going to be created
+     * @return started tracker
+     */
+    public static ColdStartTracker start(InferenceService inferenceService) {
+        ColdStartTracker tracker = new ColdStartTracker(inferenceService);
+        tracker.record(Phase.CREATED);
+        return tracker;
+    }
+
+    private void onPod(Pod pod) {
+        if (oldPods.contains(pod.getMetadata().getUid()) || pod.getStatus() == null || pod.getStatus().getConditions() == null) {
+            return;
+        }
+        for (PodCondition condition : pod.getStatus().getConditions()) {
+            if ("PodScheduled".equals(condition.getType()) && "True".equals(condition.getStatus())) {
+                record(Phase.POD_SCHEDULED);
+            }
+        }
+    }
+
+    private void onInferenceService(InferenceService inferenceService) {
+        ConditionView conditions = ConditionView.of(inferenceService);
+        if (conditions.isTrue("PredictorReady")) {
+            record(Phase.MODEL_LOADED);
+        }
+        if (!modelMesh && conditions.isTrue("IngressReady") && inferenceService.getStatus().getUrl() != null) {
+            record(Phase.ROUTE_ADMITTED);
+        }
+    }
+
+    private void onRoute(Route route) {
+        if (route.getStatus() == null || route.getStatus().getIngress() == null) {
+            return;
+        }
+        for (RouteIngress ingress : route.getStatus().getIngress()) {
+            if (ingress.getConditions() != null && ingress.getConditions().stream()
+                    .anyMatch(c -> "Admitted".equals(c.getType()) && "True".equals(c.getStatus()))) {
+                record(Phase.ROUTE_ADMITTED);
+            }
+        }
+    }
+
+    private synchronized void record(Phase phase) {
+        if (phases.putIfAbsent(phase, Instant.now()) == null) {
+            LOGGER.info("InferenceService {}/{} {} after {} ms", namespace, name, phase, getSinceCreated(phase).toMillis());
+            notifyAll();
+        }
+    }
+
+    /**
+     * Waits until the model is loaded and routed and then sends inference requests until the first one succeeds
+     * @param httpClient client trusting the ingress certificates
+     * @param timeout timeout of the whole cold start
+     * @return time from the creation until the first successful inference
+     */
+    public Duration waitForFirstSuccess(HttpClient httpClient, Duration timeout) {
+        Instant deadline = started.plus(timeout);
+        waitForPhase(Phase.MODEL_LOADED, deadline);
+        waitForPhase(Phase.ROUTE_ADMITTED, deadline);
+
+        String baseUrl = ModelServingUtils.getInferenceUrl(
+                KubeResourceManager.getKubeClient().getClient().resources(InferenceService.class).inNamespace(namespace).withName(name).get());
+        while (Instant.now().isBefore(deadline)) {
+            try {
+                HttpResponse<Void> response = httpClient.send(ModelServingUtils.getMnistInferRequest(baseUrl), HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    record(Phase.FIRST_SUCCESS);
+                    return getSinceCreated(Phase.FIRST_SUCCESS);
+                }
+                LOGGER.debug("InferenceService {}/{} answered {}", namespace, name, response.statusCode());
+            } catch (IOException e) {
+                LOGGER.debug("InferenceService {}/{} request failed: {}", namespace, name, e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+            sleep(INFERENCE_POLL_INTERVAL);
+        }
+        throw new IllegalStateException(String.format("InferenceService %s/%s did not answer within %s, phases: %s",
+                namespace, name, timeout, getPhases()));
+    }
+
+    private synchronized void waitForPhase(Phase phase, Instant deadline) {
+        while (!phases.containsKey(phase)) {
+            long remaining = Duration.between(Instant.now(), deadline).toMillis();
+            if (remaining <= 0) {
+                throw new IllegalStateException(String.format("InferenceService %s/%s did not reach %s, phases: %s",
+                        namespace, name, phase, getPhases()));
+            }
+            try {
+                wait(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return time from the creation of the InferenceService until the phase, null when it was not reached
+     */
+    public synchronized Duration getSinceCreated(Phase phase) {
+        Instant at = phases.get(phase);
+        return at == null ? null : Duration.between(phases.get(Phase.CREATED), at);
+    }
+
+    /**
+     * @return reached phases with the time since creation
+     */
+    public synchronized Map<Phase, Duration> getPhases() {
+        Map<Phase, Duration> result = new EnumMap<>(Phase.class);
+        for (Phase phase : phases.keySet()) {
+            result.put(phase, getSinceCreated(phase));
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        informers.forEach(SharedIndexInformer::stop);
+    }
+
+    private static final class Handler<T> implements ResourceEventHandler<T> {
+        private final Consumer<T> consumer;
+
+        private Handler(Consumer<T> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void onAdd(T obj) {
+            consumer.accept(obj);
+        }
+
+        @Override
+        public void onUpdate(T oldObj, T newObj) {
+            consumer.accept(newObj);
+        }
+
+        @Override
+        public void onDelete(T obj, boolean deletedFinalStateUnknown) {
+        }
+    }
+}
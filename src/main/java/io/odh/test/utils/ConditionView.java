@@ -0,0 +1,135 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.utils;
+
+import io.kserve.serving.v1beta1.InferenceService;
+import io.opendatahub.datasciencecluster.v1.DataScienceCluster;
+import org.kubeflow.v1.Notebook;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Status conditions of a fetched object indexed by type. Conditions which are not present
+ * are returned with status {@link #UNKNOWN}, the same way as Kubernetes reports conditions it can't determine.
+ */
+public final class ConditionView {
+
+    public static final String TRUE = "True";
+    public static final String FALSE = "False";
+    public static final String UNKNOWN = "Unknown";
+
+    private static final ConditionView EMPTY = new ConditionView(Collections.emptyMap());
+
+    public record Condition(String type, String status, String reason, String message, String lastTransitionTime) {
+
+        public static Condition unknown(String type) {
+            return new Condition(type, UNKNOWN, null, null, null);
+        }
+
+        public boolean isTrue() {
+            return TRUE.equals(status);
+        }
+    }
+
+    private final Map<String, Condition> conditions;
+
+    private ConditionView(Map<String, Condition> conditions) {
+        this.conditions = conditions;
+    }
+
+    /**
+     * Builds the view from generated condition classes, which don't share any interface
+     */
+    public static <C> ConditionView of(List<C> conditions, Function<C, String> type, Function<C, String> status,
+                                       Function<C, String> reason, Function<C, String> message, Function<C, Object> lastTransitionTime) {
+        if (conditions == null || conditions.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, Condition> indexed = new LinkedHashMap<>();
+        for (C c : conditions) {
+            indexed.put(type.apply(c), new Condition(type.apply(c), Objects.requireNonNullElse(status.apply(c), UNKNOWN),
+                    reason.apply(c), message.apply(c), Objects.toString(lastTransitionTime.apply(c), null)));
+        }
+        return new ConditionView(indexed);
+    }
+
+    public static ConditionView of(DataScienceCluster dsc) {
+        if (dsc == null || dsc.getStatus() == null) {
+            return EMPTY;
+        }
+        return of(dsc.getStatus().getConditions(),
+                io.opendatahub.datasciencecluster.v1.datascienceclusterstatus.Conditions::getType,
+                io.opendatahub.datasciencecluster.v1.datascienceclusterstatus.Conditions::getStatus,
+                io.opendatahub.datasciencecluster.v1.datascienceclusterstatus.Conditions::getReason,
+                io.opendatahub.datasciencecluster.v1.datascienceclusterstatus.Conditions::getMessage,
+                io.opendatahub.datasciencecluster.v1.datascienceclusterstatus.Conditions::getLastTransitionTime);
+    }
+
+    public static ConditionView of(Notebook notebook) {
+        if (notebook == null || notebook.getStatus() == null) {
+            return EMPTY;
+        }
+        return of(notebook.getStatus().getConditions(),
+                org.kubeflow.v1.notebookstatus.Conditions::getType,
+                org.kubeflow.v1.notebookstatus.Conditions::getStatus,
+                org.kubeflow.v1.notebookstatus.Conditions::getReason,
+                org.kubeflow.v1.notebookstatus.Conditions::getMessage,
+                org.kubeflow.v1.notebookstatus.Conditions::getLastTransitionTime);
+    }
+
+    public static ConditionView of(InferenceService inferenceService) {
+        if (inferenceService == null || inferenceService.getStatus() == null) {
+            return EMPTY;
+        }
+        return of(inferenceService.getStatus().getConditions(),
+                io.kserve.serving.v1beta1.inferenceservicestatus.Conditions::getType,
+                io.kserve.serving.v1beta1.inferenceservicestatus.Conditions::getStatus,
+                io.kserve.serving.v1beta1.inferenceservicestatus.Conditions::getReason,
+                io.kserve.serving.v1beta1.inferenceservicestatus.Conditions::getMessage,
+                io.kserve.serving.v1beta1.inferenceservicestatus.Conditions::getLastTransitionTime);
+    }
+
+    public Condition get(String type) {
+        Condition condition = conditions.get(type);
+        return condition == null ? Condition.unknown(type) : condition;
+    }
+
+    public boolean has(String type) {
+        return conditions.containsKey(type);
+    }
+
+    public String status(String type) {
+        return get(type).status();
+    }
+
+    public boolean isTrue(String type) {
+        return get(type).isTrue();
+    }
+
+    public Map<String, Condition> asMap() {
+        return Collections.unmodifiableMap(conditions);
+    }
+
+    /**
+     * Checks all expectations at once
+     * @param expectations condition type to expected status
+     * @return conditions which don't have the expected status, empty when all of them are met
+     */
+    public Map<String, Condition> unmet(Map<String, String> expectations) {
+        Map<String, Condition> unmet = new LinkedHashMap<>();
+        expectations.forEach((type, expected) -> {
+            Condition condition = get(type);
+            if (!expected.equals(condition.status())) {
+                unmet.put(type, condition);
+            }
+        });
+        return unmet;
+    }
+}
@@ -4,67 +4,158 @@
  */
 package io.odh.test.utils;
 
+import io.fabric8.kubernetes.api.model.ContainerState;
+import io.fabric8.kubernetes.api.model.ContainerStatus;
+import io.fabric8.kubernetes.api.model.Event;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.LabelSelector;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodCondition;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.api.model.apps.DeploymentCondition;
+import io.fabric8.kubernetes.api.model.apps.DeploymentStatus;
+import io.fabric8.kubernetes.api.model.apps.ReplicaSet;
+import io.odh.test.Environment;
 import io.odh.test.TestConstants;
+import io.odh.test.framework.kubeclient.RequestPriority;
+import io.odh.test.install.BundleInstall;
+import io.odh.test.install.InstallTypes;
+import io.odh.test.install.OlmInstall;
+import io.qameta.allure.Allure;
 import io.skodjob.testframe.resources.KubeResourceManager;
 import io.skodjob.testframe.utils.PodUtils;
 import io.skodjob.testframe.wait.Wait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 
-import static java.util.Arrays.asList;
-
 public class DeploymentUtils {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DeploymentUtils.class);
     private static final long READINESS_TIMEOUT = TestConstants.GLOBAL_TIMEOUT;
     private static final long DELETION_TIMEOUT = TestConstants.GLOBAL_TIMEOUT;
+    private static final int RECENT_EVENTS = 20;
 
     private DeploymentUtils() { }
 
     /**
-     * Log actual status of deployment with pods
+     * Log actual status of deployment with pods and attach it to the Allure report
      * @param deployment - every Deployment, that HasMetadata and has status (fabric8 status)
      **/
     public static void logCurrentDeploymentStatus(Deployment deployment, String namespaceName) {
         if (deployment != null) {
-            String kind = deployment.getKind();
-            String name = deployment.getMetadata().getName();
+            String snapshot = RequestPriority.withPriority(RequestPriority.DIAGNOSTIC, () -> diagnosticSnapshot(deployment, namespaceName));
+            LOGGER.info("{}", snapshot);
+            Allure.addAttachment(deployment.getKind() + " " + namespaceName + "/" + deployment.getMetadata().getName(),
+                    "text/plain", snapshot);
+        }
+    }
 
-            List<String> log = new ArrayList<>(asList("\n", kind, " status:\n", "\nConditions:\n"));
+    /**
+     * Renders conditions of the Deployment, conditions and container states of its Pods and recent events
+     * related to them. Pods are listed only once by the Deployment selector.
+     * @param deployment Deployment
+     * @param namespaceName Namespace name
+     * @return rendered snapshot
+     */
+    public static String diagnosticSnapshot(Deployment deployment, String namespaceName) {
+        String name = deployment.getMetadata().getName();
+        StringBuilder sb = new StringBuilder();
+        sb.append("\n").append(deployment.getKind()).append(" ").append(namespaceName).append("/").append(name).append(" status:\n");
 
-            for (DeploymentCondition deploymentCondition : deployment.getStatus().getConditions()) {
-                log.add("\tType: " + deploymentCondition.getType() + "\n");
-                log.add("\tMessage: " + deploymentCondition.getMessage() + "\n");
+        DeploymentStatus status = deployment.getStatus();
+        if (status != null) {
+            sb.append(String.format("\tReplicas: %s desired, %s updated, %s ready, %s available, observed generation %s/%s%n",
+                    deployment.getSpec().getReplicas(), status.getUpdatedReplicas(), status.getReadyReplicas(),
+                    status.getAvailableReplicas(), status.getObservedGeneration(), deployment.getMetadata().getGeneration()));
+            sb.append("\nConditions:\n");
+            for (DeploymentCondition deploymentCondition : status.getConditions()) {
+                sb.append(String.format("\tType: %s, Status: %s, Reason: %s%n\tMessage: %s%n", deploymentCondition.getType(),
+                        deploymentCondition.getStatus(), deploymentCondition.getReason(), deploymentCondition.getMessage()));
             }
+        }
 
-            if (!KubeResourceManager.getKubeClient().listPodsByPrefixInName(namespaceName, name).isEmpty()) {
-                log.add("\nPods with conditions and messages:\n\n");
-
-                for (Pod pod : KubeResourceManager.getKubeClient().listPodsByPrefixInName(namespaceName, name)) {
-                    log.add(pod.getMetadata().getName() + ":");
-                    for (PodCondition podCondition : pod.getStatus().getConditions()) {
-                        if (podCondition.getMessage() != null) {
-                            log.add("\n\tType: " + podCondition.getType() + "\n");
-                            log.add("\tMessage: " + podCondition.getMessage() + "\n");
-                        }
-                    }
-                    log.add("\n\n");
+        List<Pod> pods = KubeResourceManager.getKubeClient().getClient().pods().inNamespace(namespaceName)
+                .withLabelSelector(deployment.getSpec().getSelector()).list().getItems();
+        if (!pods.isEmpty()) {
+            sb.append("\nPods with conditions and container states:\n");
+        }
+        for (Pod pod : pods) {
+            sb.append("\n").append(pod.getMetadata().getName()).append(" (").append(pod.getStatus().getPhase()).append("):\n");
+            for (PodCondition podCondition : pod.getStatus().getConditions()) {
+                if (podCondition.getMessage() != null) {
+                    sb.append(String.format("\tType: %s, Status: %s%n\tMessage: %s%n", podCondition.getType(),
+                            podCondition.getStatus(), podCondition.getMessage()));
                 }
-                LOGGER.info("{}", String.join("", log));
             }
+            for (ContainerStatus containerStatus : pod.getStatus().getContainerStatuses()) {
+                sb.append(String.format("\tContainer: %s, ready: %s, restarts: %d, state: %s%s%n", containerStatus.getName(),
+                        containerStatus.getReady(), containerStatus.getRestartCount(), describe(containerStatus.getState()),
+                        containerStatus.getLastState() != null && containerStatus.getLastState().getTerminated() != null
+                                ? ", last state: " + describe(containerStatus.getLastState()) : ""));
+            }
+        }
+
+        // Events are matched by owner references, a name prefix would also match other Deployments, e.g. odh-dashboard-xyz
+        List<ReplicaSet> replicaSets = KubeResourceManager.getKubeClient().getClient().apps().replicaSets().inNamespace(namespaceName)
+                .withLabelSelector(deployment.getSpec().getSelector()).list().getItems().stream()
+                .filter(rs -> isOwnedBy(rs, deployment))
+                .toList();
+        Set<String> involvedUids = new HashSet<>();
+        involvedUids.add(deployment.getMetadata().getUid());
+        replicaSets.forEach(rs -> involvedUids.add(rs.getMetadata().getUid()));
+        pods.forEach(pod -> involvedUids.add(pod.getMetadata().getUid()));
+        // Pods which are already gone are recognized by the name of the ReplicaSet which created them
+        List<String> podPrefixes = replicaSets.stream().map(rs -> rs.getMetadata().getName() + "-").toList();
+        List<Event> events = KubeResourceManager.getKubeClient().getClient().v1().events().inNamespace(namespaceName).list().getItems()
+                .stream()
+                .filter(event -> event.getInvolvedObject().getUid() != null && involvedUids.contains(event.getInvolvedObject().getUid())
+                        || "Pod".equals(event.getInvolvedObject().getKind())
+                        && podPrefixes.stream().anyMatch(prefix -> event.getInvolvedObject().getName().startsWith(prefix)))
+                .sorted(Comparator.comparing(DeploymentUtils::eventTime))
+                .toList();
+        if (!events.isEmpty()) {
+            sb.append("\nRecent events:\n");
+        }
+        for (Event event : events.subList(Math.max(0, events.size() - RECENT_EVENTS), events.size())) {
+            sb.append(String.format("\t%s %s %s/%s %s: %s%n", eventTime(event), event.getType(), event.getInvolvedObject().getKind(),
+                    event.getInvolvedObject().getName(), event.getReason(), event.getMessage()));
+        }
+        return sb.toString();
+    }
+
+    private static boolean isOwnedBy(HasMetadata resource, HasMetadata owner) {
+        return resource.getMetadata().getOwnerReferences().stream()
+                .anyMatch(ref -> ref.getUid().equals(owner.getMetadata().getUid()));
+    }
+
+    private static String describe(ContainerState state) {
+        if (state == null) {
+            return "unknown";
+        } else if (state.getWaiting() != null) {
+            return "waiting (" + state.getWaiting().getReason() + ": " + state.getWaiting().getMessage() + ")";
+        } else if (state.getTerminated() != null) {
+            return "terminated (" + state.getTerminated().getReason() + ", exit code " + state.getTerminated().getExitCode() + ")";
+        } else if (state.getRunning() != null) {
+            return "running since " + state.getRunning().getStartedAt();
+        }
+        return "unknown";
+    }
 
-            LOGGER.info("{}", String.join("", log));
+    private static String eventTime(Event event) {
+        if (event.getLastTimestamp() != null) {
+            return event.getLastTimestamp();
+        } else if (event.getEventTime() != null) {
+            return event.getEventTime().getTime();
         }
+        return String.valueOf(event.getMetadata().getCreationTimestamp());
     }
 
     public static boolean waitForDeploymentReady(String namespaceName, String deploymentName) {
@@ -113,6 +204,58 @@ public class DeploymentUtils {
         return PodUtils.podSnapshot(namespaceName, selector);
     }
 
+    /**
+     * Returns snapshots of all Deployments in the namespace.
+     * @param namespaceName Namespace name
+     * @return A map of Deployment name to its snapshot, see {@link #depSnapshot(String, String)}
+     */
+    public static Map<String, Map<String, String>> namespaceSnapshot(String namespaceName) {
+        Map<String, Map<String, String>> snapshot = new TreeMap<>();
+        KubeResourceManager.getKubeClient().getClient().apps().deployments().inNamespace(namespaceName).list().getItems()
+                .forEach(d -> snapshot.put(d.getMetadata().getName(), PodUtils.podSnapshot(namespaceName, d.getSpec().getSelector())));
+        return snapshot;
+    }
+
+    /**
+     * Method to find Deployments which replaced any of their Pods since the snapshot, unlike {@link #depHasRolled}
+     * which waits for all of them. Deployments which no longer exist are skipped.
+     * @param namespaceName Namespace name
+     * @param snapshot Snapshot of the namespace from {@link #namespaceSnapshot(String)}
+     * @return names of the Deployments with replaced Pods
+     */
+    public static List<String> getRolledDeployments(String namespaceName, Map<String, Map<String, String>> snapshot) {
+        Map<String, Map<String, String>> current = namespaceSnapshot(namespaceName);
+        return snapshot.entrySet().stream()
+                .filter(e -> current.containsKey(e.getKey()))
+                .filter(e -> !current.get(e.getKey()).keySet().containsAll(e.getValue().keySet()))
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Deployment of the ODH operator, installed by {@link OlmInstall} or {@link BundleInstall} as selected
+     * by {@link Environment#OPERATOR_INSTALL_TYPE}
+     * @return the Deployment, null when the operator is not installed yet
+     */
+    public static Deployment getOperatorDeployment() {
+        String namespaceName;
+        String deploymentName;
+        if (Environment.OPERATOR_INSTALL_TYPE.equalsIgnoreCase(InstallTypes.OLM.toString())) {
+            OlmInstall olmInstall = new OlmInstall();
+            namespaceName = olmInstall.getNamespace();
+            deploymentName = olmInstall.getDeploymentName();
+        } else {
+            try {
+                BundleInstall bundleInstall = new BundleInstall();
+                namespaceName = bundleInstall.getNamespace();
+                deploymentName = bundleInstall.getDeploymentName();
+            } catch (IOException e) {
+                throw new IllegalStateException("Operator bundle can't be read", e);
+            }
+        }
+        return KubeResourceManager.getKubeClient().getClient().apps().deployments().inNamespace(namespaceName).withName(deploymentName).get();
+    }
+
     /**
      * Method to check that all Pods for expected Deployment were rolled
      * @param namespaceName Namespace name
@@ -137,11 +280,33 @@ public class DeploymentUtils {
     }
 
     public static Map<String, String> waitTillDepHasRolled(String namespaceName, String deploymentName, Map<String, String> snapshot) {
-        LOGGER.info("Waiting for Deployment: {}/{} rolling update", namespaceName, deploymentName);
-        Wait.until("rolling update of Deployment " + namespaceName + "/" + deploymentName,
-                TestConstants.GLOBAL_POLL_INTERVAL_MEDIUM, TestConstants.GLOBAL_TIMEOUT,
-                () -> depHasRolled(namespaceName, deploymentName, snapshot));
+        LOGGER.debug("Existing snapshot: {}/{}", namespaceName, new TreeMap<>(snapshot));
+        try (RolloutTracker tracker = RolloutTracker.start(namespaceName, deploymentName, snapshot.keySet())) {
+            return waitTillDepHasRolled(tracker);
+        }
+    }
+
+    /**
+     * Wait for rolling update of the Deployment tracked by the given tracker. Start the tracker before the update is triggered
+     * via {@link #trackRollout(String, String)} to get complete rollout timeline.
+     * @param tracker tracker of the Deployment
+     * @return A map of pod name to resource version for Pods in the rolled Deployment.
+     */
+    public static Map<String, String> waitTillDepHasRolled(RolloutTracker tracker) {
+        LOGGER.info("Waiting for Deployment: {}/{} rolling update", tracker.getNamespaceName(), tracker.getDeploymentName());
+        tracker.waitForRollout(TestConstants.GLOBAL_TIMEOUT);
+        LOGGER.info("Deployment: {}/{} rolled\n{}", tracker.getNamespaceName(), tracker.getDeploymentName(), tracker.renderTimeline());
 
-        return depSnapshot(namespaceName, deploymentName);
+        return depSnapshot(tracker.getNamespaceName(), tracker.getDeploymentName());
+    }
+
+    /**
+     * Starts watching of the Deployment and its Pods, current Pods are expected to be replaced by the rolling update.
+     * @param namespaceName Namespace name
+     * @param deploymentName Deployment name
+     * @return started tracker, has to be closed by the caller
+     */
+    public static RolloutTracker trackRollout(String namespaceName, String deploymentName) {
+        return RolloutTracker.start(namespaceName, deploymentName);
     }
 }
@@ -0,0 +1,178 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.utils;
+
+import io.opendatahub.datasciencecluster.v1.DataScienceCluster;
+import io.opendatahub.datasciencecluster.v1.datascienceclusterspec.Components;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Readiness of DataScienceCluster derived from its spec. Every component with management state Managed is expected
+ * to report its ready condition, Removed components are not checked at all. Expectations are derived again on every
+ * evaluation, so components switched to Removed during the wait stop being checked immediately.
+ * The tracker also remembers since when each component has been pending and how long it took to become ready.
+ */
+public class DscReadinessTracker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DscReadinessTracker.class);
+    private static final String MANAGED = "Managed";
+
+    /**
+     * DSC components and the conditions they report, see
+     * https://github.com/opendatahub-io/opendatahub-operator/tree/incubation/components
+     */
+    public enum Component {
+        DASHBOARD("dashboardReady", Components::getDashboard, c -> c.getDashboard().getManagementState()),
+        WORKBENCHES("workbenchesReady", Components::getWorkbenches, c -> c.getWorkbenches().getManagementState()),
+        CODEFLARE("codeflareReady", Components::getCodeflare, c -> c.getCodeflare().getManagementState()),
+        MODELMESH("model-meshReady", Components::getModelmeshserving, c -> c.getModelmeshserving().getManagementState()),
+        RAY("rayReady", Components::getRay, c -> c.getRay().getManagementState()),
+        KUEUE("kueueReady", Components::getKueue, c -> c.getKueue().getManagementState()),
+        KSERVE("kserveReady", Components::getKserve, c -> c.getKserve().getManagementState()),
+        PIPELINES("data-science-pipelines-operatorReady", Components::getDatasciencepipelines,
+                c -> c.getDatasciencepipelines().getManagementState());
+
+        private final String conditionType;
+        private final Function<Components, Object> spec;
+        private final Function<Components, Object> managementState;
+
+        Component(String conditionType, Function<Components, Object> spec, Function<Components, Object> managementState) {
+            this.conditionType = conditionType;
+            this.spec = spec;
+            this.managementState = managementState;
+        }
+
+        public String getConditionType() {
+            return conditionType;
+        }
+
+        /**
+         * @return name of the component in status.installedComponents of the DSC
+         */
+        public String getInstalledName() {
+            return conditionType.substring(0, conditionType.length() - "Ready".length());
+        }
+
+        /**
+         * @return component reporting the condition, null for conditions of the whole DSC
+         */
+        public static Component ofConditionType(String conditionType) {
+            for (Component component : values()) {
+                if (component.conditionType.equals(conditionType)) {
+                    return component;
+                }
+            }
+            return null;
+        }
+
+        public boolean isManaged(DataScienceCluster dsc) {
+            if (dsc.getSpec() == null || dsc.getSpec().getComponents() == null) {
+                return false;
+            }
+            Components components = dsc.getSpec().getComponents();
+            return spec.apply(components) != null && MANAGED.equals(Objects.toString(managementState.apply(components), null));
+        }
+    }
+
+    /**
+     * Conditions of the whole DSC, ReconcileComplete tells that DSC reconciliation has been successfully finalized
+     * https://github.com/red-hat-data-services/rhods-operator/blob/rhoai-2.8/controllers/datasciencecluster/datasciencecluster_controller.go#L257
+     */
+    private static final Map<String, String> DSC_EXPECTATIONS = Map.of(
+            "Available", ConditionView.TRUE,
+            "Progressing", ConditionView.FALSE,
+            "Degraded", ConditionView.FALSE,
+            "Upgradeable", ConditionView.TRUE,
+            "ReconcileComplete", ConditionView.TRUE
+    );
+
+    private final Instant start = Instant.now();
+    private final Map<Component, Instant> pendingSince = new LinkedHashMap<>();
+    private final Map<Component, Duration> readyAfter = new LinkedHashMap<>();
+    private Map<String, ConditionView.Condition> unmet = Collections.emptyMap();
+
+    /**
+     * @param dsc DataScienceCluster
+     * @return expected status per condition type for the current spec of the DSC
+     */
+    public static Map<String, String> expectations(DataScienceCluster dsc) {
+        Map<String, String> expectations = new LinkedHashMap<>();
+        for (Component component : Component.values()) {
+            if (component.isManaged(dsc)) {
+                expectations.put(component.getConditionType(), ConditionView.TRUE);
+            }
+        }
+        expectations.putAll(DSC_EXPECTATIONS);
+        return expectations;
+    }
+
+    /**
+     * Evaluates all expectations against the fetched DSC in a single pass over its conditions
+     * @param dsc DataScienceCluster fetched from the cluster
+     * @return true when all expectations are met
+     */
+    public synchronized boolean evaluate(DataScienceCluster dsc) {
+        Instant now = Instant.now();
+        ConditionView conditions = ConditionView.of(dsc);
+        unmet = conditions.unmet(expectations(dsc));
+
+        for (Component component : Component.values()) {
+            if (!component.isManaged(dsc)) {
+                pendingSince.remove(component);
+                readyAfter.remove(component);
+            } else if (unmet.containsKey(component.getConditionType())) {
+                pendingSince.putIfAbsent(component, now);
+                readyAfter.remove(component);
+            } else if (!readyAfter.containsKey(component)) {
+                pendingSince.remove(component);
+                readyAfter.put(component, Duration.between(start, now));
+                LOGGER.info("DataScienceCluster {} component {} is ready after {} s", dsc.getMetadata().getName(), component,
+                        readyAfter.get(component).toSeconds());
+            }
+        }
+        LOGGER.debug("DataScienceCluster {} unmet conditions: {}", dsc.getMetadata().getName(), unmet.values());
+        return unmet.isEmpty();
+    }
+
+    /**
+     * @return components which are Managed but not ready yet, with the time they have been pending
+     */
+    public synchronized Map<Component, Duration> getPending() {
+        Instant now = Instant.now();
+        Map<Component, Duration> pending = new LinkedHashMap<>();
+        pendingSince.forEach((component, since) -> pending.put(component, Duration.between(since, now)));
+        return pending;
+    }
+
+    /**
+     * @return time from the start of tracking until the component became ready
+     */
+    public synchronized Map<Component, Duration> getReadyAfter() {
+        return new LinkedHashMap<>(readyAfter);
+    }
+
+    public synchronized Map<String, ConditionView.Condition> getUnmet() {
+        return unmet;
+    }
+
+    public synchronized String render() {
+        StringBuilder sb = new StringBuilder();
+        readyAfter.forEach((component, duration) -> sb.append(String.format("  %-12s ready after %d s%n", component, duration.toSeconds())));
+        getPending().forEach((component, duration) -> sb.append(String.format("  %-12s pending for %d s%n", component, duration.toSeconds())));
+        unmet.values().stream()
+                .filter(c -> DSC_EXPECTATIONS.containsKey(c.type()))
+                .forEach(c -> sb.append(String.format("  %-12s is %s (%s)%n", c.type(), c.status(), c.message())));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.odh.test.Environment;
+import io.odh.test.framework.manager.resources.DataScienceClusterType;
+import io.opendatahub.datasciencecluster.v1.DataScienceCluster;
+import io.qameta.allure.Allure;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records transitions of DataScienceCluster conditions from a watch, from the creation of the DSC until it is ready.
+ * Later transitions, e.g. from components toggled by the tests, are not part of the initial reconcile and are ignored.
+ * Transitions are placed on a timeline by their lastTransitionTime relative to the DSC creationTimestamp, so the
+ * waterfall shows how long the operator took to bring up each component regardless of the test poll interval.
+ * The waterfall can be compared with a baseline recorded on a previous run to catch reconcile regressions.
+ */
+public class DscReconcileRecorder implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DscReconcileRecorder.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final String RECONCILE_COMPLETE = "ReconcileComplete";
+    // Differences below this are considered as noise of the cluster, not a regression
+    private static final Duration BASELINE_SLACK = Duration.ofSeconds(10);
+    private static final int WATERFALL_WIDTH = 50;
+
+    /**
+     * One observed condition status
+     * @param condition condition type
+     * @param component DSC component reporting the condition, null for conditions of the whole DSC
+     * @param status condition status
+     * @param lastTransitionTime lastTransitionTime as reported by the operator
+     * @param offsetSeconds seconds since the creation of the DSC
+     */
+    public record Transition(String condition, String component, String status, String lastTransitionTime, double offsetSeconds) { }
+
+    /**
+     * Exported waterfall of one DSC reconcile
+     * @param dsc name of the DSC
+     * @param creationTimestamp creationTimestamp of the DSC
+     * @param reconcileCompleteSeconds seconds from creation until ReconcileComplete, -1 when it was not reached
+     * @param components seconds from creation until each component reported ready
+     * @param transitions all observed transitions ordered by time
+     */
+    public record Waterfall(String dsc, String creationTimestamp, double reconcileCompleteSeconds,
+                            Map<String, Double> components, List<Transition> transitions) { }
+
+    private final String name;
+    private final Instant started = Instant.now();
+    private final Set<String> seen = ConcurrentHashMap.newKeySet();
+    private final List<Transition> transitions = new CopyOnWriteArrayList<>();
+    private volatile Instant created;
+    private volatile String creationTimestamp;
+    private volatile String uid;
+    private volatile boolean complete;
+    private final SharedIndexInformer<DataScienceCluster> informer;
+
+    private DscReconcileRecorder(String name) {
+        this.name = name;
+        this.informer = DataScienceClusterType.dataScienceCLusterClient().withName(name).inform(new ResourceEventHandler<>() {
+            @Override
+            public void onAdd(DataScienceCluster dsc) {
+                record(dsc);
+            }
+
+            @Override
+            public void onUpdate(DataScienceCluster oldDsc, DataScienceCluster newDsc) {
+                record(newDsc);
+            }
+
+            @Override
+            public void onDelete(DataScienceCluster dsc, boolean deletedFinalStateUnknown) {
+                // Recorded transitions are kept
+            }
+        });
+    }
+
+    /**
+     * Starts recording, transitions which happened before the start are still recorded from the conditions of the DSC
+     * @param name name of the DSC
+     * @return started recorder
+     */
+    public static DscReconcileRecorder start(String name) {
+        return new DscReconcileRecorder(name);
+    }
+
+    private void record(DataScienceCluster dsc) {
+        if (complete || dsc.getMetadata() == null || !name.equals(dsc.getMetadata().getName())) {
+            return;
+        }
+        if (creationTimestamp == null) {
+            creationTimestamp = dsc.getMetadata().getCreationTimestamp();
+            uid = dsc.getMetadata().getUid();
+            created = parse(creationTimestamp, started);
+        }
+        Instant observed = Instant.now();
+        ConditionView conditions = ConditionView.of(dsc);
+        conditions.asMap().values().forEach(condition -> {
+            if (seen.add(condition.type() + "/" + condition.status() + "/" + condition.lastTransitionTime())) {
+                Instant transitionTime = parse(condition.lastTransitionTime(), observed);
+                DscReadinessTracker.Component component = DscReadinessTracker.Component.ofConditionType(condition.type());
+                transitions.add(new Transition(condition.type(),
+                        component == null ? null : component.name().toLowerCase(Locale.ROOT),
+                        condition.status(), condition.lastTransitionTime(),
+                        Duration.between(created, transitionTime).toMillis() / 1000d));
+                LOGGER.debug("DataScienceCluster {} condition {} is {}", name, condition.type(), condition.status());
+            }
+        });
+        complete = conditions.unmet(DscReadinessTracker.expectations(dsc)).isEmpty();
+    }
+
+    /**
+     * @return true when the DSC was seen ready and recording is finished
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * @return creationTimestamp of the DSC, null when the DSC was not seen yet
+     */
+    public Instant getCreated() {
+        return created;
+    }
+
+    private static Instant parse(String timestamp, Instant defaultValue) {
+        if (timestamp == null) {
+            return defaultValue;
+        }
+        try {
+            return Instant.parse(timestamp);
+        } catch (DateTimeParseException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * @return waterfall of the transitions recorded so far
+     */
+    public Waterfall getWaterfall() {
+        List<Transition> ordered = new ArrayList<>(transitions);
+        ordered.sort(Comparator.comparingDouble(Transition::offsetSeconds));
+
+        Map<String, Double> components = new LinkedHashMap<>();
+        double reconcileComplete = -1;
+        for (Transition transition : ordered) {
+            if (!ConditionView.TRUE.equals(transition.status())) {
+                continue;
+            }
+            if (transition.component() != null) {
+                components.put(transition.component(), transition.offsetSeconds());
+            } else if (RECONCILE_COMPLETE.equals(transition.condition())) {
+                reconcileComplete = transition.offsetSeconds();
+            }
+        }
+        return new Waterfall(name, creationTimestamp, reconcileComplete, components, ordered);
+    }
+
+    public String render() {
+        Waterfall waterfall = getWaterfall();
+        double max = waterfall.transitions().stream().mapToDouble(Transition::offsetSeconds).max().orElse(0);
+        StringBuilder sb = new StringBuilder(String.format("DataScienceCluster %s reconcile waterfall%n", name));
+        for (Transition transition : waterfall.transitions()) {
+            int bar = max <= 0 ? 0 : (int) Math.round(Math.max(0, transition.offsetSeconds()) / max * WATERFALL_WIDTH);
+            sb.append(String.format("  %8.1f s  %-40s %-7s %s%n", transition.offsetSeconds(), transition.condition(),
+                    transition.status(), "#".repeat(bar)));
+        }
+        sb.append(String.format("  ReconcileComplete after %.1f s%n", waterfall.reconcileCompleteSeconds()));
+        return sb.toString();
+    }
+
+    /**
+     * Writes the waterfall as json into the log directory and attaches it to the Allure report
+     * @return path of the written file
+     */
+    public Path export() throws IOException {
+        Waterfall waterfall = getWaterfall();
+        String json = MAPPER.writeValueAsString(waterfall);
+        Path dir = Environment.LOG_DIR.resolve("reconcile");
+        Files.createDirectories(dir);
+        Path file = dir.resolve(name + "-" + (uid == null ? "unknown" : uid) + ".json");
+        Files.writeString(file, json);
+
+        String report = render();
+        LOGGER.info("{}", report);
+        Allure.addAttachment("dsc-reconcile-waterfall", "text/plain", report);
+        Allure.addAttachment("dsc-reconcile-waterfall.json", "application/json", json);
+        return file;
+    }
+
+    public static Waterfall readWaterfall(Path path) throws IOException {
+        return MAPPER.readValue(path.toFile(), Waterfall.class);
+    }
+
+    /**
+     * Compares the waterfall with a baseline, component is regressed when it took more than tolerance times
+     * the baseline and the difference is bigger than the usual noise of the cluster
+     * @param current waterfall of this run
+     * @param baseline waterfall of a previous run
+     * @param tolerance allowed ratio to the baseline
+     * @param slack differences below this are ignored
+     * @return description of the regressions, empty when there are none
+     */
+    public static List<String> compare(Waterfall current, Waterfall baseline, double tolerance, Duration slack) {
+        Map<String, Double> currentTimes = new LinkedHashMap<>(current.components());
+        currentTimes.put(RECONCILE_COMPLETE, current.reconcileCompleteSeconds());
+        Map<String, Double> baselineTimes = new LinkedHashMap<>(baseline.components());
+        baselineTimes.put(RECONCILE_COMPLETE, baseline.reconcileCompleteSeconds());
+
+        List<String> regressions = new ArrayList<>();
+        baselineTimes.forEach((key, expected) -> {
+            Double actual = currentTimes.get(key);
+            if (expected < 0 || actual == null) {
+                return;
+            }
+            if (actual < 0) {
+                regressions.add(String.format("%s was not reached, baseline %.1f s", key, expected));
+            } else if (actual > expected * tolerance && actual - expected > slack.toMillis() / 1000d) {
+                regressions.add(String.format("%s took %.1f s, baseline %.1f s", key, actual, expected));
+            }
+        });
+        return regressions;
+    }
+
+    /**
+     * Exports the waterfall and compares it with {@link Environment#DSC_RECONCILE_BASELINE} when it is set
+     * @throws AssertionError when some component regressed
+     */
+    public void report() {
+        try {
+            export();
+        } catch (IOException e) {
+            LOGGER.warn("Reconcile waterfall of DataScienceCluster {} can't be saved: {}", name, e.getMessage());
+        }
+        if (Environment.DSC_RECONCILE_BASELINE == null) {
+            return;
+        }
+        Waterfall baseline;
+        try {
+            baseline = readWaterfall(Path.of(Environment.DSC_RECONCILE_BASELINE));
+        } catch (IOException e) {
+            throw new IllegalStateException("Can't read reconcile baseline " + Environment.DSC_RECONCILE_BASELINE, e);
+        }
+        List<String> regressions = compare(getWaterfall(), baseline, Environment.DSC_RECONCILE_TOLERANCE, BASELINE_SLACK);
+        if (!regressions.isEmpty()) {
+            throw new AssertionError(String.format("DataScienceCluster %s reconcile regressed against baseline %s: %s",
+                    name, Environment.DSC_RECONCILE_BASELINE, regressions));
+        }
+    }
+
+    @Override
+    public void close() {
+        informer.stop();
+    }
+}
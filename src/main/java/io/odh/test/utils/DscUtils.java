@@ -9,6 +9,7 @@ import io.odh.test.OdhConstants;
 import io.odh.test.framework.manager.requirements.ServiceMeshOperator;
 import io.opendatahub.datasciencecluster.v1.DataScienceCluster;
 import io.opendatahub.datasciencecluster.v1.DataScienceClusterBuilder;
+import io.opendatahub.datasciencecluster.v1.datascienceclusterspec.Components;
 import io.opendatahub.datasciencecluster.v1.datascienceclusterspec.ComponentsBuilder;
 import io.opendatahub.datasciencecluster.v1.datascienceclusterspec.components.Codeflare;
 import io.opendatahub.datasciencecluster.v1.datascienceclusterspec.components.CodeflareBuilder;
@@ -33,6 +34,8 @@ import io.opendatahub.dscinitialization.v1.dscinitializationspec.ServiceMesh;
 import io.opendatahub.dscinitialization.v1.dscinitializationspec.TrustedCABundle;
 import io.opendatahub.dscinitialization.v1.dscinitializationspec.servicemesh.ControlPlane;
 
+import java.util.Objects;
+
 public class DscUtils {
 
     public static DSCInitialization getBasicDSCI() {
@@ -97,4 +100,39 @@ public class DscUtils {
                 .endSpec()
                 .build();
     }
+
+    /**
+     * Switches the component between Managed and Removed in the given DSC, other settings of the component are kept.
+     * The DSC still has to be updated on the cluster.
+     */
+    public static void setManagementState(DataScienceCluster dsc, DscReadinessTracker.Component component, boolean managed) {
+        Components components = dsc.getSpec().getComponents();
+        switch (component) {
+            case DASHBOARD -> components.setDashboard(new DashboardBuilder(Objects.requireNonNullElseGet(components.getDashboard(), Dashboard::new))
+                    .withManagementState(managed ? Dashboard.ManagementState.Managed : Dashboard.ManagementState.Removed).build());
+            case WORKBENCHES -> components.setWorkbenches(new WorkbenchesBuilder(Objects.requireNonNullElseGet(components.getWorkbenches(), Workbenches::new))
+                    .withManagementState(managed ? Workbenches.ManagementState.Managed : Workbenches.ManagementState.Removed).build());
+            case CODEFLARE -> components.setCodeflare(new CodeflareBuilder(Objects.requireNonNullElseGet(components.getCodeflare(), Codeflare::new))
+                    .withManagementState(managed ? Codeflare.ManagementState.Managed : Codeflare.ManagementState.Removed).build());
+            case MODELMESH -> components.setModelmeshserving(new ModelmeshservingBuilder(Objects.requireNonNullElseGet(components.getModelmeshserving(), Modelmeshserving::new))
+                    .withManagementState(managed ? Modelmeshserving.ManagementState.Managed : Modelmeshserving.ManagementState.Removed).build());
+            case RAY -> components.setRay(new RayBuilder(Objects.requireNonNullElseGet(components.getRay(), Ray::new))
+                    .withManagementState(managed ? Ray.ManagementState.Managed : Ray.ManagementState.Removed).build());
+            case KUEUE -> components.setKueue(new KueueBuilder(Objects.requireNonNullElseGet(components.getKueue(), Kueue::new))
+                    .withManagementState(managed ? Kueue.ManagementState.Managed : Kueue.ManagementState.Removed).build());
+            case KSERVE -> components.setKserve(new KserveBuilder(Objects.requireNonNullElseGet(components.getKserve(), Kserve::new))
+                    .withManagementState(managed ? Kserve.ManagementState.Managed : Kserve.ManagementState.Removed).build());
+            case PIPELINES -> components.setDatasciencepipelines(new DatasciencepipelinesBuilder(Objects.requireNonNullElseGet(components.getDatasciencepipelines(), Datasciencepipelines::new))
+                    .withManagementState(managed ? Datasciencepipelines.ManagementState.Managed : Datasciencepipelines.ManagementState.Removed).build());
+            default -> throw new IllegalArgumentException("Unknown component " + component);
+        }
+    }
+
+    /**
+     * @return true when the operator reports the component as installed in the DSC status
+     */
+    public static boolean isInstalled(DataScienceCluster dsc, DscReadinessTracker.Component component) {
+        return dsc.getStatus() != null && dsc.getStatus().getInstalledComponents() != null
+                && Boolean.TRUE.equals(dsc.getStatus().getInstalledComponents().get(component.getInstalledName()));
+    }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.utils;
+
+import io.fabric8.kubernetes.api.model.events.v1.Event;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.skodjob.testframe.resources.KubeResourceManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of event reasons by UID of the involved object. Every tracked object has one informer per namespace,
+ * field-selected on regarding.uid, so readiness checks don't have to list events on every poll.
+ * Note that events of cluster scoped objects (DSC, DSCI) are created in the default namespace.
+ */
+public class EventIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventIndex.class);
+    private static final EventIndex INSTANCE = new EventIndex();
+
+    private final Map<String, Set<String>> reasonsByUid = new ConcurrentHashMap<>();
+    private final Map<String, List<SharedIndexInformer<Event>>> informersByUid = new ConcurrentHashMap<>();
+
+    private EventIndex() { }
+
+    public static EventIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts indexing events regarding the object, blocks until the current events are listed
+     * @param uid UID of the involved object
+     * @param namespaces namespaces where the events of the object are created
+     */
+    public synchronized void track(String uid, String... namespaces) {
+        if (informersByUid.containsKey(uid)) {
+            return;
+        }
+        reasonsByUid.put(uid, ConcurrentHashMap.newKeySet());
+        List<SharedIndexInformer<Event>> informers = new ArrayList<>();
+        for (String namespace : namespaces) {
+            informers.add(KubeResourceManager.getKubeClient().getClient().events().v1().events()
+                    .inNamespace(namespace)
+                    .withField("regarding.uid", uid)
+                    .inform(new ResourceEventHandler<>() {
+                        @Override
+                        public void onAdd(Event event) {
+                            index(event);
+                        }
+
+                        @Override
+                        public void onUpdate(Event oldEvent, Event newEvent) {
+                            index(newEvent);
+                        }
+
+                        @Override
+                        public void onDelete(Event event, boolean deletedFinalStateUnknown) {
+                            // Expired events still happened
+                        }
+                    }));
+        }
+        informersByUid.put(uid, informers);
+        LOGGER.debug("Indexing events of {} in {}", uid, namespaces);
+    }
+
+    /**
+     * Stops the informers of the object and drops its indexed events
+     * @param uid UID of the involved object
+     */
+    public synchronized void untrack(String uid) {
+        List<SharedIndexInformer<Event>> informers = informersByUid.remove(uid);
+        if (informers != null) {
+            informers.forEach(SharedIndexInformer::stop);
+        }
+        reasonsByUid.remove(uid);
+    }
+
+    public boolean hasReason(String uid, String reason) {
+        return getReasons(uid).contains(reason);
+    }
+
+    public Set<String> getReasons(String uid) {
+        Set<String> reasons = reasonsByUid.get(uid);
+        return reasons == null ? Collections.emptySet() : Collections.unmodifiableSet(reasons);
+    }
+
+    private void index(Event event) {
+        if (event.getRegarding() == null || event.getReason() == null) {
+            return;
+        }
+        Set<String> reasons = reasonsByUid.get(event.getRegarding().getUid());
+        if (reasons != null) {
+            reasons.add(event.getReason());
+        }
+    }
+}
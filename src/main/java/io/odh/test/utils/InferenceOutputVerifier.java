@@ -0,0 +1,163 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Checks output tensor of a KServe v2 json inference response against expected values with a tolerance.
+ * The response is read with a streaming parser straight into a float[], without building a String or a json tree,
+ * so it is cheap enough to verify every response of a load test.
+ */
+public class InferenceOutputVerifier {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final String outputName;
+    private final float[] expected;
+    private final double absTolerance;
+    private final double relTolerance;
+
+    /**
+     * A value matches when {@code |actual - expected| <= absTolerance + relTolerance * |expected|}
+     * @param outputName name of the checked output, null for the first output in the response
+     */
+    public InferenceOutputVerifier(String outputName, float[] expected, double absTolerance, double relTolerance) {
+        this.outputName = outputName;
+        this.expected = expected.clone();
+        this.absTolerance = absTolerance;
+        this.relTolerance = relTolerance;
+    }
+
+    public void verify(byte[] responseBody) {
+        verify(readOutput(responseBody, outputName));
+    }
+
+    public void verify(InputStream responseBody) {
+        verify(readOutput(responseBody, outputName));
+    }
+
+    /**
+     * @throws AssertionError with the first differing element when the output does not match
+     */
+    public void verify(float[] actual) {
+        if (actual.length != expected.length) {
+            throw new AssertionError("Output %s has %d elements, expected %d: %s".formatted(
+                    outputName, actual.length, expected.length, Arrays.toString(actual)));
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (!matches(actual[i], expected[i])) {
+                throw new AssertionError("Output %s differs at index %d: %s, expected %s (abs %s, rel %s), whole output %s".formatted(
+                        outputName, i, actual[i], expected[i], absTolerance, relTolerance, Arrays.toString(actual)));
+            }
+        }
+    }
+
+    private boolean matches(float actual, float expectedValue) {
+        return Math.abs(actual - expectedValue) <= absTolerance + relTolerance * Math.abs(expectedValue);
+    }
+
+    public static float[] readOutput(byte[] responseBody, String outputName) {
+        try (JsonParser parser = JSON_FACTORY.createParser(responseBody)) {
+            return readOutput(parser, outputName);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Inference response can't be parsed", e);
+        }
+    }
+
+    public static float[] readOutput(InputStream responseBody, String outputName) {
+        try (JsonParser parser = JSON_FACTORY.createParser(responseBody)) {
+            return readOutput(parser, outputName);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Inference response can't be parsed", e);
+        }
+    }
+
+    /**
+     * Reads {@code data} of the output with the given name from {@code {"outputs": [{"name": ..., "data": [...]}, ...]}},
+     * other fields are skipped
+     */
+    private static float[] readOutput(JsonParser parser, String outputName) throws IOException {
+        expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("outputs".equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    Output output = readOutputObject(parser);
+                    if (outputName == null || outputName.equals(output.name)) {
+                        return output.data == null ? new float[0] : output.data;
+                    }
+                }
+                break;
+            }
+            parser.skipChildren();
+        }
+        throw new IllegalStateException("Inference response has no output " + (outputName == null ? "" : outputName));
+    }
+
+    private static Output readOutputObject(JsonParser parser) throws IOException {
+        Output output = new Output();
+        int size = -1;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "name" -> output.name = parser.getValueAsString();
+                case "shape" -> size = readSize(parser, value);
+                case "data" -> output.data = readFloats(parser, value, size);
+                default -> parser.skipChildren();
+            }
+        }
+        return output;
+    }
+
+    private static int readSize(JsonParser parser, JsonToken value) throws IOException {
+        expect(parser, value, JsonToken.START_ARRAY);
+        int size = 1;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            size = Math.multiplyExact(size, parser.getIntValue());
+        }
+        return size;
+    }
+
+    /**
+     * @param size expected number of elements from the shape, -1 when not known yet
+     */
+    private static float[] readFloats(JsonParser parser, JsonToken value, int size) throws IOException {
+        expect(parser, value, JsonToken.START_ARRAY);
+        float[] data = new float[size >= 0 ? size : 16];
+        int count = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.VALUE_NUMBER_FLOAT && token != JsonToken.VALUE_NUMBER_INT) {
+                throw new IllegalStateException("Unexpected %s in output data at %s".formatted(token, parser.currentLocation()));
+            }
+            if (count == data.length) {
+                data = Arrays.copyOf(data, Math.max(16, data.length * 2));
+            }
+            data[count++] = parser.getFloatValue();
+        }
+        return count == data.length ? data : Arrays.copyOf(data, count);
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) {
+        if (actual != expected) {
+            throw new IllegalStateException("Expected %s but got %s at %s".formatted(expected, actual, parser.currentLocation()));
+        }
+    }
+
+    private static final class Output {
+        private String name;
+        private float[] data;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.utils;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Distribution of latencies measured by the performance tests. Samples are kept, so percentiles are exact
+ * (nearest-rank), which is fine for the number of samples a test against a real cluster can collect.
+ */
+public class LatencyStats {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final String name;
+    private double[] samples = new double[INITIAL_CAPACITY];
+    private int count;
+
+    public LatencyStats(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void add(Duration latency) {
+        add(latency.toNanos() / 1_000_000d);
+    }
+
+    /**
+     * @param millis latency in milliseconds
+     */
+    public synchronized void add(double millis) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, samples.length * 2);
+        }
+        samples[count++] = millis;
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    public synchronized double getMin() {
+        return count == 0 ? Double.NaN : sorted()[0];
+    }
+
+    public synchronized double getMax() {
+        return count == 0 ? Double.NaN : sorted()[count - 1];
+    }
+
+    public synchronized double getMean() {
+        return count == 0 ? Double.NaN : Arrays.stream(samples, 0, count).sum() / count;
+    }
+
+    /**
+     * @param percentile percentile in range (0, 100]
+     * @return latency in milliseconds, NaN when there are no samples
+     */
+    public synchronized double getPercentile(double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be in range (0, 100], got " + percentile);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return sorted()[Math.max(rank, 1) - 1];
+    }
+
+    private double[] sorted() {
+        double[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    public static String header() {
+        return String.format("%-32s %6s %10s %10s %10s %10s %10s %10s%n", "", "count", "min", "p50", "p90", "p99", "max", "mean");
+    }
+
+    /**
+     * @return one row of the table started by {@link #header()}, values in milliseconds
+     */
+    public synchronized String render() {
+        return String.format("%-32s %6d %10.1f %10.1f %10.1f %10.1f %10.1f %10.1f%n", name, count,
+                getMin(), getPercentile(50), getPercentile(90), getPercentile(99), getMax(), getMean());
+    }
+}
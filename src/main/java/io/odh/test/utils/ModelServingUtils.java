@@ -0,0 +1,326 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.IntOrString;
+import io.fabric8.kubernetes.api.model.KubernetesResource;
+import io.fabric8.kubernetes.api.model.Namespace;
+import io.fabric8.kubernetes.api.model.NamespaceBuilder;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.fabric8.openshift.api.model.Route;
+import io.fabric8.openshift.api.model.Template;
+import io.fabric8.openshift.client.dsl.TemplateResource;
+import io.kserve.serving.v1alpha1.ServingRuntime;
+import io.kserve.serving.v1alpha1.ServingRuntimeBuilder;
+import io.kserve.serving.v1alpha1.servingruntimespec.VolumesBuilder;
+import io.kserve.serving.v1alpha1.servingruntimespec.containers.VolumeMountsBuilder;
+import io.kserve.serving.v1alpha1.servingruntimespec.volumes.EmptyDirBuilder;
+import io.kserve.serving.v1beta1.InferenceService;
+import io.kserve.serving.v1beta1.InferenceServiceBuilder;
+import io.odh.test.OdhAnnotationsLabels;
+import io.odh.test.OdhConstants;
+import io.odh.test.TestUtils;
+import io.odh.test.platform.KServeGrpcClient;
+import io.odh.test.platform.KServeV2Client;
+import io.odh.test.platform.KServeV2Client.InferInput;
+import io.odh.test.platform.TlsUtils;
+import io.skodjob.testframe.resources.KubeResourceManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+import static io.odh.test.TestUtils.DEFAULT_TIMEOUT_DURATION;
+import static io.odh.test.TestUtils.DEFAULT_TIMEOUT_UNIT;
+
+/**
+ * Shared setup of ServingRuntimes and InferenceServices serving the mnist model and the client side of inference,
+ * used by the model serving tests and benchmarks.
+ */
+@SuppressWarnings({"checkstyle:ClassFanOutComplexity"})
+public class ModelServingUtils {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ModelServingUtils.class);
+
+    public static final String DEPLOYMENT_MODE_ANNOTATION = "serving.kserve.io/deploymentMode";
+    public static final String DEPLOYMENT_MODE_MODELMESH = "ModelMesh";
+    public static final String DEPLOYMENT_MODE_SERVERLESS = "Serverless";
+
+    public static final String MODELMESH_TEMPLATE = "ovms";
+    public static final String KSERVE_TEMPLATE = "kserve-ovms";
+
+    // https://github.com/onnx/models/blob/main/validated/vision/classification/mnist/README.md
+    public static final String MNIST_MODEL_URL = "https://github.com/onnx/models/blob/bec48b6a70e5e9042c0badbaafefe4454e072d08/validated/vision/classification/mnist/model/mnist-8.onnx?raw=true";
+    public static final String MNIST_INPUT_PATH = "modelmesh/modelmesh-mnist-input.json";
+    public static final String MODELMESH_SERVICE = "modelmesh-serving";
+    public static final int MODELMESH_GRPC_PORT = 8033;
+    public static final int MODELMESH_REST_PORT = 8008;
+
+    public static final float[] MNIST_EXPECTED_OUTPUT = {-8.233052f, -7.7497034f, -3.42368f, 12.363029f, -12.079105f, 17.266596f, -10.570976f, 0.71307594f, 3.321714f, 1.362123f};
+    // differences between runtime versions and cpu instruction sets are well below this
+    public static final double MNIST_OUTPUT_TOLERANCE = 1e-4;
+
+    // Secrets with certificates of the OpenShift router and of the Knative ingress gateway
+    private static final String KNATIVE_CERTS_SECRET = "knative-serving-cert";
+
+    private ModelServingUtils() { }
+
+    /**
+     * Data science project for model serving
+     * @param name Namespace name
+     * @param deploymentMode {@link #DEPLOYMENT_MODE_MODELMESH} or {@link #DEPLOYMENT_MODE_SERVERLESS}
+     */
+    public static Namespace getModelServingNamespace(String name, String deploymentMode) {
+        boolean modelMesh = DEPLOYMENT_MODE_MODELMESH.equals(deploymentMode);
+        return new NamespaceBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .addToLabels(OdhAnnotationsLabels.LABEL_DASHBOARD, "true")
+                .addToAnnotations(OdhAnnotationsLabels.ANNO_SERVICE_MESH, String.valueOf(!modelMesh))
+                .addToLabels(OdhAnnotationsLabels.ANNO_MODEL_MESH, String.valueOf(modelMesh))
+                .endMetadata()
+                .build();
+    }
+
+    /**
+     * Secret must exist for ServingRuntime to start, even though it contains no useful information
+     */
+    public static Secret getStorageConfigSecret(String namespace) {
+        return new SecretBuilder()
+                .withNewMetadata()
+                .withName("storage-config") // this name is exactly required
+                .withNamespace(namespace)
+                .endMetadata()
+                .withType("Opaque")
+                .addToStringData("aws-connection-no-such-connection", "{}")
+                .build();
+    }
+
+    /**
+     * OVMS ServingRuntime from the template shipped with the dashboard, with resources and storage it needs to start
+     * @param namespace Namespace name
+     * @param runtimeName name of the ServingRuntime
+     * @param deploymentMode {@link #DEPLOYMENT_MODE_MODELMESH} or {@link #DEPLOYMENT_MODE_SERVERLESS}
+     */
+    public static ServingRuntime getOvmsServingRuntime(String namespace, String runtimeName, String deploymentMode) {
+        boolean modelMesh = DEPLOYMENT_MODE_MODELMESH.equals(deploymentMode);
+        ServingRuntime servingRuntime = processModelServerTemplate(modelMesh ? MODELMESH_TEMPLATE : KSERVE_TEMPLATE);
+        ServingRuntimeBuilder builder = new ServingRuntimeBuilder(servingRuntime)
+                .editMetadata()
+                .withName(runtimeName)
+                .withNamespace(namespace)
+                .addToAnnotations("opendatahub.io/apiProtocol", "REST")
+                .addToAnnotations("opendatahub.io/accelerator-name", "")
+                .addToLabels(OdhAnnotationsLabels.LABEL_DASHBOARD, "true")
+                .endMetadata();
+        if (!modelMesh) {
+            return builder.build();
+        }
+        return builder
+                .editMetadata()
+                .addToAnnotations("enable-route", "true")
+                .endMetadata()
+                .editSpec()
+                .editFirstContainer()
+                // with unspecified resources, one would get
+                //  java.lang.Exception: Reported model capacity -0.125GiB too small relative to advertised default model size of 1MiB
+                .editServingruntimespecResources()
+                .addToLimits("cpu", new IntOrString("2"))
+                .addToLimits("memory", new IntOrString("8Gi"))
+                .addToRequests("cpu", new IntOrString("1"))
+                .addToRequests("memory", new IntOrString("4Gi"))
+                .endServingruntimespecResources()
+                // server would not start without this storage
+                .addToVolumeMounts(new VolumeMountsBuilder().withMountPath("/dev/shm").withName("shm").build())
+                .endServingruntimespecContainer()
+                .addToVolumes(new VolumesBuilder().withName("shm").withEmptyDir(new EmptyDirBuilder().withMedium("Memory").withSizeLimit(new IntOrString("2Gi")).build()).build())
+                .endSpec()
+                .build();
+    }
+
+    /**
+     * InferenceService serving the onnx mnist model
+     * @param namespace Namespace name
+     * @param modelName name of the InferenceService
+     * @param runtimeName name of the ServingRuntime
+     * @param deploymentMode {@link #DEPLOYMENT_MODE_MODELMESH} or {@link #DEPLOYMENT_MODE_SERVERLESS}
+     */
+    public static InferenceService getMnistInferenceService(String namespace, String modelName, String runtimeName, String deploymentMode) {
+        InferenceServiceBuilder builder = new InferenceServiceBuilder()
+                .withNewMetadata()
+                .withName(modelName)
+                .withNamespace(namespace)
+                .addToLabels(OdhAnnotationsLabels.LABEL_DASHBOARD, "true")
+                .addToAnnotations("openshift.io/display-name", modelName)
+                .addToAnnotations(DEPLOYMENT_MODE_ANNOTATION, deploymentMode)
+                .endMetadata()
+                .withNewSpec()
+                .withNewPredictor()
+                .withNewModel()
+                .withNewModelFormat()
+                .withName("onnx")
+                .withVersion("1")
+                .endModelFormat()
+                .withRuntime(runtimeName)
+                .withStorageUri(MNIST_MODEL_URL)
+                .endPredictorModel()
+                .endInferenceservicespecPredictor()
+                .endSpec();
+        if (DEPLOYMENT_MODE_SERVERLESS.equals(deploymentMode)) {
+            builder.editMetadata()
+                    .addToAnnotations("serving.knative.openshift.io/enablePassthrough", "true")
+                    .addToAnnotations(OdhAnnotationsLabels.LABEL_SIDECAR_ISTIO_INJECT, "true")
+                    .addToAnnotations("sidecar.istio.io/rewriteAppHTTPProbers", "true")
+                    .endMetadata();
+        }
+        return builder.build();
+    }
+
+    public static ServingRuntime processModelServerTemplate(String templateName) {
+        TemplateResource templateResource = KubeResourceManager.getKubeClient().getOpenShiftClient().templates()
+                .inNamespace(OdhConstants.CONTROLLERS_NAMESPACE).withName(templateName);
+        Template template = templateResource.get();
+        if (template == null || !template.getParameters().isEmpty()) {
+            throw new IllegalStateException(String.format("Template %s is missing or has parameters", templateName));
+        }
+
+        List<HasMetadata> instances = templateResource.process().getItems();
+        if (instances.size() != 1) {
+            throw new IllegalStateException(String.format("Template %s has %d objects, expected one ServingRuntime", templateName, instances.size()));
+        }
+        return instances.stream().map(it -> {
+            GenericKubernetesResource genericKubernetesResource = (GenericKubernetesResource) it;
+            // WORKAROUND(RHOAIENG-4547) ServingRuntime should not have top level `labels` key
+            genericKubernetesResource.getAdditionalProperties().remove("labels");
+            return castResource(it, ServingRuntime.class);
+        }).findFirst().orElseThrow();
+    }
+
+    /**
+     * @return base url of the model inference endpoint, the v2 protocol paths (e.g. /infer) are appended to it
+     */
+    public static String getInferenceUrl(InferenceService inferenceService) {
+        String namespace = inferenceService.getMetadata().getNamespace();
+        String name = inferenceService.getMetadata().getName();
+        if (DEPLOYMENT_MODE_MODELMESH.equals(inferenceService.getMetadata().getAnnotations().get(DEPLOYMENT_MODE_ANNOTATION))) {
+            Route route = KubeResourceManager.getKubeClient().getOpenShiftClient().routes().inNamespace(namespace).withName(name).get();
+            return "https://" + route.getSpec().getHost() + route.getSpec().getPath();
+        }
+        InferenceService current = KubeResourceManager.getKubeClient().getClient().resources(InferenceService.class)
+                .inNamespace(namespace).withName(name).get();
+        return current.getStatus().getUrl() + "/v2/models/" + name;
+    }
+
+    /**
+     * Http client trusting the OpenShift router and Knative ingress certificates
+     */
+    public static HttpClient getInferenceHttpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .sslContext(getIngressSslContext())
+                .build();
+    }
+
+    public static HttpRequest getMnistInferRequest(String baseUrl) {
+        return getMnistInferRequest(baseUrl, Duration.of(DEFAULT_TIMEOUT_DURATION, DEFAULT_TIMEOUT_UNIT.toChronoUnit()));
+    }
+
+    public static HttpRequest getMnistInferRequest(String baseUrl, Duration timeout) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create("%s/infer".formatted(baseUrl)))
+                // this is the Content-Type header that `curl --data` sets by default
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofInputStream(
+                        () -> ModelServingUtils.class.getClassLoader().getResourceAsStream(MNIST_INPUT_PATH)))
+                .timeout(timeout)
+                .build();
+    }
+
+    /**
+     * @return the mnist request input as a tensor for {@link KServeV2Client} and {@link KServeGrpcClient}
+     */
+    public static InferInput getMnistInput() {
+        try (InputStream is = ModelServingUtils.class.getClassLoader().getResourceAsStream(MNIST_INPUT_PATH)) {
+            JsonNode input = new ObjectMapper().readTree(is).path("inputs").get(0);
+            long[] shape = new long[input.path("shape").size()];
+            for (int i = 0; i < shape.length; i++) {
+                shape[i] = input.path("shape").get(i).asLong();
+            }
+            float[] data = new float[input.path("data").size()];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = input.path("data").get(i).floatValue();
+            }
+            return new InferInput(input.path("name").asText(), shape, data);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't read " + MNIST_INPUT_PATH, e);
+        }
+    }
+
+    /**
+     * Verifier of the single output of the mnist model
+     */
+    public static InferenceOutputVerifier getMnistOutputVerifier() {
+        return new InferenceOutputVerifier(null, MNIST_EXPECTED_OUTPUT, MNIST_OUTPUT_TOLERANCE, MNIST_OUTPUT_TOLERANCE);
+    }
+
+    /**
+     * Sends one mnist inference request, without waiting for the service to become available
+     */
+    public static HttpResponse<byte[]> sendMnistInferRequest(HttpClient httpClient, String baseUrl) {
+        return send(httpClient, getMnistInferRequest(baseUrl));
+    }
+
+    /**
+     * Sends one mnist inference request which may take up to the timeout, e.g. while a scaled to zero model starts
+     */
+    public static HttpResponse<byte[]> sendMnistInferRequest(HttpClient httpClient, String baseUrl, Duration timeout) {
+        return send(httpClient, getMnistInferRequest(baseUrl, timeout));
+    }
+
+    private static HttpResponse<byte[]> send(HttpClient httpClient, HttpRequest request) {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static HttpResponse<byte[]> queryMnistModel(HttpClient httpClient, String baseUrl) {
+        TestUtils.waitForServiceNotUnavailable(httpClient, baseUrl);
+        return sendMnistInferRequest(httpClient, baseUrl);
+    }
+
+    private static <T> T castResource(KubernetesResource value, Class<T> type) {
+        String resourceAsString = Serialization.asJson(value);
+        return Serialization.unmarshal(resourceAsString, type);
+    }
+
+    /**
+     * Trusts the OpenShift router and Knative ingress certificates
+     */
+    public static SSLContext getIngressSslContext() {
+        return TlsUtils.getIngressSSLContext(KubeResourceManager.getKubeClient().getClient().secrets()
+                .inNamespace(OdhConstants.ISTIO_SYSTEM_NAMESPACE).withName(KNATIVE_CERTS_SECRET).get());
+    }
+}
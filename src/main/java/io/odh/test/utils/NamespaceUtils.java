@@ -4,26 +4,93 @@
  */
 package io.odh.test.utils;
 
-import io.odh.test.TestConstants;
+import io.fabric8.kubernetes.api.model.Namespace;
+import io.fabric8.kubernetes.api.model.NamespaceCondition;
+import io.odh.test.framework.kubeclient.RequestPriority;
 import io.skodjob.testframe.resources.KubeResourceManager;
-import io.skodjob.testframe.wait.Wait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public class NamespaceUtils {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NamespaceUtils.class);
     private static final long DELETION_TIMEOUT = Duration.ofMinutes(2).toMillis();
+    private static final long BLOCKERS_REPORT_INTERVAL = Duration.ofSeconds(15).toMillis();
 
     private NamespaceUtils() { }
 
     public static void waitForNamespaceDeletion(String name) {
+        waitForNamespaceDeletion(name, DELETION_TIMEOUT);
+    }
+
+    /**
+     * Waits until the Namespace is gone. Completion is driven by the watch (DELETED event),
+     * while waiting the finalizers and remaining content reported in Namespace status are logged periodically.
+     * @param name Namespace name
+     * @param timeout timeout in milliseconds
+     */
+    public static void waitForNamespaceDeletion(String name, long timeout) {
         LOGGER.info("Waiting for Namespace: {} deletion", name);
 
-        Wait.until("Namespace: " + name, TestConstants.GLOBAL_POLL_INTERVAL_SHORT, DELETION_TIMEOUT,
-            () -> KubeResourceManager.getKubeClient().getClient().namespaces().withName(name).get() == null);
+        CompletableFuture<List<Namespace>> deleted = KubeResourceManager.getKubeClient().getClient().namespaces()
+                .withName(name).informOnCondition(List::isEmpty);
+        long deadline = System.currentTimeMillis() + timeout;
+        try {
+            while (true) {
+                long remaining = Math.max(0, deadline - System.currentTimeMillis());
+                try {
+                    deleted.get(Math.min(remaining, BLOCKERS_REPORT_INTERVAL), TimeUnit.MILLISECONDS);
+                    break;
+                } catch (TimeoutException e) {
+                    RequestPriority.withPriority(RequestPriority.DIAGNOSTIC, () -> logDeletionBlockers(name));
+                    if (System.currentTimeMillis() >= deadline) {
+                        throw new IllegalStateException(String.format("Timeout after %d ms waiting for Namespace: %s deletion", timeout, name), e);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            deleted.cancel(true);
+        }
         LOGGER.info("Namespace: {} was deleted", name);
     }
+
+    /**
+     * Logs finalizers and the status conditions which tell what blocks termination of the Namespace,
+     * e.g. NamespaceContentRemaining or NamespaceFinalizersRemaining.
+     * @param name Namespace name
+     */
+    public static void logDeletionBlockers(String name) {
+        Namespace namespace = KubeResourceManager.getKubeClient().getClient().namespaces().withName(name).get();
+        if (namespace == null) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Namespace: %s is still %s%n", name, namespace.getStatus() != null ? namespace.getStatus().getPhase() : "present"));
+        if (namespace.getSpec() != null && !namespace.getSpec().getFinalizers().isEmpty()) {
+            sb.append(String.format("\tSpec finalizers: %s%n", namespace.getSpec().getFinalizers()));
+        }
+        if (!namespace.getMetadata().getFinalizers().isEmpty()) {
+            sb.append(String.format("\tMetadata finalizers: %s%n", namespace.getMetadata().getFinalizers()));
+        }
+        if (namespace.getStatus() != null) {
+            for (NamespaceCondition condition : namespace.getStatus().getConditions()) {
+                if ("True".equals(condition.getStatus())) {
+                    sb.append(String.format("\t%s (%s): %s%n", condition.getType(), condition.getReason(), condition.getMessage()));
+                }
+            }
+        }
+        LOGGER.warn("{}", sb);
+    }
 }
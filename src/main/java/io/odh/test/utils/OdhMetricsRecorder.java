@@ -0,0 +1,167 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.openshift.api.model.Route;
+import io.odh.test.Environment;
+import io.odh.test.OdhConstants;
+import io.odh.test.install.InstallTypes;
+import io.odh.test.platform.PrometheusClient;
+import io.odh.test.platform.TlsUtils;
+import io.qameta.allure.Allure;
+import io.skodjob.testframe.resources.KubeResourceManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Samples reconcile time, workqueue depth and container CPU/memory of the ODH operator and its components
+ * from Prometheus over a test window. The series are attached to the Allure report as csv and written as json
+ * into LOG_DIR/metrics. Monitoring is an observer of the test, so failed queries are only logged.
+ */
+public class OdhMetricsRecorder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OdhMetricsRecorder.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public static final String PROMETHEUS_ROUTE_NAME = "prometheus";
+    private static final Duration MIN_STEP = Duration.ofSeconds(15);
+    // Prometheus refuses range queries with more than 11000 points per series
+    private static final int MAX_POINTS = 10_000;
+
+    private final PrometheusClient prometheus;
+    private final Map<String, String> queries;
+    private Instant start;
+
+    public OdhMetricsRecorder(PrometheusClient prometheus, Map<String, String> queries) {
+        this.prometheus = prometheus;
+        this.queries = queries;
+    }
+
+    /**
+     * Recorder of the default queries for the operator and controllers namespaces, with Prometheus
+     * from {@link Environment#PROMETHEUS_URL} or the route in {@link OdhConstants#MONITORING_NAMESPACE}
+     */
+    public static OdhMetricsRecorder create() {
+        return new OdhMetricsRecorder(getPrometheusClient(), getDefaultQueries(getOperatorNamespace(), OdhConstants.CONTROLLERS_NAMESPACE));
+    }
+
+    public static PrometheusClient getPrometheusClient() {
+        String url = Environment.PROMETHEUS_URL;
+        if (url == null) {
+            Route route = KubeResourceManager.getKubeClient().getOpenShiftClient().routes()
+                    .inNamespace(OdhConstants.MONITORING_NAMESPACE).withName(PROMETHEUS_ROUTE_NAME).get();
+            if (route == null) {
+                throw new IllegalStateException("Route %s/%s not found, is monitoring enabled in DSCI?".formatted(
+                        OdhConstants.MONITORING_NAMESPACE, PROMETHEUS_ROUTE_NAME));
+            }
+            url = "https://" + route.getSpec().getHost();
+        }
+        Config config = KubeResourceManager.getKubeClient().getClient().getConfiguration();
+        String token = config.getOauthToken() != null ? config.getOauthToken() : config.getAutoOAuthToken();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .sslContext(TlsUtils.getIngressSSLContext())
+                .build();
+        return new PrometheusClient(httpClient, url, token);
+    }
+
+    public static String getOperatorNamespace() {
+        return Environment.OPERATOR_INSTALL_TYPE.equalsIgnoreCase(InstallTypes.OLM.toString())
+                ? OdhConstants.OLM_OPERATOR_NAMESPACE : OdhConstants.BUNDLE_OPERATOR_NAMESPACE;
+    }
+
+    /**
+     * @return PromQL queries by name, restricted to pods in the given namespaces
+     */
+    public static Map<String, String> getDefaultQueries(String... namespaces) {
+        String selector = "namespace=~\"%s\"".formatted(String.join("|", namespaces));
+        Map<String, String> queries = new LinkedHashMap<>();
+        queries.put("reconcile-time-seconds", ("sum by (controller) (rate(controller_runtime_reconcile_time_seconds_sum{%1$s}[1m]))"
+                + " / sum by (controller) (rate(controller_runtime_reconcile_time_seconds_count{%1$s}[1m]))").formatted(selector));
+        queries.put("workqueue-depth", "sum by (name) (workqueue_depth{%s})".formatted(selector));
+        queries.put("cpu-cores", "sum by (namespace, pod) (rate(container_cpu_usage_seconds_total{%s,container!=\"\"}[1m]))".formatted(selector));
+        queries.put("memory-bytes", "sum by (namespace, pod) (container_memory_working_set_bytes{%s,container!=\"\"})".formatted(selector));
+        return queries;
+    }
+
+    public void start() {
+        start = Instant.now();
+    }
+
+    /**
+     * Queries the window since {@link #start()} and attaches the series to Allure
+     * @return series by query name, queries which failed are missing
+     */
+    public Map<String, List<PrometheusClient.Series>> stop(String name) {
+        if (start == null) {
+            throw new IllegalStateException("Metrics recorder was not started");
+        }
+        Instant end = Instant.now();
+        Duration step = getStep(start, end);
+        Map<String, List<PrometheusClient.Series>> result = new LinkedHashMap<>();
+        for (Map.Entry<String, String> query : queries.entrySet()) {
+            try {
+                List<PrometheusClient.Series> series = prometheus.queryRange(query.getValue(), start, end, step);
+                result.put(query.getKey(), series);
+                Allure.addAttachment("%s-%s.csv".formatted(name, query.getKey()), "text/csv", toCsv(series));
+            } catch (IOException | IllegalStateException e) {
+                LOGGER.warn("Metrics {} can't be queried: {}", query.getKey(), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        write(name, result);
+        start = null;
+        return result;
+    }
+
+    static Duration getStep(Instant start, Instant end) {
+        Duration step = Duration.between(start, end).dividedBy(MAX_POINTS);
+        return step.compareTo(MIN_STEP) < 0 ? MIN_STEP : step;
+    }
+
+    /**
+     * Long format table with one row per sample, which plotting tools can pivot by series
+     */
+    public static String toCsv(List<PrometheusClient.Series> series) {
+        StringBuilder sb = new StringBuilder("time,series,value\n");
+        for (PrometheusClient.Series s : series) {
+            String label = "\"" + s.labelString().replace("\"", "\"\"") + "\"";
+            for (PrometheusClient.Sample sample : s.samples()) {
+                sb.append(sample.time()).append(',').append(label).append(',').append(sample.value()).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void write(String name, Map<String, List<PrometheusClient.Series>> result) {
+        try {
+            Path dir = Environment.LOG_DIR.resolve("metrics");
+            Files.createDirectories(dir);
+            // same layout as Prometheus matrix results, samples are [unix time in seconds, value]
+            Map<String, List<Map<String, Object>>> json = new LinkedHashMap<>();
+            result.forEach((query, series) -> json.put(query, series.stream()
+                    .map(s -> Map.<String, Object>of("metric", s.labels(), "values", s.samples().stream()
+                            .map(sample -> List.of(sample.time().toEpochMilli() / 1000d, sample.value())).toList()))
+                    .toList()));
+            Files.writeString(dir.resolve(name + ".json"), MAPPER.writeValueAsString(json));
+        } catch (IOException e) {
+            LOGGER.warn("Metrics {} can't be saved: {}", name, e.getMessage());
+        }
+    }
+}
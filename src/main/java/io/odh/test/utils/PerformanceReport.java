@@ -0,0 +1,169 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.odh.test.Environment;
+import io.qameta.allure.Allure;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Table of latency distributions produced by a performance test. It is logged, attached to the Allure report
+ * and written as json and csv into the log directory, so results of different runs can be compared and plotted.
+ */
+public class PerformanceReport {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PerformanceReport.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final String name;
+    private final Map<String, LatencyStats> stats = new LinkedHashMap<>();
+    private final Map<String, Object> parameters = new LinkedHashMap<>();
+
+    public PerformanceReport(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return stats with given name, created when they don't exist yet
+     */
+    public synchronized LatencyStats getStats(String statsName) {
+        return stats.computeIfAbsent(statsName, LatencyStats::new);
+    }
+
+    /**
+     * Adds a parameter of the test run (e.g. deployment mode, number of iterations) to the exported report
+     */
+    public synchronized PerformanceReport withParameter(String key, Object value) {
+        parameters.put(key, value);
+        return this;
+    }
+
+    public synchronized String render() {
+        StringBuilder sb = new StringBuilder(String.format("%s %s (ms)%n", name, parameters));
+        sb.append(LatencyStats.header());
+        stats.values().forEach(s -> sb.append(s.render()));
+        return sb.toString();
+    }
+
+    public synchronized Map<String, Object> toMap() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (LatencyStats s : stats.values()) {
+            rows.add(statsRow(s));
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("name", name);
+        report.put("parameters", parameters);
+        report.put("unit", "ms");
+        report.put("stats", rows);
+        return report;
+    }
+
+    /**
+     * @return one flat row per stats, prefixed with the parameters, as written into the csv file
+     */
+    public synchronized List<Map<String, Object>> toRows() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (LatencyStats s : stats.values()) {
+            Map<String, Object> row = new LinkedHashMap<>(parameters);
+            row.putAll(statsRow(s));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static Map<String, Object> statsRow(LatencyStats s) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("name", s.getName());
+        row.put("count", s.getCount());
+        row.put("min", s.getMin());
+        row.put("p50", s.getPercentile(50));
+        row.put("p90", s.getPercentile(90));
+        row.put("p99", s.getPercentile(99));
+        row.put("max", s.getMax());
+        row.put("mean", s.getMean());
+        return row;
+    }
+
+    /**
+     * Rows of all reports in csv, columns are the union of parameters and stats fields in order of appearance
+     */
+    public static String toCsv(List<PerformanceReport> reports) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        reports.forEach(r -> rows.addAll(r.toRows()));
+        Set<String> columns = new LinkedHashSet<>();
+        rows.forEach(row -> columns.addAll(row.keySet()));
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(columns.stream().map(PerformanceReport::csvValue).collect(Collectors.joining(","))).append('\n');
+        for (Map<String, Object> row : rows) {
+            sb.append(columns.stream().map(c -> csvValue(row.get(c))).collect(Collectors.joining(","))).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = String.valueOf(value);
+        if (text.contains(",") || text.contains("\"") || text.contains("\n")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
+    /**
+     * Logs the report, attaches it to Allure and writes it as json and csv into LOG_DIR/performance
+     * @return path of the written json file, null when it can't be written
+     */
+    public Path export() {
+        String report = render();
+        LOGGER.info("{}", report);
+        Allure.addAttachment(name, "text/plain", report);
+        return write(name, toMap(), List.of(this));
+    }
+
+    /**
+     * Exports results of a sweep, one report per point, as a json array and a single csv table for plotting
+     * @return path of the written json file, null when it can't be written
+     */
+    public static Path exportAll(String name, List<PerformanceReport> reports) {
+        reports.forEach(r -> LOGGER.info("{}", r.render()));
+        Allure.addAttachment(name, "text/plain", reports.stream().map(PerformanceReport::render).collect(Collectors.joining("\n")));
+        return write(name, reports.stream().map(PerformanceReport::toMap).toList(), reports);
+    }
+
+    private static Path write(String name, Object jsonValue, List<PerformanceReport> reports) {
+        try {
+            String json = MAPPER.writeValueAsString(jsonValue);
+            String csv = toCsv(reports);
+            Allure.addAttachment(name + ".json", "application/json", json);
+            Allure.addAttachment(name + ".csv", "text/csv", csv);
+            Path dir = Environment.LOG_DIR.resolve("performance");
+            Files.createDirectories(dir);
+            Path file = dir.resolve(name + ".json");
+            Files.writeString(file, json);
+            Files.writeString(dir.resolve(name + ".csv"), csv);
+            return file;
+        } catch (IOException e) {
+            LOGGER.warn("Performance report {} can't be saved: {}", name, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.utils;
+
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.metrics.v1beta1.ContainerMetrics;
+import io.fabric8.kubernetes.api.model.metrics.v1beta1.PodMetrics;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.odh.test.OdhConstants;
+import io.skodjob.testframe.resources.KubeResourceManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads CPU and memory of the ODH operator and of the workloads in {@link OdhConstants#CONTROLLERS_NAMESPACE}
+ * from the metrics API at a fixed cadence. Usage of all pods of one deployment is summed into one sample,
+ * so restarted pods continue the same series, and samples are kept in a fixed size {@link Ring} per deployment.
+ */
+public class ResourceUsageSampler implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResourceUsageSampler.class);
+
+    public static final String OPERATOR = "operator";
+    static final int CAPACITY = 2048;
+    // <deployment>-<replicaset hash>-<pod suffix>
+    private static final Pattern DEPLOYMENT_POD = Pattern.compile("^(.+)-[a-z0-9]{6,10}-[a-z0-9]{5}$");
+    private static final BigDecimal NANO = BigDecimal.valueOf(1_000_000_000L);
+
+    private final Map<String, Ring> rings = new LinkedHashMap<>();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "resource-usage-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final long startMillis = System.currentTimeMillis();
+    private String operatorNamespace;
+    private Map<String, String> operatorSelector;
+
+    /**
+     * Starts sampling right away in the background
+     */
+    public ResourceUsageSampler(Duration interval) {
+        executor.scheduleAtFixedRate(this::sample, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops sampling
+     * @return collected samples by deployment, the operator is under {@link #OPERATOR}
+     */
+    public synchronized Map<String, Ring> stop() {
+        executor.shutdownNow();
+        return new LinkedHashMap<>(rings);
+    }
+
+    /**
+     * @return samples of the deployment collected so far, null when there are none
+     */
+    public synchronized Ring getRing(String name) {
+        return rings.get(name);
+    }
+
+    /**
+     * @return time since the sampling started, samples are timed on the same scale
+     */
+    public long getElapsedMillis() {
+        return System.currentTimeMillis() - startMillis;
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    private void sample() {
+        try {
+            KubernetesClient client = KubeResourceManager.getKubeClient().getClient();
+            long now = System.currentTimeMillis() - startMillis;
+            Map<String, long[]> usage = new LinkedHashMap<>();
+            Map<String, String> selector = getOperatorSelector();
+            if (selector != null) {
+                client.top().pods().inNamespace(operatorNamespace).withLabels(selector).metrics().getItems()
+                        .forEach(pod -> add(usage, OPERATOR, pod));
+            }
+            client.top().pods().metrics(OdhConstants.CONTROLLERS_NAMESPACE).getItems()
+                    .forEach(pod -> add(usage, getDeploymentName(pod.getMetadata().getName()), pod));
+            synchronized (this) {
+                usage.forEach((name, u) -> rings.computeIfAbsent(name, n -> new Ring(CAPACITY)).add(now, u[0], u[1]));
+            }
+        } catch (KubernetesClientException e) {
+            // metrics of pods which are just starting are not available yet, the next tick will get them
+            LOGGER.debug("Resource usage can't be sampled: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            LOGGER.warn("Resource usage sampling failed", e);
+        }
+    }
+
+    /**
+     * The operator is installed by the test class, so its deployment is looked up until it exists
+     */
+    private Map<String, String> getOperatorSelector() {
+        if (operatorSelector == null) {
+            Deployment deployment = DeploymentUtils.getOperatorDeployment();
+            if (deployment != null) {
+                operatorNamespace = deployment.getMetadata().getNamespace();
+                operatorSelector = deployment.getSpec().getSelector().getMatchLabels();
+            }
+        }
+        return operatorSelector;
+    }
+
+    private static void add(Map<String, long[]> usage, String name, PodMetrics pod) {
+        long[] sum = usage.computeIfAbsent(name, n -> new long[2]);
+        for (ContainerMetrics container : pod.getContainers()) {
+            Quantity cpu = container.getUsage().get("cpu");
+            Quantity memory = container.getUsage().get("memory");
+            if (cpu != null) {
+                sum[0] += Quantity.getAmountInBytes(cpu).multiply(NANO).longValue();
+            }
+            if (memory != null) {
+                sum[1] += Quantity.getAmountInBytes(memory).longValue();
+            }
+        }
+    }
+
+    public static String getDeploymentName(String podName) {
+        Matcher m = DEPLOYMENT_POD.matcher(podName);
+        return m.matches() ? m.group(1) : podName;
+    }
+
+    /**
+     * Fixed size buffer of (time, cpu, memory) samples in primitive arrays, the oldest sample is overwritten when it is full
+     */
+    public static class Ring {
+        private final long[] millis;
+        private final long[] cpuNanocores;
+        private final long[] memoryBytes;
+        private int next;
+        private int size;
+
+        public Ring(int capacity) {
+            millis = new long[capacity];
+            cpuNanocores = new long[capacity];
+            memoryBytes = new long[capacity];
+        }
+
+        public synchronized void add(long timeMillis, long cpu, long memory) {
+            millis[next] = timeMillis;
+            cpuNanocores[next] = cpu;
+            memoryBytes[next] = memory;
+            next = (next + 1) % millis.length;
+            size = Math.min(size + 1, millis.length);
+        }
+
+        public synchronized int size() {
+            return size;
+        }
+
+        /**
+         * @return memory of the newest sample, 0 when the ring is empty
+         */
+        public synchronized long getLastMemoryBytes() {
+            return size == 0 ? 0 : memoryBytes[(next - 1 + millis.length) % millis.length];
+        }
+
+        public Summary summarize() {
+            return summarize(Long.MIN_VALUE);
+        }
+
+        /**
+         * @param fromMillis samples taken before this time are left out
+         */
+        public synchronized Summary summarize(long fromMillis) {
+            int first = (next - size + millis.length) % millis.length;
+            int size = this.size;
+            while (size > 0 && millis[first] < fromMillis) {
+                first = (first + 1) % millis.length;
+                size--;
+            }
+            long peakCpu = 0;
+            long peakMemory = 0;
+            double sumCpu = 0;
+            double sumMemory = 0;
+            double sumT = 0;
+            double sumTT = 0;
+            double sumTM = 0;
+            for (int i = 0; i < size; i++) {
+                int idx = (first + i) % millis.length;
+                peakCpu = Math.max(peakCpu, cpuNanocores[idx]);
+                peakMemory = Math.max(peakMemory, memoryBytes[idx]);
+                sumCpu += cpuNanocores[idx];
+                sumMemory += memoryBytes[idx];
+                double hours = (millis[idx] - millis[first]) / 3_600_000d;
+                sumT += hours;
+                sumTT += hours * hours;
+                sumTM += hours * memoryBytes[idx];
+            }
+            // least squares slope of memory over time
+            double denominator = size * sumTT - sumT * sumT;
+            double slope = size < 2 || denominator == 0 ? 0 : (size * sumTM - sumT * sumMemory) / denominator;
+            long duration = size == 0 ? 0 : millis[(next - 1 + millis.length) % millis.length] - millis[first];
+            return new Summary(size, Duration.ofMillis(duration),
+                    peakCpu / 1_000_000d, size == 0 ? 0 : sumCpu / size / 1_000_000d,
+                    toMebibytes(peakMemory), size == 0 ? 0 : toMebibytes(sumMemory / size), toMebibytes(slope));
+        }
+
+        private static double toMebibytes(double bytes) {
+            return bytes / (1024 * 1024);
+        }
+    }
+
+    /**
+     * @param memoryLeakMiBPerHour slope of memory usage over the sampled window, positive when it grows
+     */
+    public record Summary(int samples, Duration duration, double peakCpuMillicores, double avgCpuMillicores,
+                          double peakMemoryMiB, double avgMemoryMiB, double memoryLeakMiBPerHour) {
+
+        public static String header() {
+            return String.format("%-40s %8s %10s %10s %10s %10s %12s%n", "deployment", "samples", "cpu peak", "cpu avg", "mem peak", "mem avg", "leak MiB/h");
+        }
+
+        public String render(String name) {
+            return String.format("%-40s %8d %10.1f %10.1f %10.1f %10.1f %12.2f%n", name, samples,
+                    peakCpuMillicores, avgCpuMillicores, peakMemoryMiB, avgMemoryMiB, memoryLeakMiBPerHour);
+        }
+
+        /**
+         * Limits which are 0 are not checked. The leak slope is only checked when the samples cover at least
+         * {@code minLeakWindow}, shorter windows are dominated by start-up allocations and garbage collection.
+         * @return descriptions of exceeded limits, empty when all are met
+         */
+        public List<String> check(String name, double maxPeakMemoryMiB, double maxAvgCpuMillicores,
+                                  double maxLeakMiBPerHour, Duration minLeakWindow) {
+            List<String> violations = new ArrayList<>();
+            if (maxPeakMemoryMiB > 0 && peakMemoryMiB > maxPeakMemoryMiB) {
+                violations.add(String.format("%s peak memory %.1f MiB exceeds %.1f MiB", name, peakMemoryMiB, maxPeakMemoryMiB));
+            }
+            if (maxAvgCpuMillicores > 0 && avgCpuMillicores > maxAvgCpuMillicores) {
+                violations.add(String.format("%s average cpu %.1fm exceeds %.1fm", name, avgCpuMillicores, maxAvgCpuMillicores));
+            }
+            if (maxLeakMiBPerHour > 0 && duration.compareTo(minLeakWindow) >= 0 && memoryLeakMiBPerHour > maxLeakMiBPerHour) {
+                violations.add(String.format("%s memory grows by %.2f MiB/h, more than %.2f MiB/h", name, memoryLeakMiBPerHour, maxLeakMiBPerHour));
+            }
+            return violations;
+        }
+    }
+}
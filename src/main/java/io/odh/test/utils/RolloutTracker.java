@@ -0,0 +1,277 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.utils;
+
+import io.fabric8.kubernetes.api.model.LabelSelector;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentStatus;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.readiness.Readiness;
+import io.skodjob.testframe.resources.KubeResourceManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Watches a Deployment and the Pods matched by its selector during a rolling update.
+ * The rollout is complete once the controller observed the latest generation, all replicas are updated and available
+ * and none of the Pods which existed when the tracker was started are left.
+ * Every Pod gets a timeline with the moment it was seen, became ready, started terminating and was deleted.
+ */
+public class RolloutTracker implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RolloutTracker.class);
+
+    private final String namespaceName;
+    private final String deploymentName;
+    private final Set<String> oldPods;
+    private final Instant started = Instant.now();
+    private final Map<String, PodTimeline> timelines = new ConcurrentHashMap<>();
+    private final CompletableFuture<Instant> rolled = new CompletableFuture<>();
+    private final SharedIndexInformer<Deployment> deploymentInformer;
+    private final SharedIndexInformer<Pod> podInformer;
+
+    private RolloutTracker(String namespaceName, String deploymentName, Collection<String> oldPods) {
+        this.namespaceName = namespaceName;
+        this.deploymentName = deploymentName;
+        this.oldPods = Set.copyOf(oldPods);
+
+        KubernetesClient client = KubeResourceManager.getKubeClient().getClient();
+        LabelSelector selector = client.apps().deployments().inNamespace(namespaceName).withName(deploymentName).get()
+                .getSpec().getSelector();
+
+        this.podInformer = client.pods().inNamespace(namespaceName).withLabelSelector(selector).inform(new PodHandler());
+        this.deploymentInformer = client.apps().deployments().inNamespace(namespaceName).withName(deploymentName)
+                .inform(new DeploymentHandler());
+    }
+
+    /**
+     * Starts tracking of the Deployment, Pods which currently belong to it are expected to be replaced.
+     * Should be called before the update is triggered, so the whole rollout is captured.
+     * @param namespaceName Namespace name
+     * @param deploymentName Deployment name
+     * @return started tracker
+     */
+    public static RolloutTracker start(String namespaceName, String deploymentName) {
+        return start(namespaceName, deploymentName, DeploymentUtils.depSnapshot(namespaceName, deploymentName).keySet());
+    }
+
+    /**
+     * Starts tracking of the Deployment
+     * @param namespaceName Namespace name
+     * @param deploymentName Deployment name
+     * @param oldPods names of the Pods which are expected to be replaced
+     * @return started tracker
+     */
+    public static RolloutTracker start(String namespaceName, String deploymentName, Collection<String> oldPods) {
+        LOGGER.debug("Tracking rollout of Deployment: {}/{}, Pods to be replaced: {}", namespaceName, deploymentName, oldPods);
+        return new RolloutTracker(namespaceName, deploymentName, oldPods);
+    }
+
+    public String getNamespaceName() {
+        return namespaceName;
+    }
+
+    public String getDeploymentName() {
+        return deploymentName;
+    }
+
+    public Set<String> getOldPods() {
+        return oldPods;
+    }
+
+    public boolean isRolled() {
+        return rolled.isDone();
+    }
+
+    /**
+     * Blocks until the rollout is finished
+     * @param timeout timeout in milliseconds
+     * @return time when the rollout finished
+     */
+    public Instant waitForRollout(long timeout) {
+        // The informers could have synced before the handlers were able to see the final state
+        checkRolled();
+        try {
+            return rolled.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            LOGGER.error("Rolling update of Deployment {}/{} did not finish in {} ms\n{}", namespaceName, deploymentName, timeout, renderTimeline());
+            throw new IllegalStateException(String.format("Timeout after %d ms waiting for rolling update of Deployment %s/%s",
+                    timeout, namespaceName, deploymentName), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private synchronized void checkRolled() {
+        if (rolled.isDone() || deploymentInformer == null || podInformer == null) {
+            // Handlers can be called before both informers are started
+            return;
+        }
+        Deployment deployment = deploymentInformer.getStore().getByKey(namespaceName + "/" + deploymentName);
+        if (deployment == null || deployment.getStatus() == null) {
+            return;
+        }
+        DeploymentStatus status = deployment.getStatus();
+        int desired = Objects.requireNonNullElse(deployment.getSpec().getReplicas(), 1);
+        boolean generationObserved = status.getObservedGeneration() != null
+                && status.getObservedGeneration() >= deployment.getMetadata().getGeneration();
+        boolean replicasUpdated = Objects.equals(status.getUpdatedReplicas(), desired)
+                && Objects.equals(status.getReplicas(), desired)
+                && Objects.equals(status.getAvailableReplicas(), desired);
+        boolean oldPodsGone = podInformer.getStore().list().stream()
+                .noneMatch(pod -> oldPods.contains(pod.getMetadata().getName()));
+
+        if (generationObserved && replicasUpdated && oldPodsGone) {
+            Instant now = Instant.now();
+            LOGGER.debug("Deployment {}/{} rolled in {} ms", namespaceName, deploymentName, Duration.between(started, now).toMillis());
+            rolled.complete(now);
+        }
+    }
+
+    private PodTimeline timeline(Pod pod) {
+        return timelines.computeIfAbsent(pod.getMetadata().getName(),
+                podName -> new PodTimeline(podName, oldPods.contains(podName), Instant.now()));
+    }
+
+    private void recordPod(Pod pod) {
+        PodTimeline timeline = timeline(pod);
+        Instant now = Instant.now();
+        if (timeline.ready == null && Readiness.isPodReady(pod)) {
+            timeline.ready = now;
+        }
+        if (timeline.terminating == null && pod.getMetadata().getDeletionTimestamp() != null) {
+            timeline.terminating = now;
+        }
+    }
+
+    /**
+     * Renders the per-Pod rollout timeline, times are relative to the start of the tracker
+     * @return human-readable timeline
+     */
+    public String renderTimeline() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Rollout of Deployment %s/%s started at %s, finished at %s%n", namespaceName, deploymentName,
+                started, rolled.getNow(null)));
+        sb.append(String.format("%-64s %4s %12s %12s %15s %12s%n", "pod", "old", "seen[ms]", "ready[ms]", "terminating[ms]", "deleted[ms]"));
+        for (PodTimeline timeline : timelines.values().stream().sorted(Comparator.comparing(PodTimeline::getSeen)).toList()) {
+            sb.append(String.format("%-64s %4s %12s %12s %15s %12s%n", timeline.podName, timeline.old ? "yes" : "no",
+                    relative(timeline.seen), relative(timeline.ready), relative(timeline.terminating), relative(timeline.deleted)));
+        }
+        return sb.toString();
+    }
+
+    public Map<String, PodTimeline> getTimelines() {
+        return Map.copyOf(timelines);
+    }
+
+    private String relative(Instant instant) {
+        return instant == null ? "-" : String.valueOf(Duration.between(started, instant).toMillis());
+    }
+
+    @Override
+    public void close() {
+        deploymentInformer.stop();
+        podInformer.stop();
+    }
+
+    public static class PodTimeline {
+        private final String podName;
+        private final boolean old;
+        private final Instant seen;
+        private volatile Instant ready;
+        private volatile Instant terminating;
+        private volatile Instant deleted;
+
+        PodTimeline(String podName, boolean old, Instant seen) {
+            this.podName = podName;
+            this.old = old;
+            this.seen = seen;
+        }
+
+        public String getPodName() {
+            return podName;
+        }
+
+        public boolean isOld() {
+            return old;
+        }
+
+        public Instant getSeen() {
+            return seen;
+        }
+
+        public Instant getReady() {
+            return ready;
+        }
+
+        public Instant getTerminating() {
+            return terminating;
+        }
+
+        public Instant getDeleted() {
+            return deleted;
+        }
+    }
+
+    private class PodHandler implements ResourceEventHandler<Pod> {
+        @Override
+        public void onAdd(Pod pod) {
+            recordPod(pod);
+            checkRolled();
+        }
+
+        @Override
+        public void onUpdate(Pod oldPod, Pod newPod) {
+            recordPod(newPod);
+            checkRolled();
+        }
+
+        @Override
+        public void onDelete(Pod pod, boolean deletedFinalStateUnknown) {
+            PodTimeline timeline = timeline(pod);
+            timeline.deleted = Instant.now();
+            if (timeline.terminating == null) {
+                timeline.terminating = timeline.deleted;
+            }
+            checkRolled();
+        }
+    }
+
+    private class DeploymentHandler implements ResourceEventHandler<Deployment> {
+        @Override
+        public void onAdd(Deployment deployment) {
+            checkRolled();
+        }
+
+        @Override
+        public void onUpdate(Deployment oldDeployment, Deployment newDeployment) {
+            checkRolled();
+        }
+
+        @Override
+        public void onDelete(Deployment deployment, boolean deletedFinalStateUnknown) {
+            LOGGER.warn("Deployment {}/{} was deleted during the rollout", namespaceName, deploymentName);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.utils;
+
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.dsl.Informable;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.odh.test.TestConstants;
+import io.skodjob.testframe.resources.KubeResourceManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Batch teardown of resources. Resources are grouped by apiVersion, kind and namespace, deleted concurrently
+ * and the deletion of each group is awaited by a single informer instead of polling every resource.
+ */
+public class TeardownUtils {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TeardownUtils.class);
+    private static final long DELETION_TIMEOUT = TestConstants.GLOBAL_TIMEOUT;
+    private static final int DELETE_PARALLELISM = 8;
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(DELETE_PARALLELISM, r -> {
+        Thread t = new Thread(r, "teardown");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private TeardownUtils() { }
+
+    private record Group(String apiVersion, String kind, String namespace) {
+        @Override
+        public String toString() {
+            return kind + (namespace != null ? " in " + namespace : "");
+        }
+    }
+
+    public static boolean deleteAndWait(Collection<? extends HasMetadata> resources) {
+        return deleteAndWait(resources, DELETION_TIMEOUT);
+    }
+
+    /**
+     * Deletes all given resources concurrently and waits until all of them are gone.
+     * Timeout is not treated as a failure of the teardown, resources which are still present are only logged.
+     * @param resources resources to delete
+     * @param timeout timeout in milliseconds
+     * @return true if all resources were deleted in time
+     */
+    public static boolean deleteAndWait(Collection<? extends HasMetadata> resources, long timeout) {
+        if (resources.isEmpty()) {
+            return true;
+        }
+        KubernetesClient client = KubeResourceManager.getKubeClient().getClient();
+        Map<Group, List<HasMetadata>> groups = resources.stream().map(HasMetadata.class::cast).collect(Collectors.groupingBy(
+                r -> new Group(r.getApiVersion(), r.getKind(), r.getMetadata().getNamespace()), LinkedHashMap::new, Collectors.toList()));
+
+        // Informers are synced before the deletion starts, so a quickly deleted resource can't be missed
+        Map<Group, CompletableFuture<?>> gone = new LinkedHashMap<>();
+        groups.forEach((group, items) -> {
+            Set<String> names = items.stream().map(r -> r.getMetadata().getName()).collect(Collectors.toSet());
+            gone.put(group, informUntil(informable(client, items.get(0), group.namespace()),
+                    list -> list.stream().noneMatch(r -> names.contains(r.getMetadata().getName()))));
+        });
+
+        List<CompletableFuture<Void>> deletes = new ArrayList<>();
+        groups.values().forEach(items -> items.forEach(r -> deletes.add(CompletableFuture.runAsync(() -> delete(client, r), EXECUTOR))));
+        LOGGER.info("Deleting {} resources in {} groups: {}", resources.size(), groups.size(), groups.keySet());
+
+        try {
+            CompletableFuture.allOf(deletes.toArray(new CompletableFuture[0])).join();
+            return await(gone, timeout);
+        } finally {
+            gone.values().forEach(f -> f.cancel(true));
+        }
+    }
+
+    /**
+     * Deletes all resources of given kind matching the labels by a single DELETE collection call and waits until they are gone.
+     * @param apiVersion apiVersion of the resources
+     * @param kind kind of the resources
+     * @param namespace namespace, null for cluster scoped resources or for all namespaces
+     * @param labels labels of resources to delete, a null value selects the resources which have the label with any value
+     * @param timeout timeout in milliseconds
+     * @return true if all resources were deleted in time
+     */
+    public static boolean deleteCollectionAndWait(String apiVersion, String kind, String namespace, Map<String, String> labels, long timeout) {
+        KubernetesClient client = KubeResourceManager.getKubeClient().getClient();
+        MixedOperation<GenericKubernetesResource, ?, ?> op = client.genericKubernetesResources(apiVersion, kind);
+        Group group = new Group(apiVersion, kind, namespace);
+
+        CompletableFuture<?> gone = namespace == null
+                ? informUntil(op.withLabels(labels), List::isEmpty)
+                : informUntil(op.inNamespace(namespace).withLabels(labels), List::isEmpty);
+        try {
+            LOGGER.info("Deleting collection of {} with labels {}", group, labels);
+            if (namespace == null) {
+                op.withLabels(labels).delete();
+            } else {
+                op.inNamespace(namespace).withLabels(labels).delete();
+            }
+            return await(Map.of(group, gone), timeout);
+        } finally {
+            gone.cancel(true);
+        }
+    }
+
+    private static void delete(KubernetesClient client, HasMetadata resource) {
+        try {
+            LOGGER.debug("Deleting {} {}/{}", resource.getKind(), resource.getMetadata().getNamespace(), resource.getMetadata().getName());
+            client.resource(resource).delete();
+        } catch (KubernetesClientException e) {
+            if (e.getCode() != 404) {
+                LOGGER.warn("Failed to delete {} {}: {}", resource.getKind(), resource.getMetadata().getName(), e.getMessage());
+            }
+        }
+    }
+
+    private static boolean await(Map<Group, CompletableFuture<?>> gone, long timeout) {
+        try {
+            CompletableFuture.allOf(gone.values().toArray(new CompletableFuture[0])).get(timeout, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            List<Group> remaining = gone.entrySet().stream().filter(entry -> !entry.getValue().isDone()).map(Map.Entry::getKey).toList();
+            LOGGER.warn("Resources were not deleted in {} ms: {}", timeout, remaining);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Informable<? extends HasMetadata> informable(KubernetesClient client, HasMetadata sample, String namespace) {
+        if (sample instanceof GenericKubernetesResource) {
+            MixedOperation<GenericKubernetesResource, ?, ?> op = client.genericKubernetesResources(sample.getApiVersion(), sample.getKind());
+            return namespace == null ? op : op.inNamespace(namespace);
+        }
+        MixedOperation<HasMetadata, ?, ?> op = client.resources((Class<HasMetadata>) sample.getClass());
+        return namespace == null ? op : op.inNamespace(namespace);
+    }
+
+    /**
+     * Unlike {@link Informable#informOnCondition(Predicate)} this returns only after the informer is synced.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends HasMetadata> CompletableFuture<Void> informUntil(Informable<T> informable, Predicate<List<HasMetadata>> condition) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        SharedIndexInformer<T> informer = informable.inform();
+        Runnable check = () -> {
+            if (condition.test((List<HasMetadata>) informer.getStore().list())) {
+                future.complete(null);
+            }
+        };
+        informer.addEventHandler(new ResourceEventHandler<T>() {
+            @Override
+            public void onAdd(T obj) {
+                check.run();
+            }
+
+            @Override
+            public void onUpdate(T oldObj, T newObj) {
+                check.run();
+            }
+
+            @Override
+            public void onDelete(T obj, boolean deletedFinalStateUnknown) {
+                check.run();
+            }
+        });
+        // Nothing might be left already, in such case there won't be any event
+        check.run();
+        future.whenComplete((v, t) -> informer.stop());
+        return future;
+    }
+}
@@ -6,6 +6,8 @@ package io.odh.test.e2e;
 
 import io.odh.test.Environment;
 import io.odh.test.TestConstants;
+import io.odh.test.framework.listeners.ApiRequestAccountingListener;
+import io.odh.test.framework.listeners.DscReconcileListener;
 import io.odh.test.framework.listeners.TestExceptionCallbackListener;
 import io.odh.test.framework.manager.requirements.AuthorinoOperator;
 import io.odh.test.framework.manager.requirements.PipelinesOperator;
@@ -15,6 +17,9 @@ import io.odh.test.framework.manager.resources.DataScienceClusterType;
 import io.odh.test.framework.manager.resources.DataScienceInitializationType;
 import io.odh.test.framework.manager.resources.InferenceServiceType;
 import io.odh.test.framework.manager.resources.NotebookType;
+import io.odh.test.install.BundleInstall;
+import io.odh.test.install.InstallTypes;
+import io.odh.test.install.OlmInstall;
 import io.skodjob.testframe.annotations.ResourceManager;
 import io.skodjob.testframe.annotations.TestVisualSeparator;
 import io.skodjob.testframe.resources.KubeResourceManager;
@@ -28,7 +33,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
 @ExtendWith(TestExceptionCallbackListener.class)
+@ExtendWith(ApiRequestAccountingListener.class)
+@ExtendWith(DscReconcileListener.class)
 @ResourceManager(cleanResources = false)
 @TestVisualSeparator
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -49,6 +61,13 @@ public abstract class Abstract {
         KubeResourceManager.getInstance().addCreateCallback(r -> {
             if (r.getKind().equals("Namespace")) {
                 KubeUtils.labelNamespace(r.getMetadata().getName(), TestConstants.LOG_COLLECT_LABEL, "true");
+            } else if (r.getKind().equals("DataScienceCluster")) {
+                DscReconcileListener.startRecorder(r.getMetadata().getName());
+            }
+        });
+        KubeResourceManager.getInstance().addDeleteCallback(r -> {
+            if (r.getKind().equals("DataScienceCluster")) {
+                DscReconcileListener.stopRecorder(r.getMetadata().getName());
             }
         });
     }
@@ -64,4 +83,26 @@ public abstract class Abstract {
         ServerlessOperator.deployOperator();
         AuthorinoOperator.deployOperator();
     }
+
+    /**
+     * Installs the operator the way selected by {@link Environment#OPERATOR_INSTALL_TYPE}
+     */
+    protected static void installOperator() throws IOException {
+        if (Environment.SKIP_INSTALL_OPERATOR) {
+            LOGGER.info("Operator install is skipped");
+            return;
+        }
+        if (Environment.OPERATOR_INSTALL_TYPE.toLowerCase(Locale.ENGLISH)
+                .equals(InstallTypes.OLM.toString().toLowerCase(Locale.ENGLISH))) {
+            OlmInstall olmInstall = new OlmInstall();
+            olmInstall.create();
+        } else if (Environment.OPERATOR_INSTALL_TYPE.toLowerCase(Locale.ENGLISH)
+                .equals(InstallTypes.BUNDLE.toString().toLowerCase(Locale.ENGLISH))) {
+            BundleInstall bundleInstall = new BundleInstall();
+            bundleInstall.create();
+        } else {
+            LOGGER.error("Unknown install type {}! You should implement it at first!", Environment.OPERATOR_INSTALL_TYPE);
+            fail(String.format("Unknown install type %s! You should implement it at first!", Environment.OPERATOR_INSTALL_TYPE));
+        }
+    }
 }
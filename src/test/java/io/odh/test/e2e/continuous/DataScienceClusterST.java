@@ -10,10 +10,10 @@ import io.fabric8.kubernetes.client.dsl.Resource;
 import io.odh.test.Environment;
 import io.odh.test.OdhConstants;
 import io.odh.test.TestSuite;
-import io.odh.test.TestUtils;
 import io.odh.test.e2e.Abstract;
 import io.odh.test.framework.manager.resources.DataScienceClusterType;
 import io.odh.test.install.InstallTypes;
+import io.odh.test.utils.ConditionView;
 import io.odh.test.utils.CsvUtils;
 import io.opendatahub.datasciencecluster.v1.DataScienceCluster;
 import io.opendatahub.datasciencecluster.v1.datascienceclusterspec.components.Codeflare;
@@ -79,13 +79,14 @@ public class DataScienceClusterST extends Abstract {
         assertEquals("Ready", cluster.getStatus().getPhase());
         assertNull(cluster.getStatus().getErrorMessage());
 
-        assertEquals("True", TestUtils.getDscConditionByType(cluster.getStatus().getConditions(), "dashboardReady").getStatus());
-        assertEquals("True", TestUtils.getDscConditionByType(cluster.getStatus().getConditions(), "workbenchesReady").getStatus());
-        assertEquals("True", TestUtils.getDscConditionByType(cluster.getStatus().getConditions(), "data-science-pipelines-operatorReady").getStatus());
-        assertEquals("True", TestUtils.getDscConditionByType(cluster.getStatus().getConditions(), "kserveReady").getStatus());
-        assertEquals("True", TestUtils.getDscConditionByType(cluster.getStatus().getConditions(), "codeflareReady").getStatus());
-        assertEquals("True", TestUtils.getDscConditionByType(cluster.getStatus().getConditions(), "model-meshReady").getStatus());
-        assertEquals("True", TestUtils.getDscConditionByType(cluster.getStatus().getConditions(), "kueueReady").getStatus());
+        ConditionView conditions = ConditionView.of(cluster);
+        assertEquals("True", conditions.status("dashboardReady"));
+        assertEquals("True", conditions.status("workbenchesReady"));
+        assertEquals("True", conditions.status("data-science-pipelines-operatorReady"));
+        assertEquals("True", conditions.status("kserveReady"));
+        assertEquals("True", conditions.status("codeflareReady"));
+        assertEquals("True", conditions.status("model-meshReady"));
+        assertEquals("True", conditions.status("kueueReady"));
     }
 
     @Test
@@ -8,9 +8,9 @@ import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.client.dsl.MixedOperation;
 import io.fabric8.kubernetes.client.dsl.Resource;
 import io.odh.test.TestSuite;
-import io.odh.test.TestUtils;
 import io.odh.test.e2e.Abstract;
 import io.odh.test.framework.manager.resources.NotebookType;
+import io.odh.test.utils.ConditionView;
 import io.skodjob.testframe.resources.KubeResourceManager;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Tag;
@@ -61,8 +61,8 @@ public class DataScienceProjectST extends Abstract {
             assertEquals("true",
                     notebook.getMetadata().getLabels().getOrDefault("opendatahub.io/odh-managed", "false"));
 
-            assertEquals("True", TestUtils.getNotebookConditionByType(notebook.getStatus().getConditions(), "ContainersReady").getStatus());
-            assertEquals("True", TestUtils.getNotebookConditionByType(notebook.getStatus().getConditions(), "Ready").getStatus());
+            assertEquals("True", ConditionView.of(notebook).status("ContainersReady"));
+            assertEquals("True", ConditionView.of(notebook).status("Ready"));
         });
     }
 }
@@ -0,0 +1,312 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.e2e.performance;
+
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.odh.test.Environment;
+import io.odh.test.framework.manager.resources.DataScienceClusterType;
+import io.odh.test.platform.PrometheusClient;
+import io.odh.test.utils.ConditionView;
+import io.odh.test.utils.DscReadinessTracker;
+import io.odh.test.utils.DscUtils;
+import io.odh.test.utils.OdhMetricsRecorder;
+import io.odh.test.utils.PerformanceReport;
+import io.odh.test.utils.ResourceUsageSampler;
+import io.opendatahub.datasciencecluster.v1.DataScienceCluster;
+import io.opendatahub.dscinitialization.v1.DSCInitialization;
+import io.skodjob.annotations.Contact;
+import io.skodjob.annotations.Desc;
+import io.skodjob.annotations.Step;
+import io.skodjob.annotations.SuiteDoc;
+import io.skodjob.annotations.TestDoc;
+import io.skodjob.testframe.resources.KubeResourceManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static io.odh.test.TestConstants.GLOBAL_TIMEOUT;
+
+@SuiteDoc(
+    description = @Desc("Measures the cost of DataScienceCluster reconciles over many Managed/Removed toggles of components."),
+    beforeTestSteps = {
+        @Step(value = "Deploy Pipelines Operator", expected = "Pipelines operator is available on the cluster"),
+        @Step(value = "Deploy ServiceMesh Operator", expected = "ServiceMesh operator is available on the cluster"),
+        @Step(value = "Deploy Serverless Operator", expected = "Serverless operator is available on the cluster"),
+        @Step(value = "Install ODH operator", expected = "Operator is up and running and is able to serve it's operands"),
+        @Step(value = "Deploy DSCI", expected = "DSCI is created and ready"),
+        @Step(value = "Deploy DSC", expected = "DSC is created and ready")
+    },
+    afterTestSteps = {
+        @Step(value = "Delete ODH operator and all created resources", expected = "Operator is removed and all other resources as well")
+    }
+)
+public class DscToggleChurnST extends PerformanceAbstract {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DscToggleChurnST.class);
+
+    private static final String DS_PROJECT_NAME = "test-toggle-churn";
+    private static final int UPDATE_ATTEMPTS = 5;
+
+    @BeforeAll
+    static void deployDataScienceCluster() {
+        if (Environment.SKIP_DEPLOY_DSCI_DSC) {
+            LOGGER.info("DSCI and DSC deploy is skipped");
+            return;
+        }
+
+        // Create DSCI
+        DSCInitialization dsci = DscUtils.getBasicDSCI();
+        // Create DSC
+        DataScienceCluster dsc = DscUtils.getBasicDSC(DS_PROJECT_NAME);
+
+        KubeResourceManager.getInstance().createOrUpdateResourceWithWait(dsci);
+        KubeResourceManager.getInstance().createResourceWithWait(dsc);
+    }
+
+    @TestDoc(
+        description = @Desc("Repeatedly switches the chosen DSC components to Removed and back to Managed and measures how long each reconcile takes to settle"),
+        contact = @Contact(name = "Jiri Danek", email = "jdanek@redhat.com"),
+        steps = {
+            @Step(value = "Watch the DSC, operator resource usage is sampled by the class listener", expected = "Watch and sampling are running"),
+            @Step(value = "Switch the components to Removed", expected = "Components are uninstalled, ReconcileComplete is True"),
+            @Step(value = "Switch the components back to Managed", expected = "Component conditions are True, ReconcileComplete is True"),
+            @Step(value = "Record operator memory and reconcile count after the cycle", expected = "Values are recorded"),
+            @Step(value = "Repeat the cycle and export settle times per cycle", expected = "Json and csv are attached to Allure and saved in the log directory"),
+        }
+    )
+    @Test
+    void testComponentToggleChurn(ResourceUsageSampler sampler) throws Exception {
+        List<DscReadinessTracker.Component> components = getToggledComponents();
+        DataScienceCluster dsc = DscUtils.getBasicDSC(DS_PROJECT_NAME);
+        PrometheusClient prometheus = getPrometheusClient();
+        String reconcileQuery = "sum(controller_runtime_reconcile_total{namespace=\"%s\"})".formatted(OdhMetricsRecorder.getOperatorNamespace());
+
+        PerformanceReport summary = new PerformanceReport("dsc-toggle-churn")
+                .withParameter("cycles", Environment.PERFORMANCE_ITERATIONS)
+                .withParameter("components", components.toString());
+        List<PerformanceReport> reports = new ArrayList<>();
+        // the class sampler runs since the operator install, the summary covers only the churn
+        long churnStart = sampler.getElapsedMillis();
+        try (DscWatcher watcher = new DscWatcher(DS_PROJECT_NAME)) {
+            double reconciles = queryScalar(prometheus, reconcileQuery);
+            for (int cycle = 1; cycle <= Environment.PERFORMANCE_ITERATIONS; cycle++) {
+                PerformanceReport report = new PerformanceReport("dsc-toggle-churn-" + cycle)
+                        .withParameter("cycle", cycle)
+                        .withParameter("components", components.toString());
+                for (boolean managed : new boolean[]{false, true}) {
+                    String state = managed ? "MANAGED" : "REMOVED";
+                    Toggle toggle = watcher.startToggle(components, managed);
+                    setManagementState(dsc, components, managed);
+                    watcher.awaitSettled(toggle);
+
+                    for (PerformanceReport r : List.of(report, summary)) {
+                        toggle.settledAfter.forEach((component, duration) -> r.getStats(state + "_" + component).add(duration));
+                        r.getStats(state + "_RECONCILE_COMPLETE").add(toggle.completeAfter);
+                    }
+                    LOGGER.info("Cycle {}: {} {} settled after {} ms, components {}", cycle, components, state,
+                            toggle.completeAfter.toMillis(), toggle.settledAfter);
+                }
+
+                ResourceUsageSampler.Ring operator = sampler.getRing(ResourceUsageSampler.OPERATOR);
+                report.withParameter("operatorMemoryMiB", operator == null ? 0 : operator.getLastMemoryBytes() / (1024 * 1024));
+                double total = queryScalar(prometheus, reconcileQuery);
+                report.withParameter("reconciles", Double.isNaN(total) ? total : total - reconciles);
+                reconciles = total;
+                reports.add(report);
+            }
+
+            ResourceUsageSampler.Ring operator = sampler.getRing(ResourceUsageSampler.OPERATOR);
+            summary.withParameter("managedSettleTrendSecondsPerCycle", getTrend(reports, "MANAGED_RECONCILE_COMPLETE"))
+                    .withParameter("removedSettleTrendSecondsPerCycle", getTrend(reports, "REMOVED_RECONCILE_COMPLETE"));
+            if (operator != null) {
+                ResourceUsageSampler.Summary usage = operator.summarize(churnStart);
+                summary.withParameter("operatorPeakMemoryMiB", usage.peakMemoryMiB())
+                        .withParameter("operatorMemoryLeakMiBPerHour", usage.memoryLeakMiBPerHour())
+                        .withParameter("operatorAvgCpuMillicores", usage.avgCpuMillicores());
+            }
+            summary.export();
+        }
+        PerformanceReport.exportAll("dsc-toggle-churn-cycles", reports);
+    }
+
+    private static List<DscReadinessTracker.Component> getToggledComponents() {
+        return Arrays.stream(Environment.PERFORMANCE_TOGGLE_COMPONENTS.split(","))
+                .map(c -> DscReadinessTracker.Component.valueOf(c.trim().toUpperCase(Locale.ENGLISH)))
+                .toList();
+    }
+
+    /**
+     * Edits the spec with {@link DataScienceClusterType#replace}, which is retried when the operator updated the DSC in between
+     */
+    private static void setManagementState(DataScienceCluster dsc, List<DscReadinessTracker.Component> components, boolean managed) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                new DataScienceClusterType().replace(dsc, d -> components.forEach(c -> DscUtils.setManagementState(d, c, managed)));
+                return;
+            } catch (KubernetesClientException e) {
+                if (e.getCode() != 409 || attempt == UPDATE_ATTEMPTS) {
+                    throw e;
+                }
+                LOGGER.debug("DataScienceCluster {} was modified, retrying the update", dsc.getMetadata().getName());
+            }
+        }
+    }
+
+    private static PrometheusClient getPrometheusClient() {
+        try {
+            return OdhMetricsRecorder.getPrometheusClient();
+        } catch (IllegalStateException | KubernetesClientException e) {
+            LOGGER.warn("Reconcile counts will not be recorded: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return value of a query with a single result, NaN when it can't be evaluated
+     */
+    private static double queryScalar(PrometheusClient prometheus, String query) throws InterruptedException {
+        if (prometheus == null) {
+            return Double.NaN;
+        }
+        try {
+            List<PrometheusClient.Series> result = prometheus.query(query);
+            return result.isEmpty() ? Double.NaN : result.get(0).samples().get(0).value();
+        } catch (IOException | IllegalStateException e) {
+            LOGGER.warn("Prometheus query {} failed: {}", query, e.getMessage());
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * @return least squares slope of the stats mean over cycles, in seconds per cycle
+     */
+    private static double getTrend(List<PerformanceReport> reports, String statsName) {
+        int n = reports.size();
+        double sumX = 0;
+        double sumY = 0;
+        double sumXX = 0;
+        double sumXY = 0;
+        for (int i = 0; i < n; i++) {
+            double y = reports.get(i).getStats(statsName).getMean() / 1000;
+            sumX += i;
+            sumY += y;
+            sumXX += (double) i * i;
+            sumXY += i * y;
+        }
+        double denominator = n * sumXX - sumX * sumX;
+        return denominator == 0 ? 0 : (n * sumXY - sumX * sumY) / denominator;
+    }
+
+    /**
+     * One switch of the components, settled when every component reached the requested state
+     * and after that the whole DSC is ready again
+     */
+    private static final class Toggle {
+        private final Instant start = Instant.now();
+        private final List<DscReadinessTracker.Component> components;
+        private final boolean managed;
+        private final DscReadinessTracker tracker = new DscReadinessTracker();
+        private final Map<DscReadinessTracker.Component, Duration> settledAfter = new LinkedHashMap<>();
+        private Duration completeAfter;
+
+        private Toggle(List<DscReadinessTracker.Component> components, boolean managed) {
+            this.components = components;
+            this.managed = managed;
+        }
+
+        /**
+         * @return true when the toggle is settled
+         */
+        private boolean observe(DataScienceCluster dsc) {
+            Duration now = Duration.between(start, Instant.now());
+            Map<String, Boolean> installed = dsc.getStatus() == null || dsc.getStatus().getInstalledComponents() == null
+                    ? Map.of() : dsc.getStatus().getInstalledComponents();
+            ConditionView conditions = ConditionView.of(dsc);
+            for (DscReadinessTracker.Component component : components) {
+                boolean isInstalled = Boolean.TRUE.equals(installed.get(component.getInstalledName()));
+                boolean isReady = conditions.isTrue(component.getConditionType());
+                // the spec is switched, so neither state can be a leftover from before the edit
+                if (!settledAfter.containsKey(component) && component.isManaged(dsc) == managed
+                        && isInstalled == managed && isReady == managed) {
+                    settledAfter.put(component, now);
+                }
+            }
+            // ReconcileComplete is only checked after all components settled, it may still be True from the previous reconcile
+            if (settledAfter.size() == components.size() && tracker.evaluate(dsc)) {
+                completeAfter = now;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class DscWatcher implements ResourceEventHandler<DataScienceCluster>, AutoCloseable {
+        private final SharedIndexInformer<DataScienceCluster> informer;
+        private DataScienceCluster last;
+        private Toggle toggle;
+
+        private DscWatcher(String name) {
+            informer = DataScienceClusterType.dataScienceCLusterClient().withName(name).inform(this);
+        }
+
+        private synchronized Toggle startToggle(List<DscReadinessTracker.Component> components, boolean managed) {
+            toggle = new Toggle(components, managed);
+            return toggle;
+        }
+
+        private synchronized void observe(DataScienceCluster dsc) {
+            last = dsc;
+            if (toggle != null && toggle.observe(dsc)) {
+                toggle = null;
+                notifyAll();
+            }
+        }
+
+        private synchronized void awaitSettled(Toggle awaited) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + GLOBAL_TIMEOUT;
+            while (toggle == awaited) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new AssertionError("DataScienceCluster did not settle after switching %s to %s, settled %s:%n%s".formatted(
+                            awaited.components, awaited.managed ? "Managed" : "Removed", awaited.settledAfter,
+                            last == null ? "" : awaited.tracker.render()));
+                }
+                wait(remaining);
+            }
+        }
+
+        @Override
+        public void onAdd(DataScienceCluster dsc) {
+            observe(dsc);
+        }
+
+        @Override
+        public void onUpdate(DataScienceCluster oldDsc, DataScienceCluster newDsc) {
+            observe(newDsc);
+        }
+
+        @Override
+        public void onDelete(DataScienceCluster dsc, boolean deletedFinalStateUnknown) {
+        }
+
+        @Override
+        public void close() {
+            informer.stop();
+        }
+    }
+}
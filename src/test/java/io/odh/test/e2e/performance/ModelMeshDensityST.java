@@ -0,0 +1,267 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.e2e.performance;
+
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.metrics.v1beta1.PodMetrics;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.kserve.serving.v1alpha1.ServingRuntime;
+import io.kserve.serving.v1beta1.InferenceService;
+import io.odh.test.Environment;
+import io.odh.test.TestConstants;
+import io.odh.test.utils.ConditionView;
+import io.odh.test.utils.DscUtils;
+import io.odh.test.utils.InferenceOutputVerifier;
+import io.odh.test.utils.ModelServingUtils;
+import io.odh.test.utils.PerformanceReport;
+import io.opendatahub.datasciencecluster.v1.DataScienceCluster;
+import io.opendatahub.dscinitialization.v1.DSCInitialization;
+import io.skodjob.annotations.Contact;
+import io.skodjob.annotations.Desc;
+import io.skodjob.annotations.Step;
+import io.skodjob.annotations.SuiteDoc;
+import io.skodjob.annotations.TestDoc;
+import io.skodjob.testframe.resources.KubeResourceManager;
+import io.skodjob.testframe.wait.Wait;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SuiteDoc(
+    description = @Desc("Measures how many models fit into a single ModelMesh ServingRuntime and how they perform."),
+    beforeTestSteps = {
+        @Step(value = "Deploy Pipelines Operator", expected = "Pipelines operator is available on the cluster"),
+        @Step(value = "Deploy ServiceMesh Operator", expected = "ServiceMesh operator is available on the cluster"),
+        @Step(value = "Deploy Serverless Operator", expected = "Serverless operator is available on the cluster"),
+        @Step(value = "Install ODH operator", expected = "Operator is up and running and is able to serve it's operands"),
+        @Step(value = "Deploy DSCI", expected = "DSCI is created and ready"),
+        @Step(value = "Deploy DSC", expected = "DSC is created and ready")
+    },
+    afterTestSteps = {
+        @Step(value = "Delete ODH operator and all created resources", expected = "Operator is removed and all other resources as well")
+    }
+)
+public class ModelMeshDensityST extends PerformanceAbstract {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ModelMeshDensityST.class);
+
+    private static final String DS_PROJECT_NAME = "test-density";
+    private static final Duration LOAD_TIMEOUT = Duration.ofMinutes(10);
+    private static final int CREATE_PARALLELISM = 10;
+    private static final BigDecimal MEBIBYTE = BigDecimal.valueOf(1024 * 1024);
+    // metrics-server scrapes every 15-60s, values scraped before the models were loaded have to be skipped
+    private static final Duration METRICS_TIMEOUT = Duration.ofMinutes(3);
+    private static final long METRICS_POLL_INTERVAL = Duration.ofSeconds(5).toMillis();
+
+    @BeforeAll
+    static void deployDataScienceCluster() {
+        if (Environment.SKIP_DEPLOY_DSCI_DSC) {
+            LOGGER.info("DSCI and DSC deploy is skipped");
+            return;
+        }
+
+        // Create DSCI
+        DSCInitialization dsci = DscUtils.getBasicDSCI();
+        // Create DSC
+        DataScienceCluster dsc = DscUtils.getBasicDSC(DS_PROJECT_NAME);
+
+        KubeResourceManager.getInstance().createOrUpdateResourceWithWait(dsci);
+        KubeResourceManager.getInstance().createResourceWithWait(dsc);
+    }
+
+    @TestDoc(
+        description = @Desc("Loads increasing number of mnist models into one OVMS ServingRuntime and measures load and inference latency and runtime memory"),
+        contact = @Contact(name = "Jiri Danek", email = "jdanek@redhat.com"),
+        steps = {
+            @Step(value = "Create namespace, storage secret and OVMS ServingRuntime for ModelMesh", expected = "ServingRuntime is created"),
+            @Step(value = "Concurrently create InferenceServices up to the next model count", expected = "InferenceServices are created"),
+            @Step(value = "Wait until all models are loaded", expected = "Every InferenceService has PredictorReady condition"),
+            @Step(value = "Read memory usage of the runtime pods from the first metrics scrape after the load", expected = "Memory of the loaded models is reported by the metrics API"),
+            @Step(value = "Query all models round-robin", expected = "All models answer with 200"),
+            @Step(value = "Report latencies and memory for the model count", expected = "Report is attached to Allure and saved in the log directory"),
+        }
+    )
+    @Test
+    void testModelMeshDensity() {
+        final String projectName = "modelmesh-density";
+        final String runtimeName = "ovms-runtime";
+
+        KubeResourceManager.getInstance().createResourceWithWait(
+                ModelServingUtils.getModelServingNamespace(projectName, ModelServingUtils.DEPLOYMENT_MODE_MODELMESH));
+        KubeResourceManager.getInstance().createResourceWithWait(ModelServingUtils.getStorageConfigSecret(projectName));
+        ServingRuntime servingRuntime = ModelServingUtils.getOvmsServingRuntime(projectName, runtimeName, ModelServingUtils.DEPLOYMENT_MODE_MODELMESH);
+        KubeResourceManager.getInstance().createResourceWithWait(servingRuntime);
+
+        KubernetesClient client = KubeResourceManager.getKubeClient().getClient();
+        HttpClient httpClient = ModelServingUtils.getInferenceHttpClient();
+        List<String> models = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(CREATE_PARALLELISM);
+        try (ModelLoadWatcher watcher = new ModelLoadWatcher(client, projectName)) {
+            for (int modelCount : getModelCounts()) {
+                PerformanceReport report = new PerformanceReport("modelmesh-density-" + modelCount)
+                        .withParameter("models", modelCount)
+                        .withParameter("rounds", Environment.PERFORMANCE_ITERATIONS);
+
+                // models from the previous steps stay loaded, only the missing ones are added
+                List<InferenceService> batch = new ArrayList<>();
+                while (models.size() + batch.size() < modelCount) {
+                    String modelName = "mnist-" + (models.size() + batch.size());
+                    batch.add(ModelServingUtils.getMnistInferenceService(projectName, modelName, runtimeName, ModelServingUtils.DEPLOYMENT_MODE_MODELMESH));
+                }
+                CompletableFuture.allOf(batch.stream()
+                        .map(isvc -> CompletableFuture.runAsync(() -> {
+                            watcher.created(isvc.getMetadata().getName());
+                            client.resource(isvc).create();
+                        }, executor))
+                        .toArray(CompletableFuture[]::new)).join();
+                batch.forEach(isvc -> models.add(isvc.getMetadata().getName()));
+
+                Wait.until(String.format("%d models to be loaded in %s", modelCount, projectName), TestConstants.GLOBAL_POLL_INTERVAL_SHORT,
+                        LOAD_TIMEOUT.toMillis(), () -> models.stream().allMatch(watcher::isLoaded));
+                batch.forEach(isvc -> report.getStats("MODEL_LOADED").add(watcher.getLoadTime(isvc.getMetadata().getName())));
+
+                long memory = getRuntimeMemoryMebibytes(projectName, runtimeName, Instant.now());
+                report.withParameter("runtimeMemoryMi", memory)
+                        .withParameter("runtimeMemoryPerModelMi", memory / modelCount);
+
+                measureRoundRobinInference(httpClient, projectName, models, report);
+                report.export();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void measureRoundRobinInference(HttpClient httpClient, String namespace, List<String> models, PerformanceReport report) {
+        KubernetesClient client = KubeResourceManager.getKubeClient().getClient();
+        List<String> urls = new ArrayList<>();
+        for (String model : models) {
+            Wait.until(String.format("Route %s/%s to be created", namespace, model), TestConstants.GLOBAL_POLL_INTERVAL_SHORT,
+                    TestConstants.GLOBAL_TIMEOUT, () -> KubeResourceManager.getKubeClient().getOpenShiftClient().routes()
+                            .inNamespace(namespace).withName(model).get() != null);
+            String url = ModelServingUtils.getInferenceUrl(client.resources(InferenceService.class).inNamespace(namespace).withName(model).get());
+            // the first request to the model is not part of the measurement
+            assertEquals(200, ModelServingUtils.queryMnistModel(httpClient, url).statusCode());
+            urls.add(url);
+        }
+
+        InferenceOutputVerifier verifier = ModelServingUtils.getMnistOutputVerifier();
+        for (int round = 0; round < Environment.PERFORMANCE_ITERATIONS; round++) {
+            for (String url : urls) {
+                Instant start = Instant.now();
+                HttpResponse<byte[]> response = ModelServingUtils.sendMnistInferRequest(httpClient, url);
+                report.getStats("INFERENCE").add(Duration.between(start, Instant.now()));
+                assertEquals(200, response.statusCode(), "Inference failed for " + url);
+                verifier.verify(response.body());
+            }
+        }
+    }
+
+    /**
+     * Memory of all containers in the ModelMesh runtime pods, as reported by the metrics API
+     * @param loaded time when all models were loaded, memory is read from the first scrape of every pod after it
+     */
+    private static long getRuntimeMemoryMebibytes(String namespace, String runtimeName, Instant loaded) {
+        AtomicReference<List<PodMetrics>> scraped = new AtomicReference<>();
+        Wait.until(String.format("metrics of runtime %s/%s to be scraped after the models were loaded", namespace, runtimeName),
+                METRICS_POLL_INTERVAL, METRICS_TIMEOUT.toMillis(),
+                () -> {
+                    List<PodMetrics> items = KubeResourceManager.getKubeClient().getClient().top().pods().inNamespace(namespace)
+                            .withLabels(Map.of("name", "modelmesh-serving-" + runtimeName)).metrics().getItems();
+                    scraped.set(items);
+                    return !items.isEmpty() && items.stream().allMatch(pod -> pod.getTimestamp() != null
+                            && Instant.parse(pod.getTimestamp()).isAfter(loaded));
+                });
+        List<PodMetrics> metrics = scraped.get();
+        BigDecimal bytes = metrics.stream()
+                .flatMap(pod -> pod.getContainers().stream())
+                .map(container -> container.getUsage().get("memory"))
+                .filter(Objects::nonNull)
+                .map(Quantity::getAmountInBytes)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        LOGGER.info("Runtime {}/{} has {} pods using {} bytes", namespace, runtimeName, metrics.size(), bytes);
+        return bytes.divideToIntegralValue(MEBIBYTE).longValue();
+    }
+
+    private static int[] getModelCounts() {
+        return Arrays.stream(Environment.PERFORMANCE_MODEL_COUNTS.split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .sorted()
+                .toArray();
+    }
+
+    /**
+     * Times from creation to the PredictorReady condition of all InferenceServices in the namespace
+     */
+    private static final class ModelLoadWatcher implements ResourceEventHandler<InferenceService>, AutoCloseable {
+        private final Map<String, Instant> created = new ConcurrentHashMap<>();
+        private final Map<String, Instant> loaded = new ConcurrentHashMap<>();
+        private final SharedIndexInformer<InferenceService> informer;
+
+        private ModelLoadWatcher(KubernetesClient client, String namespace) {
+            informer = client.resources(InferenceService.class).inNamespace(namespace).inform(this);
+        }
+
+        void created(String name) {
+            created.put(name, Instant.now());
+        }
+
+        boolean isLoaded(String name) {
+            return loaded.containsKey(name);
+        }
+
+        Duration getLoadTime(String name) {
+            return Duration.between(created.get(name), loaded.get(name));
+        }
+
+        private void onChange(InferenceService inferenceService) {
+            if (ConditionView.of(inferenceService).isTrue("PredictorReady")
+                    && loaded.putIfAbsent(inferenceService.getMetadata().getName(), Instant.now()) == null) {
+                LOGGER.info("Model {} loaded", inferenceService.getMetadata().getName());
+            }
+        }
+
+        @Override
+        public void onAdd(InferenceService obj) {
+            onChange(obj);
+        }
+
+        @Override
+        public void onUpdate(InferenceService oldObj, InferenceService newObj) {
+            onChange(newObj);
+        }
+
+        @Override
+        public void onDelete(InferenceService obj, boolean deletedFinalStateUnknown) {
+        }
+
+        @Override
+        public void close() {
+            informer.stop();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.e2e.performance;
+
+import io.fabric8.kubernetes.client.LocalPortForward;
+import io.kserve.serving.v1alpha1.ServingRuntime;
+import io.kserve.serving.v1beta1.InferenceService;
+import io.odh.test.Environment;
+import io.odh.test.platform.KServeGrpcClient;
+import io.odh.test.platform.KServeV2Client;
+import io.odh.test.utils.DscUtils;
+import io.odh.test.utils.InferenceOutputVerifier;
+import io.odh.test.utils.ModelServingUtils;
+import io.odh.test.utils.PerformanceReport;
+import io.opendatahub.datasciencecluster.v1.DataScienceCluster;
+import io.opendatahub.dscinitialization.v1.DSCInitialization;
+import io.skodjob.annotations.Contact;
+import io.skodjob.annotations.Desc;
+import io.skodjob.annotations.Step;
+import io.skodjob.annotations.SuiteDoc;
+import io.skodjob.annotations.TestDoc;
+import io.skodjob.testframe.resources.KubeResourceManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SuiteDoc(
+    description = @Desc("Compares REST and gRPC inference on the same ModelMesh ServingRuntime."),
+    beforeTestSteps = {
+        @Step(value = "Deploy Pipelines Operator", expected = "Pipelines operator is available on the cluster"),
+        @Step(value = "Deploy ServiceMesh Operator", expected = "ServiceMesh operator is available on the cluster"),
+        @Step(value = "Deploy Serverless Operator", expected = "Serverless operator is available on the cluster"),
+        @Step(value = "Install ODH operator", expected = "Operator is up and running and is able to serve it's operands"),
+        @Step(value = "Deploy DSCI", expected = "DSCI is created and ready"),
+        @Step(value = "Deploy DSC", expected = "DSC is created and ready")
+    },
+    afterTestSteps = {
+        @Step(value = "Delete ODH operator and all created resources", expected = "Operator is removed and all other resources as well")
+    }
+)
+public class ModelMeshProtocolsST extends PerformanceAbstract {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ModelMeshProtocolsST.class);
+
+    private static final String DS_PROJECT_NAME = "test-protocols";
+    private static final int LATENCY_REQUESTS = 200;
+    private static final int CONCURRENCY = 16;
+    private static final Duration THROUGHPUT_DURATION = Duration.ofSeconds(30);
+
+    @BeforeAll
+    static void deployDataScienceCluster() {
+        if (Environment.SKIP_DEPLOY_DSCI_DSC) {
+            LOGGER.info("DSCI and DSC deploy is skipped");
+            return;
+        }
+
+        // Create DSCI
+        DSCInitialization dsci = DscUtils.getBasicDSCI();
+        // Create DSC
+        DataScienceCluster dsc = DscUtils.getBasicDSC(DS_PROJECT_NAME);
+
+        KubeResourceManager.getInstance().createOrUpdateResourceWithWait(dsci);
+        KubeResourceManager.getInstance().createResourceWithWait(dsc);
+    }
+
+    @TestDoc(
+        description = @Desc("Measures latency and throughput of the mnist model over REST and over gRPC ModelInfer, both through port-forwards of the modelmesh-serving Service"),
+        contact = @Contact(name = "Jiri Danek", email = "jdanek@redhat.com"),
+        steps = {
+            @Step(value = "Create namespace, storage secret, OVMS ServingRuntime and mnist InferenceService for ModelMesh", expected = "InferenceService is ready"),
+            @Step(value = "Port-forward the modelmesh-serving REST and gRPC ports", expected = "Both ports are reachable from the test"),
+            @Step(value = "Send sequential REST requests", expected = "All answers match the expected output"),
+            @Step(value = "Send concurrent REST requests for a fixed time", expected = "All answers match the expected output"),
+            @Step(value = "Send sequential ModelInfer calls", expected = "All answers match the expected output"),
+            @Step(value = "Keep a fixed number of async ModelInfer calls in flight for a fixed time", expected = "All answers match the expected output"),
+            @Step(value = "Report latencies and throughput of both protocols", expected = "Report is attached to Allure and saved in the log directory"),
+        }
+    )
+    @Test
+    void testRestAndGrpcInference() throws Exception {
+        final String projectName = "modelmesh-protocols";
+        final String runtimeName = "ovms-runtime";
+        final String modelName = "mnist";
+        final String deploymentMode = ModelServingUtils.DEPLOYMENT_MODE_MODELMESH;
+
+        KubeResourceManager.getInstance().createResourceWithWait(ModelServingUtils.getModelServingNamespace(projectName, deploymentMode));
+        KubeResourceManager.getInstance().createResourceWithWait(ModelServingUtils.getStorageConfigSecret(projectName));
+        ServingRuntime servingRuntime = ModelServingUtils.getOvmsServingRuntime(projectName, runtimeName, deploymentMode);
+        KubeResourceManager.getInstance().createResourceWithWait(servingRuntime);
+        InferenceService inferenceService = ModelServingUtils.getMnistInferenceService(projectName, modelName, runtimeName, deploymentMode);
+        KubeResourceManager.getInstance().createResourceWithWait(inferenceService);
+
+        PerformanceReport report = new PerformanceReport("modelmesh-protocols")
+                .withParameter("latencyRequests", LATENCY_REQUESTS)
+                .withParameter("concurrency", CONCURRENCY)
+                .withParameter("throughputSeconds", THROUGHPUT_DURATION.toSeconds());
+        InferenceOutputVerifier verifier = ModelServingUtils.getMnistOutputVerifier();
+
+        // gRPC is not exposed by a Route, so both protocols go through port-forwards of the modelmesh-serving Service;
+        // with the same network path the difference of the numbers comes from the protocols, not from the tunnel
+        KServeV2Client.InferInput input = ModelServingUtils.getMnistInput();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        try (LocalPortForward restForward = KubeResourceManager.getKubeClient().getClient().services().inNamespace(projectName)
+                .withName(ModelServingUtils.MODELMESH_SERVICE).portForward(ModelServingUtils.MODELMESH_REST_PORT);
+             LocalPortForward grpcForward = KubeResourceManager.getKubeClient().getClient().services().inNamespace(projectName)
+                .withName(ModelServingUtils.MODELMESH_SERVICE).portForward(ModelServingUtils.MODELMESH_GRPC_PORT);
+             KServeGrpcClient grpcClient = new KServeGrpcClient(KServeGrpcClient.newChannel("localhost", grpcForward.getLocalPort()), modelName)) {
+            String url = "http://localhost:%d/v2/models/%s".formatted(restForward.getLocalPort(), modelName);
+            assertEquals(200, ModelServingUtils.queryMnistModel(httpClient, url).statusCode());
+            for (int i = 0; i < LATENCY_REQUESTS; i++) {
+                Instant start = Instant.now();
+                HttpResponse<byte[]> response = ModelServingUtils.sendMnistInferRequest(httpClient, url);
+                report.getStats("REST").add(Duration.between(start, Instant.now()));
+                assertEquals(200, response.statusCode());
+                verifier.verify(response.body());
+            }
+            report.withParameter("restThroughputRps", measureRestThroughput(httpClient, url, verifier, report));
+
+            verifier.verify(grpcClient.infer(List.of(input)).outputs().get(0).asFloatArray());
+            for (int i = 0; i < LATENCY_REQUESTS; i++) {
+                Instant start = Instant.now();
+                KServeV2Client.InferResponse response = grpcClient.infer(List.of(input));
+                report.getStats("GRPC").add(Duration.between(start, Instant.now()));
+                verifier.verify(response.outputs().get(0).asFloatArray());
+            }
+            report.withParameter("grpcThroughputRps", measureGrpcThroughput(grpcClient, input, verifier, report));
+        }
+        report.export();
+    }
+
+    /**
+     * Each of {@link #CONCURRENCY} threads sends requests one after another
+     * @return completed requests per second
+     */
+    private static double measureRestThroughput(HttpClient httpClient, String url, InferenceOutputVerifier verifier, PerformanceReport report) {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        AtomicInteger completed = new AtomicInteger();
+        Instant start = Instant.now();
+        Instant end = start.plus(THROUGHPUT_DURATION);
+        try {
+            List<CompletableFuture<Void>> clients = new ArrayList<>();
+            for (int c = 0; c < CONCURRENCY; c++) {
+                clients.add(CompletableFuture.runAsync(() -> {
+                    while (Instant.now().isBefore(end)) {
+                        Instant requestStart = Instant.now();
+                        HttpResponse<byte[]> response = ModelServingUtils.sendMnistInferRequest(httpClient, url);
+                        report.getStats("REST_CONCURRENT").add(Duration.between(requestStart, Instant.now()));
+                        assertEquals(200, response.statusCode());
+                        verifier.verify(response.body());
+                        completed.incrementAndGet();
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(clients.toArray(new CompletableFuture[0])).join();
+        } finally {
+            executor.shutdownNow();
+        }
+        return completed.get() / (Duration.between(start, Instant.now()).toMillis() / 1000d);
+    }
+
+    /**
+     * Keeps {@link #CONCURRENCY} async calls in flight on the one channel, without a thread per call
+     * @return completed calls per second
+     */
+    private static double measureGrpcThroughput(KServeGrpcClient grpcClient, KServeV2Client.InferInput input,
+                                                InferenceOutputVerifier verifier, PerformanceReport report) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        AtomicInteger completed = new AtomicInteger();
+        List<Throwable> failures = new ArrayList<>();
+        Instant start = Instant.now();
+        Instant end = start.plus(THROUGHPUT_DURATION);
+        while (Instant.now().isBefore(end)) {
+            inFlight.acquire();
+            Instant callStart = Instant.now();
+            grpcClient.inferAsync(List.of(input)).whenComplete((response, error) -> {
+                report.getStats("GRPC_CONCURRENT").add(Duration.between(callStart, Instant.now()));
+                try {
+                    if (error != null) {
+                        throw error;
+                    }
+                    verifier.verify(response.outputs().get(0).asFloatArray());
+                    completed.incrementAndGet();
+                } catch (Throwable t) {
+                    synchronized (failures) {
+                        failures.add(t);
+                    }
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+        inFlight.acquire(CONCURRENCY);
+        double throughput = completed.get() / (Duration.between(start, Instant.now()).toMillis() / 1000d);
+        synchronized (failures) {
+            assertEquals(List.of(), failures, "gRPC calls failed");
+        }
+        return throughput;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.e2e.performance;
+
+import io.fabric8.kubernetes.api.model.Namespace;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.kserve.serving.v1alpha1.ServingRuntime;
+import io.kserve.serving.v1beta1.InferenceService;
+import io.odh.test.Environment;
+import io.odh.test.TestConstants;
+import io.odh.test.utils.ColdStartTracker;
+import io.odh.test.utils.DscUtils;
+import io.odh.test.utils.ModelServingUtils;
+import io.odh.test.utils.PerformanceReport;
+import io.opendatahub.datasciencecluster.v1.DataScienceCluster;
+import io.opendatahub.dscinitialization.v1.DSCInitialization;
+import io.skodjob.annotations.Contact;
+import io.skodjob.annotations.Desc;
+import io.skodjob.annotations.Step;
+import io.skodjob.annotations.SuiteDoc;
+import io.skodjob.annotations.TestDoc;
+import io.skodjob.testframe.resources.KubeResourceManager;
+import io.skodjob.testframe.wait.Wait;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+@SuiteDoc(
+    description = @Desc("Measures time to the first successful inference of a newly created InferenceService."),
+    beforeTestSteps = {
+        @Step(value = "Deploy Pipelines Operator", expected = "Pipelines operator is available on the cluster"),
+        @Step(value = "Deploy ServiceMesh Operator", expected = "ServiceMesh operator is available on the cluster"),
+        @Step(value = "Deploy Serverless Operator", expected = "Serverless operator is available on the cluster"),
+        @Step(value = "Install ODH operator", expected = "Operator is up and running and is able to serve it's operands"),
+        @Step(value = "Deploy DSCI", expected = "DSCI is created and ready"),
+        @Step(value = "Deploy DSC", expected = "DSC is created and ready")
+    },
+    afterTestSteps = {
+        @Step(value = "Delete ODH operator and all created resources", expected = "Operator is removed and all other resources as well")
+    }
+)
+public class ModelServingColdStartST extends PerformanceAbstract {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ModelServingColdStartST.class);
+
+    private static final String DS_PROJECT_NAME = "test-cold-start";
+    private static final Duration COLD_START_TIMEOUT = Duration.ofMinutes(10);
+    // ModelMesh keeps the runtime pods for a while after the last model is removed
+    private static final Duration SCALE_DOWN_TIMEOUT = Duration.ofMinutes(5);
+
+    @BeforeAll
+    static void deployDataScienceCluster() {
+        if (Environment.SKIP_DEPLOY_DSCI_DSC) {
+            LOGGER.info("DSCI and DSC deploy is skipped");
+            return;
+        }
+
+        // Create DSCI
+        DSCInitialization dsci = DscUtils.getBasicDSCI();
+        // Create DSC
+        DataScienceCluster dsc = DscUtils.getBasicDSC(DS_PROJECT_NAME);
+
+        KubeResourceManager.getInstance().createOrUpdateResourceWithWait(dsci);
+        KubeResourceManager.getInstance().createResourceWithWait(dsc);
+    }
+
+    @TestDoc(
+        description = @Desc("Repeatedly deploys and deletes the mnist InferenceService and measures the phases of its cold start"),
+        contact = @Contact(name = "Jiri Danek", email = "jdanek@redhat.com"),
+        steps = {
+            @Step(value = "Create namespace, storage secret and OVMS ServingRuntime for the deployment mode", expected = "ServingRuntime is created"),
+            @Step(value = "Create the InferenceService and watch its pods, conditions and route", expected = "InferenceService is created"),
+            @Step(value = "Send inference requests until the first one succeeds", expected = "Model answers with 200"),
+            @Step(value = "Delete the InferenceService and wait until its pods are gone", expected = "Next iteration starts cold"),
+            @Step(value = "Report distribution of the phases over all iterations", expected = "Report is attached to Allure and saved in the log directory"),
+        }
+    )
+    @ParameterizedTest(name = "[{index}] deploymentMode={0}")
+    @ValueSource(strings = {ModelServingUtils.DEPLOYMENT_MODE_MODELMESH, ModelServingUtils.DEPLOYMENT_MODE_SERVERLESS})
+    void testInferenceServiceColdStart(String deploymentMode) {
+        final String projectName = "cold-start-" + deploymentMode.toLowerCase(Locale.ROOT);
+        final String runtimeName = "ovms-runtime";
+        final String modelName = "mnist";
+
+        Namespace ns = ModelServingUtils.getModelServingNamespace(projectName, deploymentMode);
+        KubeResourceManager.getInstance().createResourceWithWait(ns);
+        KubeResourceManager.getInstance().createResourceWithWait(ModelServingUtils.getStorageConfigSecret(projectName));
+        ServingRuntime servingRuntime = ModelServingUtils.getOvmsServingRuntime(projectName, runtimeName, deploymentMode);
+        KubeResourceManager.getInstance().createResourceWithWait(servingRuntime);
+
+        KubernetesClient client = KubeResourceManager.getKubeClient().getClient();
+        HttpClient httpClient = ModelServingUtils.getInferenceHttpClient();
+        PerformanceReport report = new PerformanceReport("cold-start-" + deploymentMode.toLowerCase(Locale.ROOT))
+                .withParameter("deploymentMode", deploymentMode)
+                .withParameter("iterations", Environment.PERFORMANCE_ITERATIONS);
+
+        for (int i = 0; i < Environment.PERFORMANCE_ITERATIONS; i++) {
+            waitForNoPods(projectName);
+            InferenceService inferenceService = ModelServingUtils.getMnistInferenceService(projectName, modelName, runtimeName, deploymentMode);
+            try (ColdStartTracker tracker = ColdStartTracker.start(inferenceService)) {
+                client.resource(inferenceService).create();
+                tracker.waitForFirstSuccess(httpClient, COLD_START_TIMEOUT);
+
+                Map<ColdStartTracker.Phase, Duration> phases = tracker.getPhases();
+                LOGGER.info("Iteration {} of {} cold start: {}", i + 1, deploymentMode, phases);
+                phases.forEach((phase, duration) -> {
+                    if (phase != ColdStartTracker.Phase.CREATED) {
+                        report.getStats(phase.name()).add(duration);
+                    }
+                });
+            } finally {
+                client.resource(inferenceService).delete();
+                Wait.until(String.format("InferenceService %s/%s deletion", projectName, modelName), TestConstants.GLOBAL_POLL_INTERVAL_SHORT,
+                        TestConstants.GLOBAL_TIMEOUT, () -> client.resource(inferenceService).get() == null);
+            }
+        }
+        report.export();
+    }
+
+    private static void waitForNoPods(String namespace) {
+        Wait.until(String.format("Pods in %s to be removed", namespace), TestConstants.GLOBAL_POLL_INTERVAL_MEDIUM,
+                SCALE_DOWN_TIMEOUT.toMillis(),
+                () -> KubeResourceManager.getKubeClient().getClient().pods().inNamespace(namespace).list().getItems().isEmpty());
+    }
+}
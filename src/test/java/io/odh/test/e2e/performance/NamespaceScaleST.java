@@ -0,0 +1,257 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.e2e.performance;
+
+import io.fabric8.kubernetes.api.model.Namespace;
+import io.fabric8.kubernetes.api.model.NamespaceBuilder;
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.openshift.api.model.Route;
+import io.odh.test.Environment;
+import io.odh.test.OdhAnnotationsLabels;
+import io.odh.test.OdhConstants;
+import io.odh.test.TestConstants;
+import io.odh.test.framework.manager.resources.DataScienceClusterType;
+import io.odh.test.platform.TlsUtils;
+import io.odh.test.utils.DscReadinessTracker;
+import io.odh.test.utils.DscUtils;
+import io.odh.test.utils.PerformanceReport;
+import io.odh.test.utils.ResourceUsageSampler;
+import io.odh.test.utils.TeardownUtils;
+import io.opendatahub.datasciencecluster.v1.DataScienceCluster;
+import io.opendatahub.dscinitialization.v1.DSCInitialization;
+import io.skodjob.annotations.Contact;
+import io.skodjob.annotations.Desc;
+import io.skodjob.annotations.Step;
+import io.skodjob.annotations.SuiteDoc;
+import io.skodjob.annotations.TestDoc;
+import io.skodjob.testframe.resources.KubeResourceManager;
+import io.skodjob.testframe.wait.Wait;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@SuiteDoc(
+    description = @Desc("Measures how the ODH operator and dashboard cope with a growing number of data science project namespaces."),
+    beforeTestSteps = {
+        @Step(value = "Deploy Pipelines Operator", expected = "Pipelines operator is available on the cluster"),
+        @Step(value = "Deploy ServiceMesh Operator", expected = "ServiceMesh operator is available on the cluster"),
+        @Step(value = "Deploy Serverless Operator", expected = "Serverless operator is available on the cluster"),
+        @Step(value = "Install ODH operator", expected = "Operator is up and running and is able to serve it's operands"),
+        @Step(value = "Deploy DSCI", expected = "DSCI is created and ready"),
+        @Step(value = "Deploy DSC", expected = "DSC is created and ready")
+    },
+    afterTestSteps = {
+        @Step(value = "Delete scale namespaces in bulk", expected = "Namespaces are removed"),
+        @Step(value = "Delete ODH operator and all created resources", expected = "Operator is removed and all other resources as well")
+    }
+)
+public class NamespaceScaleST extends PerformanceAbstract {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NamespaceScaleST.class);
+
+    private static final String DS_PROJECT_NAME = "test-namespace-scale";
+    private static final String NAMESPACE_PREFIX = "scale-ds-project-";
+    // Namespaces are deleted by this label only, so no other data science project is touched by the cleanup
+    private static final Map<String, String> SCALE_LABELS = Map.of(OdhAnnotationsLabels.APP_LABEL_KEY, OdhAnnotationsLabels.APP_LABEL_VALUE,
+            OdhAnnotationsLabels.APP_LABEL_VALUE + "/scale-test", DS_PROJECT_NAME);
+    private static final int CREATE_BATCH_SIZE = 50;
+    private static final int CREATE_PARALLELISM = 16;
+    private static final int DASHBOARD_REQUESTS = 10;
+    private static final DscReadinessTracker.Component CANARY_COMPONENT = DscReadinessTracker.Component.RAY;
+    private static final long RECONCILE_POLL_INTERVAL = Duration.ofMillis(500).toMillis();
+    private static final long DELETION_TIMEOUT = Duration.ofMinutes(30).toMillis();
+
+    @BeforeAll
+    static void deployDataScienceCluster() {
+        if (Environment.SKIP_DEPLOY_DSCI_DSC) {
+            LOGGER.info("DSCI and DSC deploy is skipped");
+            return;
+        }
+
+        // Create DSCI
+        DSCInitialization dsci = DscUtils.getBasicDSCI();
+        // Create DSC
+        DataScienceCluster dsc = DscUtils.getBasicDSC(DS_PROJECT_NAME);
+
+        KubeResourceManager.getInstance().createOrUpdateResourceWithWait(dsci);
+        KubeResourceManager.getInstance().createResourceWithWait(dsc);
+    }
+
+    @AfterAll
+    static void deleteScaleNamespaces() {
+        // namespaces have no deletecollection verb, so they are deleted concurrently one per request,
+        // with a single informer awaiting the whole group instead of a wait per namespace
+        List<Namespace> namespaces = KubeResourceManager.getKubeClient().getClient().namespaces()
+                .withLabels(SCALE_LABELS).list().getItems();
+        if (!TeardownUtils.deleteAndWait(namespaces, DELETION_TIMEOUT)) {
+            throw new IllegalStateException("Scale namespaces were not deleted in %d ms".formatted(DELETION_TIMEOUT));
+        }
+    }
+
+    @TestDoc(
+        description = @Desc("Grows the number of labelled data science project namespaces in parallel batches and measures the operator and dashboard at each count"),
+        contact = @Contact(name = "Jiri Danek", email = "jdanek@redhat.com"),
+        steps = {
+            @Step(value = "Create labelled namespaces in parallel batches up to the next count", expected = "Namespaces are created"),
+            @Step(value = "Switch the canary component to Removed and back to Managed", expected = "Operator reconciles both edits"),
+            @Step(value = "Query the dashboard project list and status APIs", expected = "Dashboard responds with 200"),
+            @Step(value = "Record peak operator and dashboard memory since the count step started", expected = "Values are recorded"),
+            @Step(value = "Repeat for every count and export the measurements", expected = "Json and csv are attached to Allure and saved in the log directory"),
+            @Step(value = "Delete all scale namespaces by concurrent deletes", expected = "Namespaces are removed"),
+        }
+    )
+    @Test
+    void testNamespaceScale(ResourceUsageSampler sampler) throws Exception {
+        List<Integer> counts = Arrays.stream(Environment.PERFORMANCE_NAMESPACE_COUNTS.split(","))
+                .map(String::trim).map(Integer::valueOf).sorted().toList();
+        DataScienceCluster dsc = DscUtils.getBasicDSC(DS_PROJECT_NAME);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .sslContext(TlsUtils.getIngressSSLContext())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        String dashboardUrl = getDashboardUrl();
+
+        // leftovers of an aborted run would skew the counts
+        deleteScaleNamespaces();
+
+        List<PerformanceReport> reports = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(CREATE_PARALLELISM);
+        try {
+            int created = 0;
+            for (int count : counts) {
+                PerformanceReport report = new PerformanceReport("namespace-scale-" + count)
+                        .withParameter("namespaces", count)
+                        .withParameter("canaryComponent", CANARY_COMPONENT.getInstalledName());
+                // recorded before the measurements, so the export shows where a run stopped
+                reports.add(report);
+
+                Instant start = Instant.now();
+                long stepStart = sampler.getElapsedMillis();
+                while (created < count) {
+                    int to = Math.min(count, created + CREATE_BATCH_SIZE);
+                    createBatch(executor, created, to, report);
+                    created = to;
+                }
+                report.withParameter("createSeconds", Duration.between(start, Instant.now()).toMillis() / 1000d);
+                LOGGER.info("{} labelled namespaces created", count);
+
+                report.getStats("CANARY_REMOVED").add(editCanary(dsc, false));
+                report.getStats("CANARY_MANAGED").add(editCanary(dsc, true));
+
+                for (int i = 0; i < DASHBOARD_REQUESTS; i++) {
+                    report.getStats("DASHBOARD_PROJECTS").add(timeRequest(httpClient, dashboardUrl
+                            + "/api/k8s/apis/project.openshift.io/v1/projects?labelSelector=" + OdhAnnotationsLabels.LABEL_DASHBOARD + "%3Dtrue"));
+                    report.getStats("DASHBOARD_STATUS").add(timeRequest(httpClient, dashboardUrl + "/api/status"));
+                }
+
+                report.withParameter("operatorPeakMemoryMiB", getPeakMemoryMiB(sampler, ResourceUsageSampler.OPERATOR, stepStart))
+                        .withParameter("dashboardPeakMemoryMiB", getPeakMemoryMiB(sampler, OdhConstants.DASHBOARD_CONTROLLER, stepStart));
+                LOGGER.info("Measurements with {} namespaces:\n{}", count, report.render());
+            }
+        } finally {
+            executor.shutdownNow();
+            PerformanceReport.exportAll("namespace-scale", reports);
+        }
+
+        Instant start = Instant.now();
+        deleteScaleNamespaces();
+        LOGGER.info("{} namespaces deleted in {} ms", counts.get(counts.size() - 1), Duration.between(start, Instant.now()).toMillis());
+    }
+
+    /**
+     * Creates namespaces with indexes from {@code from} to {@code to} in parallel, the time of the whole batch is recorded
+     */
+    private static void createBatch(ExecutorService executor, int from, int to, PerformanceReport report) {
+        KubernetesClient client = KubeResourceManager.getKubeClient().getClient();
+        List<CompletableFuture<Void>> creates = new ArrayList<>();
+        Instant start = Instant.now();
+        for (int i = from; i < to; i++) {
+            Namespace namespace = getScaleNamespace(i);
+            creates.add(CompletableFuture.runAsync(() -> client.namespaces().resource(namespace).create(), executor));
+        }
+        CompletableFuture.allOf(creates.toArray(new CompletableFuture[0])).join();
+        report.getStats("CREATE_BATCH").add(Duration.between(start, Instant.now()));
+    }
+
+    private static Namespace getScaleNamespace(int index) {
+        return new NamespaceBuilder()
+                .withNewMetadata()
+                .withName(String.format("%s%05d", NAMESPACE_PREFIX, index))
+                .addToLabels(SCALE_LABELS)
+                .addToLabels(OdhAnnotationsLabels.LABEL_DASHBOARD, "true")
+                .endMetadata()
+                .build();
+    }
+
+    /**
+     * @return time until the operator reports the management state change of the canary component in the DSC status
+     */
+    private static Duration editCanary(DataScienceCluster dsc, boolean managed) {
+        DataScienceClusterType dscType = new DataScienceClusterType();
+        Instant edited = Instant.now();
+        dscType.replace(dsc, d -> DscUtils.setManagementState(d, CANARY_COMPONENT, managed));
+        Wait.until("operator to reconcile the canary DataScienceCluster edit", RECONCILE_POLL_INTERVAL, TestConstants.GLOBAL_TIMEOUT,
+                () -> DscUtils.isInstalled(dscType.get(DS_PROJECT_NAME), CANARY_COMPONENT) == managed);
+        return Duration.between(edited, Instant.now());
+    }
+
+    private static String getDashboardUrl() {
+        Route route = KubeResourceManager.getKubeClient().getOpenShiftClient().routes()
+                .inNamespace(OdhConstants.CONTROLLERS_NAMESPACE).withName(OdhConstants.DASHBOARD_ROUTE_NAME).get();
+        if (route == null) {
+            throw new IllegalStateException("Route %s/%s not found".formatted(OdhConstants.CONTROLLERS_NAMESPACE, OdhConstants.DASHBOARD_ROUTE_NAME));
+        }
+        return "https://" + route.getSpec().getHost();
+    }
+
+    /**
+     * The oauth proxy in front of the dashboard accepts the bearer token of the test user,
+     * a redirect to the login page means it was not accepted
+     */
+    private static Duration timeRequest(HttpClient httpClient, String url) throws IOException, InterruptedException {
+        Config config = KubeResourceManager.getKubeClient().getClient().getConfiguration();
+        String token = config.getOauthToken() != null ? config.getOauthToken() : config.getAutoOAuthToken();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofMinutes(2))
+                .GET()
+                .build();
+        Instant start = Instant.now();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        Duration duration = Duration.between(start, Instant.now());
+        if (response.statusCode() != 200) {
+            throw new AssertionError("Dashboard request %s failed with %d: %s".formatted(url, response.statusCode(),
+                    new String(response.body(), StandardCharsets.UTF_8)));
+        }
+        return duration;
+    }
+
+    /**
+     * @return peak memory of the deployment since the step started, the last sample alone would miss the growth during the step
+     */
+    private static double getPeakMemoryMiB(ResourceUsageSampler sampler, String name, long stepStart) {
+        ResourceUsageSampler.Ring ring = sampler.getRing(name);
+        return ring == null ? 0 : ring.summarize(stepStart).peakMemoryMiB();
+    }
+}
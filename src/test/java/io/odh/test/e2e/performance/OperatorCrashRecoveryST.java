@@ -0,0 +1,173 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.e2e.performance;
+
+import io.fabric8.kubernetes.api.model.ContainerStatus;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.odh.test.Environment;
+import io.odh.test.OdhConstants;
+import io.odh.test.TestConstants;
+import io.odh.test.framework.manager.resources.DataScienceClusterType;
+import io.odh.test.utils.DeploymentUtils;
+import io.odh.test.utils.DscReadinessTracker;
+import io.odh.test.utils.DscUtils;
+import io.odh.test.utils.PerformanceReport;
+import io.odh.test.utils.RolloutTracker;
+import io.opendatahub.datasciencecluster.v1.DataScienceCluster;
+import io.opendatahub.dscinitialization.v1.DSCInitialization;
+import io.skodjob.annotations.Contact;
+import io.skodjob.annotations.Desc;
+import io.skodjob.annotations.Step;
+import io.skodjob.annotations.SuiteDoc;
+import io.skodjob.annotations.TestDoc;
+import io.skodjob.testframe.resources.KubeResourceManager;
+import io.skodjob.testframe.wait.Wait;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SuiteDoc(
+    description = @Desc("Measures how fast the ODH operator recovers after its pod is killed, e.g. by a node failure."),
+    beforeTestSteps = {
+        @Step(value = "Deploy Pipelines Operator", expected = "Pipelines operator is available on the cluster"),
+        @Step(value = "Deploy ServiceMesh Operator", expected = "ServiceMesh operator is available on the cluster"),
+        @Step(value = "Deploy Serverless Operator", expected = "Serverless operator is available on the cluster"),
+        @Step(value = "Install ODH operator", expected = "Operator is up and running and is able to serve it's operands"),
+        @Step(value = "Deploy DSCI", expected = "DSCI is created and ready"),
+        @Step(value = "Deploy DSC", expected = "DSC is created and ready")
+    },
+    afterTestSteps = {
+        @Step(value = "Delete ODH operator and all created resources", expected = "Operator is removed and all other resources as well")
+    }
+)
+public class OperatorCrashRecoveryST extends PerformanceAbstract {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OperatorCrashRecoveryST.class);
+
+    private static final String DS_PROJECT_NAME = "test-crash-recovery";
+    // Removing the component is a cheap DSC edit which shows in status.installedComponents once it is reconciled
+    private static final DscReadinessTracker.Component PROBE_COMPONENT = DscReadinessTracker.Component.RAY;
+    private static final long RECONCILE_POLL_INTERVAL = Duration.ofMillis(500).toMillis();
+
+    @BeforeAll
+    static void deployDataScienceCluster() {
+        if (Environment.SKIP_DEPLOY_DSCI_DSC) {
+            LOGGER.info("DSCI and DSC deploy is skipped");
+            return;
+        }
+
+        // Create DSCI
+        DSCInitialization dsci = DscUtils.getBasicDSCI();
+        // Create DSC
+        DataScienceCluster dsc = DscUtils.getBasicDSC(DS_PROJECT_NAME);
+
+        KubeResourceManager.getInstance().createOrUpdateResourceWithWait(dsci);
+        KubeResourceManager.getInstance().createResourceWithWait(dsc);
+    }
+
+    @TestDoc(
+        description = @Desc("Kills the operator pod, measures the time until a new pod is ready and until an edited DSC is reconciled, and checks that components were not restarted"),
+        contact = @Contact(name = "Jiri Danek", email = "jdanek@redhat.com"),
+        steps = {
+            @Step(value = "Snapshot pods and container restarts of the component deployments", expected = "Snapshot is taken"),
+            @Step(value = "Force delete the operator pod", expected = "Pod is deleted"),
+            @Step(value = "Wait for the replacement operator pod", expected = "New pod is ready"),
+            @Step(value = "Switch the probe component to Removed", expected = "Operator reconciles the edit and reports the component as not installed"),
+            @Step(value = "Compare the component deployments with the snapshot", expected = "No component pod was replaced or restarted"),
+            @Step(value = "Switch the probe component back to Managed", expected = "DSC is ready"),
+            @Step(value = "Report recovery times of all iterations", expected = "Report is attached to Allure and saved in the log directory"),
+        }
+    )
+    @Test
+    void testOperatorCrashRecovery() {
+        DataScienceCluster dsc = DscUtils.getBasicDSC(DS_PROJECT_NAME);
+        DataScienceClusterType dscType = new DataScienceClusterType();
+        PerformanceReport report = new PerformanceReport("operator-crash-recovery")
+                .withParameter("iterations", Environment.PERFORMANCE_ITERATIONS)
+                .withParameter("probeComponent", PROBE_COMPONENT.getInstalledName());
+
+        for (int i = 1; i <= Environment.PERFORMANCE_ITERATIONS; i++) {
+            Deployment operator = DeploymentUtils.getOperatorDeployment();
+            assertNotNull(operator, "Operator Deployment not found");
+            String namespace = operator.getMetadata().getNamespace();
+            String deploymentName = operator.getMetadata().getName();
+
+            Map<String, Map<String, String>> snapshot = DeploymentUtils.namespaceSnapshot(OdhConstants.CONTROLLERS_NAMESPACE);
+            Map<String, Integer> restarts = getRestartCounts(OdhConstants.CONTROLLERS_NAMESPACE);
+
+            Instant killed;
+            try (RolloutTracker tracker = DeploymentUtils.trackRollout(namespace, deploymentName)) {
+                killed = Instant.now();
+                KubeResourceManager.getKubeClient().getClient().pods().inNamespace(namespace)
+                        .withLabelSelector(operator.getSpec().getSelector()).withGracePeriod(0).delete();
+                tracker.waitForRollout(TestConstants.GLOBAL_TIMEOUT);
+                // deployment status can lag behind the pod deletion, so the replacement pod itself has to be seen ready
+                Wait.until("replacement operator pod to be ready", RECONCILE_POLL_INTERVAL, TestConstants.GLOBAL_TIMEOUT,
+                        () -> getReplacementReady(tracker) != null);
+                Instant ready = getReplacementReady(tracker);
+                report.getStats("POD_READY").add(Duration.between(killed, ready));
+                LOGGER.info("Iteration {}: operator pod replaced after {} ms\n{}", i, Duration.between(killed, ready).toMillis(),
+                        tracker.renderTimeline());
+            }
+
+            // the new pod has to win the leader election and sync its caches before it reconciles the edit
+            Instant edited = Instant.now();
+            dscType.replace(dsc, d -> DscUtils.setManagementState(d, PROBE_COMPONENT, false));
+            Wait.until("operator to reconcile the edited DataScienceCluster", RECONCILE_POLL_INTERVAL, TestConstants.GLOBAL_TIMEOUT,
+                    () -> !DscUtils.isInstalled(dscType.get(DS_PROJECT_NAME), PROBE_COMPONENT));
+            Instant reconciled = Instant.now();
+            report.getStats("EDIT_RECONCILED").add(Duration.between(edited, reconciled));
+            report.getStats("RECOVERY").add(Duration.between(killed, reconciled));
+
+            // deployments of the probe component are gone by now, every other component has to keep its pods
+            List<String> rolled = DeploymentUtils.getRolledDeployments(OdhConstants.CONTROLLERS_NAMESPACE, snapshot);
+            Map<String, Integer> restarted = new TreeMap<>(getRestartCounts(OdhConstants.CONTROLLERS_NAMESPACE));
+            restarted.entrySet().removeIf(e -> e.getValue() <= restarts.getOrDefault(e.getKey(), e.getValue()));
+            assertEquals(List.of(), rolled, "Component deployments rolled after operator restart");
+            assertEquals(Map.of(), restarted, "Component pods restarted after operator restart");
+
+            dscType.replace(dsc, d -> DscUtils.setManagementState(d, PROBE_COMPONENT, true));
+            Wait.until("probe component to be installed again", RECONCILE_POLL_INTERVAL, TestConstants.GLOBAL_TIMEOUT,
+                    () -> DscUtils.isInstalled(dscType.get(DS_PROJECT_NAME), PROBE_COMPONENT));
+            dscType.isReady(dsc);
+        }
+        report.export();
+    }
+
+    /**
+     * @return time when the first pod which was not there before the deletion became ready, null when none is ready yet
+     */
+    private static Instant getReplacementReady(RolloutTracker tracker) {
+        return tracker.getTimelines().values().stream()
+                .filter(timeline -> !timeline.isOld() && timeline.getReady() != null)
+                .map(RolloutTracker.PodTimeline::getReady)
+                .min(Instant::compareTo)
+                .orElse(null);
+    }
+
+    /**
+     * @return sum of container restart counts by pod name
+     */
+    private static Map<String, Integer> getRestartCounts(String namespace) {
+        Map<String, Integer> restarts = new TreeMap<>();
+        for (Pod pod : KubeResourceManager.getKubeClient().getClient().pods().inNamespace(namespace).list().getItems()) {
+            int count = pod.getStatus() == null ? 0 : pod.getStatus().getContainerStatuses().stream()
+                    .mapToInt(ContainerStatus::getRestartCount).sum();
+            restarts.put(pod.getMetadata().getName(), count);
+        }
+        return restarts;
+    }
+}
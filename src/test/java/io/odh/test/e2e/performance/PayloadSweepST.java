@@ -0,0 +1,355 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.e2e.performance;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.kserve.serving.v1alpha1.ServingRuntime;
+import io.kserve.serving.v1beta1.InferenceService;
+import io.odh.test.Environment;
+import io.odh.test.platform.KServeV2Client;
+import io.odh.test.utils.DscUtils;
+import io.odh.test.utils.InferenceOutputVerifier;
+import io.odh.test.utils.ModelServingUtils;
+import io.odh.test.utils.PerformanceReport;
+import io.opendatahub.datasciencecluster.v1.DataScienceCluster;
+import io.opendatahub.dscinitialization.v1.DSCInitialization;
+import io.skodjob.annotations.Contact;
+import io.skodjob.annotations.Desc;
+import io.skodjob.annotations.Step;
+import io.skodjob.annotations.SuiteDoc;
+import io.skodjob.annotations.TestDoc;
+import io.skodjob.testframe.resources.KubeResourceManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static io.odh.test.TestUtils.DEFAULT_TIMEOUT_DURATION;
+import static io.odh.test.TestUtils.DEFAULT_TIMEOUT_UNIT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SuiteDoc(
+    description = @Desc("Measures how inference latency and throughput depend on the size of the request payload."),
+    beforeTestSteps = {
+        @Step(value = "Deploy Pipelines Operator", expected = "Pipelines operator is available on the cluster"),
+        @Step(value = "Deploy ServiceMesh Operator", expected = "ServiceMesh operator is available on the cluster"),
+        @Step(value = "Deploy Serverless Operator", expected = "Serverless operator is available on the cluster"),
+        @Step(value = "Install ODH operator", expected = "Operator is up and running and is able to serve it's operands"),
+        @Step(value = "Deploy DSCI", expected = "DSCI is created and ready"),
+        @Step(value = "Deploy DSC", expected = "DSC is created and ready")
+    },
+    afterTestSteps = {
+        @Step(value = "Delete ODH operator and all created resources", expected = "Operator is removed and all other resources as well")
+    }
+)
+public class PayloadSweepST extends PerformanceAbstract {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PayloadSweepST.class);
+
+    private static final String DS_PROJECT_NAME = "test-payload-sweep";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int MNIST_ELEMENTS = 28 * 28;
+    private static final int REQUESTS = 50;
+    private static final int SERIALIZATIONS = 20;
+    private static final int CONCURRENCY = 8;
+    private static final Duration THROUGHPUT_DURATION = Duration.ofSeconds(10);
+
+    @BeforeAll
+    static void deployDataScienceCluster() {
+        if (Environment.SKIP_DEPLOY_DSCI_DSC) {
+            LOGGER.info("DSCI and DSC deploy is skipped");
+            return;
+        }
+
+        // Create DSCI
+        DSCInitialization dsci = DscUtils.getBasicDSCI();
+        // Create DSC
+        DataScienceCluster dsc = DscUtils.getBasicDSC(DS_PROJECT_NAME);
+
+        KubeResourceManager.getInstance().createOrUpdateResourceWithWait(dsci);
+        KubeResourceManager.getInstance().createResourceWithWait(dsc);
+    }
+
+    @TestDoc(
+        description = @Desc("Sends tensors of increasing size to the mnist model served by ModelMesh and finds which part of the request path dominates"),
+        contact = @Contact(name = "Jiri Danek", email = "jdanek@redhat.com"),
+        steps = {
+            @Step(value = "Create namespace, storage secret, OVMS ServingRuntime and mnist InferenceService for ModelMesh", expected = "InferenceService is ready"),
+            @Step(value = "Measure json and binary tensor serialization of the request for each payload size", expected = "Serialization time is recorded"),
+            @Step(value = "Send sequential json and binary requests with the payload, the mnist sized one also with the model's shape", expected = "Model answers the valid request and rejects the others by shape"),
+            @Step(value = "Send concurrent requests with the payload for a fixed time", expected = "Throughput of the responses with the expected status and output is recorded"),
+            @Step(value = "Export latency and throughput per payload size", expected = "Json and csv are attached to Allure and saved in the log directory"),
+        }
+    )
+    @Test
+    void testPayloadSizeSweep() throws IOException {
+        final String projectName = "payload-sweep";
+        final String runtimeName = "ovms-runtime";
+        final String modelName = "mnist";
+        final String deploymentMode = ModelServingUtils.DEPLOYMENT_MODE_MODELMESH;
+
+        KubeResourceManager.getInstance().createResourceWithWait(ModelServingUtils.getModelServingNamespace(projectName, deploymentMode));
+        KubeResourceManager.getInstance().createResourceWithWait(ModelServingUtils.getStorageConfigSecret(projectName));
+        ServingRuntime servingRuntime = ModelServingUtils.getOvmsServingRuntime(projectName, runtimeName, deploymentMode);
+        KubeResourceManager.getInstance().createResourceWithWait(servingRuntime);
+        InferenceService inferenceService = ModelServingUtils.getMnistInferenceService(projectName, modelName, runtimeName, deploymentMode);
+        KubeResourceManager.getInstance().createResourceWithWait(inferenceService);
+
+        HttpClient httpClient = ModelServingUtils.getInferenceHttpClient();
+        String url = ModelServingUtils.getInferenceUrl(inferenceService);
+        assertEquals(200, ModelServingUtils.queryMnistModel(httpClient, url).statusCode());
+
+        KServeV2Client.InferInput mnist = ModelServingUtils.getMnistInput();
+        InferenceOutputVerifier verifier = ModelServingUtils.getMnistOutputVerifier();
+        // binary tensors skip the json number encoding, so the binary path separates the transfer from serialization
+        KServeV2Client binaryClient = new KServeV2Client(httpClient, url);
+        List<PerformanceReport> reports = new ArrayList<>();
+        Map<String, Double> overheadMillis = new HashMap<>();
+        PerformanceReport computeReport = null;
+        double computeMillis = Double.NaN;
+        for (int elements : getPayloadSizes()) {
+            // the mnist model only accepts its one shape, so any other size is sent with a shape the server rejects
+            // after it has received and parsed the whole request; that is the request path without the model
+            float[] data = elements == MNIST_ELEMENTS ? mnist.data() : randomData(elements);
+            KServeV2Client.InferInput input = new KServeV2Client.InferInput(mnist.name(), new long[]{1, elements}, data);
+            byte[] jsonBody = serialize(input);
+            PerformanceReport report = new PerformanceReport("payload-sweep-" + elements)
+                    .withParameter("elements", elements)
+                    .withParameter("jsonBytes", jsonBody.length)
+                    .withParameter("binaryBytes", getContentLength(binaryClient.newInferRequest(List.of(input))));
+
+            for (int i = 0; i < SERIALIZATIONS; i++) {
+                Instant start = Instant.now();
+                serialize(input);
+                report.getStats("SERIALIZE_JSON").add(Duration.between(start, Instant.now()));
+                start = Instant.now();
+                binaryClient.newInferRequest(List.of(input));
+                report.getStats("SERIALIZE_BINARY").add(Duration.between(start, Instant.now()));
+            }
+
+            HttpRequest jsonRequest = newJsonRequest(url, jsonBody);
+            int jsonStatus = measureRequests(httpClient, jsonRequest, report.getStats("REQUEST_JSON")::add);
+            assertTrue(jsonStatus >= 400 && jsonStatus < 500, "Json request with wrong shape should be rejected, got " + jsonStatus);
+            int binaryStatus = measureRequests(httpClient, binaryClient.newInferRequest(List.of(input)), report.getStats("REQUEST_BINARY")::add);
+            assertTrue(binaryStatus >= 400 && binaryStatus < 500, "Binary request with wrong shape should be rejected, got " + binaryStatus);
+
+            if (elements == MNIST_ELEMENTS) {
+                HttpRequest validJson = newJsonRequest(url, serialize(mnist));
+                assertEquals(200, measureRequests(httpClient, validJson, report.getStats("INFER_JSON")::add));
+                verifier.verify(send(httpClient, validJson).body());
+                HttpRequest validBinary = binaryClient.newInferRequest(List.of(mnist));
+                assertEquals(200, measureRequests(httpClient, validBinary, report.getStats("INFER_BINARY")::add));
+                verifier.verify(binaryClient.readResponse(send(httpClient, validBinary)).outputs().get(0).asFloatArray());
+                // compute is only known for the size the model accepts, so it is not attributed to other sizes
+                computeMillis = report.getStats("INFER_BINARY").getPercentile(50) - report.getStats("REQUEST_BINARY").getPercentile(50);
+                computeReport = report.withParameter("computeMs", computeMillis);
+
+                measureThroughput(httpClient, "json", report, () -> validJson, 200, response -> verifier.verify(response.body()));
+                measureThroughput(httpClient, "binary", report, newBinaryRequests(httpClient, url, mnist), 200,
+                        response -> verifier.verify(readResponse(binaryClient, response).outputs().get(0).asFloatArray()));
+            } else {
+                measureThroughput(httpClient, "json", report, () -> jsonRequest, jsonStatus, response -> { });
+                measureThroughput(httpClient, "binary", report, newBinaryRequests(httpClient, url, input), binaryStatus, response -> { });
+            }
+            overheadMillis.putIfAbsent("json", report.getStats("REQUEST_JSON").getPercentile(50));
+            overheadMillis.putIfAbsent("binary", report.getStats("REQUEST_BINARY").getPercentile(50));
+            reports.add(report);
+        }
+
+        // attribute the median latency of each size to the part of the request path which takes the longest,
+        // the request latency of the smallest size is taken as the fixed overhead of the router and the server
+        for (PerformanceReport report : reports) {
+            for (String encoding : List.of("json", "binary")) {
+                String suffix = encoding.toUpperCase(Locale.ROOT);
+                Map<String, Double> parts = new HashMap<>();
+                parts.put("serialization", report.getStats("SERIALIZE_" + suffix).getPercentile(50));
+                parts.put("router", overheadMillis.get(encoding));
+                parts.put("payload", report.getStats("REQUEST_" + suffix).getPercentile(50) - overheadMillis.get(encoding));
+                if (report == computeReport) {
+                    parts.put("compute", computeMillis);
+                }
+                String dominant = parts.entrySet().stream().max(Map.Entry.comparingByValue()).map(Map.Entry::getKey).orElse("unknown");
+                report.withParameter(encoding + "RouterOverheadMs", overheadMillis.get(encoding))
+                        .withParameter(encoding + "Dominant", dominant);
+            }
+        }
+        PerformanceReport.exportAll("payload-sweep", reports);
+    }
+
+    /**
+     * Always contains the size of the mnist input, which is the only one the model computes
+     */
+    private static int[] getPayloadSizes() {
+        return IntStream.concat(IntStream.of(MNIST_ELEMENTS),
+                        Arrays.stream(Environment.PERFORMANCE_PAYLOAD_ELEMENTS.split(",")).map(String::trim).mapToInt(Integer::parseInt))
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+
+    private static float[] randomData(int elements) {
+        Random random = new Random(elements);
+        float[] data = new float[elements];
+        for (int i = 0; i < elements; i++) {
+            data[i] = random.nextFloat();
+        }
+        return data;
+    }
+
+    /**
+     * Request json the same way as the mnist input file, written by a streaming generator
+     */
+    private static byte[] serialize(KServeV2Client.InferInput input) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(input.data().length * 12 + 128);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("inputs");
+            generator.writeStartObject();
+            generator.writeStringField("name", input.name());
+            generator.writeArrayFieldStart("shape");
+            for (long dim : input.shape()) {
+                generator.writeNumber(dim);
+            }
+            generator.writeEndArray();
+            generator.writeStringField("datatype", KServeV2Client.DATATYPE_FP32);
+            generator.writeArrayFieldStart("data");
+            for (float value : input.data()) {
+                generator.writeNumber(value);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static HttpRequest newJsonRequest(String url, byte[] body) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(url + "/infer"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .timeout(Duration.of(DEFAULT_TIMEOUT_DURATION, DEFAULT_TIMEOUT_UNIT.toChronoUnit()))
+                .build();
+    }
+
+    /**
+     * Each call returns the request of a new client, so every throughput thread has its own request buffer
+     */
+    private static Supplier<HttpRequest> newBinaryRequests(HttpClient httpClient, String url, KServeV2Client.InferInput input) {
+        return () -> {
+            try {
+                return new KServeV2Client(httpClient, url).newInferRequest(List.of(input));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private static long getContentLength(HttpRequest request) {
+        return request.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength).orElse(0L);
+    }
+
+    private static KServeV2Client.InferResponse readResponse(KServeV2Client client, HttpResponse<byte[]> response) {
+        try {
+            return client.readResponse(response);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static HttpResponse<byte[]> send(HttpClient httpClient, HttpRequest request) {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return status of the responses, which must be the same for all of them
+     */
+    private static int measureRequests(HttpClient httpClient, HttpRequest request, Consumer<Duration> latency) {
+        int status = send(httpClient, request).statusCode();
+        for (int i = 0; i < REQUESTS; i++) {
+            Instant start = Instant.now();
+            int current = send(httpClient, request).statusCode();
+            latency.accept(Duration.between(start, Instant.now()));
+            assertEquals(status, current, "Status of the same request changed");
+        }
+        return status;
+    }
+
+    /**
+     * Sends requests from {@link #CONCURRENCY} clients for a fixed time, only responses with the expected status
+     * which pass the verification are counted into the throughput, other statuses are reported as errors
+     * @param requests called once per client thread
+     */
+    private static void measureThroughput(HttpClient httpClient, String encoding, PerformanceReport report, Supplier<HttpRequest> requests,
+                                          int expectedStatus, Consumer<HttpResponse<byte[]>> verify) {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        AtomicLong bytes = new AtomicLong();
+        Instant start = Instant.now();
+        Instant end = start.plus(THROUGHPUT_DURATION);
+        try {
+            CompletableFuture.allOf(IntStream.range(0, CONCURRENCY)
+                    .mapToObj(c -> CompletableFuture.runAsync(() -> {
+                        HttpRequest request = requests.get();
+                        long length = getContentLength(request);
+                        while (Instant.now().isBefore(end)) {
+                            HttpResponse<byte[]> response = send(httpClient, request);
+                            if (response.statusCode() != expectedStatus) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                            verify.accept(response);
+                            completed.incrementAndGet();
+                            bytes.addAndGet(length);
+                        }
+                    }, executor))
+                    .toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdownNow();
+        }
+        double seconds = Duration.between(start, Instant.now()).toMillis() / 1000d;
+        report.withParameter(encoding + "ThroughputRps", completed.get() / seconds)
+                .withParameter(encoding + "ThroughputMiBps", bytes.get() / seconds / (1024 * 1024))
+                .withParameter(encoding + "Errors", errors.get());
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.e2e.performance;
+
+import io.odh.test.TestSuite;
+import io.odh.test.e2e.Abstract;
+import io.odh.test.framework.listeners.OdhMetricsListener;
+import io.odh.test.framework.listeners.ResourceUsageListener;
+import io.skodjob.testframe.annotations.ResourceManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+
+@Tag(TestSuite.PERFORMANCE)
+@ResourceManager
+@ExtendWith(OdhMetricsListener.class)
+@ExtendWith(ResourceUsageListener.class)
+public abstract class PerformanceAbstract extends Abstract {
+
+    @BeforeAll
+    void setupEnvironment() throws IOException {
+        installOperator();
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.e2e.performance;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.readiness.Readiness;
+import io.kserve.serving.v1alpha1.ServingRuntime;
+import io.kserve.serving.v1beta1.InferenceService;
+import io.kserve.serving.v1beta1.inferenceservicespec.Predictor;
+import io.odh.test.Environment;
+import io.odh.test.utils.DscUtils;
+import io.odh.test.utils.InferenceOutputVerifier;
+import io.odh.test.utils.ModelServingUtils;
+import io.odh.test.utils.PerformanceReport;
+import io.opendatahub.datasciencecluster.v1.DataScienceCluster;
+import io.opendatahub.dscinitialization.v1.DSCInitialization;
+import io.skodjob.annotations.Contact;
+import io.skodjob.annotations.Desc;
+import io.skodjob.annotations.Step;
+import io.skodjob.annotations.SuiteDoc;
+import io.skodjob.annotations.TestDoc;
+import io.skodjob.testframe.resources.KubeResourceManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SuiteDoc(
+    description = @Desc("Measures scale-from-zero and autoscaling of a Serverless KServe InferenceService."),
+    beforeTestSteps = {
+        @Step(value = "Deploy Pipelines Operator", expected = "Pipelines operator is available on the cluster"),
+        @Step(value = "Deploy ServiceMesh Operator", expected = "ServiceMesh operator is available on the cluster"),
+        @Step(value = "Deploy Serverless Operator", expected = "Serverless operator is available on the cluster"),
+        @Step(value = "Install ODH operator", expected = "Operator is up and running and is able to serve it's operands"),
+        @Step(value = "Deploy DSCI", expected = "DSCI is created and ready"),
+        @Step(value = "Deploy DSC", expected = "DSC is created and ready")
+    },
+    afterTestSteps = {
+        @Step(value = "Delete ODH operator and all created resources", expected = "Operator is removed and all other resources as well")
+    }
+)
+public class ServerlessAutoscalingST extends PerformanceAbstract {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServerlessAutoscalingST.class);
+
+    private static final String DS_PROJECT_NAME = "test-autoscaling";
+    private static final long MAX_REPLICAS = 5;
+    // concurrent requests per replica the Knative autoscaler aims for, kept low so that the ramp triggers scale up
+    private static final long SCALE_TARGET = 1;
+    private static final int MAX_CONCURRENCY = 8;
+    private static final Duration RAMP_STEP_DURATION = Duration.ofSeconds(20);
+    // default Knative stable window is 60s and scale to zero grace period 30s
+    private static final Duration SCALE_DOWN_TIMEOUT = Duration.ofMinutes(10);
+    // slow cold starts are what the test measures, so the first request waits for the model much longer than usual
+    private static final Duration COLD_START_TIMEOUT = Duration.ofMinutes(10);
+    // the autoscaler may add replicas for the ramp load only after the ramp is over
+    private static final Duration SCALE_UP_TIMEOUT = Duration.ofMinutes(2);
+
+    @BeforeAll
+    static void deployDataScienceCluster() {
+        if (Environment.SKIP_DEPLOY_DSCI_DSC) {
+            LOGGER.info("DSCI and DSC deploy is skipped");
+            return;
+        }
+
+        // Create DSCI
+        DSCInitialization dsci = DscUtils.getBasicDSCI();
+        // Create DSC
+        DataScienceCluster dsc = DscUtils.getBasicDSC(DS_PROJECT_NAME);
+
+        KubeResourceManager.getInstance().createOrUpdateResourceWithWait(dsci);
+        KubeResourceManager.getInstance().createResourceWithWait(dsc);
+    }
+
+    @TestDoc(
+        description = @Desc("Repeatedly lets a scale-to-zero InferenceService scale down and wakes it up with a ramped burst of requests"),
+        contact = @Contact(name = "Jiri Danek", email = "jdanek@redhat.com"),
+        steps = {
+            @Step(value = "Create namespace, storage secret and OVMS ServingRuntime for Serverless", expected = "ServingRuntime is created"),
+            @Step(value = "Create InferenceService with minReplicas 0 and concurrency scale target", expected = "InferenceService is ready"),
+            @Step(value = "Wait until the predictor scales to zero", expected = "No predictor pods are running"),
+            @Step(value = "Send a single request with a long timeout", expected = "Model is started and answers with 200"),
+            @Step(value = "Send requests with concurrency ramped up to the maximum", expected = "All requests answer with 200"),
+            @Step(value = "Wait a bounded time for the autoscaler to add replicas", expected = "Scale up time is recorded when more than one replica was ready"),
+            @Step(value = "Report distribution of cold start, scale up, scale down and request latency", expected = "Report is attached to Allure and saved in the log directory"),
+        }
+    )
+    @Test
+    void testScaleFromZero() {
+        final String projectName = "serverless-autoscaling";
+        final String runtimeName = "ovms-runtime";
+        final String modelName = "mnist";
+        final String deploymentMode = ModelServingUtils.DEPLOYMENT_MODE_SERVERLESS;
+
+        KubeResourceManager.getInstance().createResourceWithWait(ModelServingUtils.getModelServingNamespace(projectName, deploymentMode));
+        KubeResourceManager.getInstance().createResourceWithWait(ModelServingUtils.getStorageConfigSecret(projectName));
+        ServingRuntime servingRuntime = ModelServingUtils.getOvmsServingRuntime(projectName, runtimeName, deploymentMode);
+        KubeResourceManager.getInstance().createResourceWithWait(servingRuntime);
+
+        InferenceService inferenceService = ModelServingUtils.getMnistInferenceService(projectName, modelName, runtimeName, deploymentMode);
+        Predictor predictor = inferenceService.getSpec().getPredictor();
+        predictor.setMinReplicas(0L);
+        predictor.setMaxReplicas(MAX_REPLICAS);
+        predictor.setScaleMetric("concurrency");
+        predictor.setScaleTarget(SCALE_TARGET);
+
+        HttpClient httpClient = ModelServingUtils.getInferenceHttpClient();
+        PerformanceReport report = new PerformanceReport("serverless-autoscaling")
+                .withParameter("iterations", Environment.PERFORMANCE_ITERATIONS)
+                .withParameter("maxReplicas", MAX_REPLICAS)
+                .withParameter("scaleTarget", SCALE_TARGET)
+                .withParameter("maxConcurrency", MAX_CONCURRENCY)
+                .withParameter("rampStepSeconds", RAMP_STEP_DURATION.toSeconds());
+
+        ExecutorService executor = Executors.newFixedThreadPool(MAX_CONCURRENCY);
+        try (PredictorPodsWatcher pods = new PredictorPodsWatcher(projectName, modelName)) {
+            KubeResourceManager.getInstance().createResourceWithWait(inferenceService);
+            String url = ModelServingUtils.getInferenceUrl(inferenceService);
+            Instant lastActivity = Instant.now();
+            int maxReady = 0;
+
+            for (int i = 0; i < Environment.PERFORMANCE_ITERATIONS; i++) {
+                Instant scaledDown = pods.await("scale to zero", count -> count == 0, false, lastActivity, SCALE_DOWN_TIMEOUT);
+                report.getStats("SCALE_DOWN").add(Duration.between(lastActivity, scaledDown));
+
+                Instant coldStart = Instant.now();
+                assertEquals(200, ModelServingUtils.sendMnistInferRequest(httpClient, url, COLD_START_TIMEOUT).statusCode(),
+                        "Cold start request failed");
+                report.getStats("COLD_START").add(Duration.between(coldStart, Instant.now()));
+
+                Instant rampStart = Instant.now();
+                runRamp(executor, httpClient, url, report);
+                Instant rampEnd = Instant.now();
+                Instant scaledUp = pods.awaitOrNull(count -> count > 1, true, rampStart, SCALE_UP_TIMEOUT);
+                if (scaledUp != null) {
+                    report.getStats("SCALE_UP").add(Duration.between(rampStart, scaledUp));
+                }
+                int replicas = pods.getMaxReady(rampStart);
+                maxReady = Math.max(maxReady, replicas);
+                LOGGER.info("Iteration {}: scale down {}, cold start {}, scale up {}, {} replicas", i + 1,
+                        Duration.between(lastActivity, scaledDown), Duration.between(coldStart, rampStart),
+                        scaledUp == null ? "none" : Duration.between(rampStart, scaledUp), replicas);
+                // the scale up wait is idle time which counts towards the scale down
+                lastActivity = rampEnd;
+            }
+            report.withParameter("maxReadyReplicas", maxReady);
+        } finally {
+            executor.shutdownNow();
+        }
+        report.export();
+    }
+
+    /**
+     * Sends requests from 1, 2, 4, ... up to {@link #MAX_CONCURRENCY} parallel clients, each concurrency held for {@link #RAMP_STEP_DURATION}
+     */
+    private static void runRamp(ExecutorService executor, HttpClient httpClient, String url, PerformanceReport report) {
+        AtomicInteger failures = new AtomicInteger();
+        InferenceOutputVerifier verifier = ModelServingUtils.getMnistOutputVerifier();
+        for (int concurrency = 1; concurrency <= MAX_CONCURRENCY; concurrency *= 2) {
+            Instant stepEnd = Instant.now().plus(RAMP_STEP_DURATION);
+            List<CompletableFuture<Void>> clients = new ArrayList<>();
+            for (int c = 0; c < concurrency; c++) {
+                clients.add(CompletableFuture.runAsync(() -> {
+                    while (Instant.now().isBefore(stepEnd)) {
+                        Instant start = Instant.now();
+                        HttpResponse<byte[]> response = ModelServingUtils.sendMnistInferRequest(httpClient, url);
+                        report.getStats("BURST_INFERENCE").add(Duration.between(start, Instant.now()));
+                        if (response.statusCode() != 200) {
+                            LOGGER.warn("Request failed with {}", response.statusCode());
+                            failures.incrementAndGet();
+                            continue;
+                        }
+                        try {
+                            verifier.verify(response.body());
+                        } catch (AssertionError e) {
+                            LOGGER.warn("Wrong inference result: {}", e.getMessage());
+                            failures.incrementAndGet();
+                        }
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(clients.toArray(new CompletableFuture[0])).join();
+        }
+        assertEquals(0, failures.get(), "Requests failed or returned wrong results during the ramp");
+    }
+
+    /**
+     * History of the number of predictor pods. Knative changes it on its own, so it is recorded by an informer
+     * and the test asks when a replica count was first reached.
+     */
+    private static final class PredictorPodsWatcher implements ResourceEventHandler<Pod>, AutoCloseable {
+        private record Sample(Instant at, int ready, int total) { }
+
+        private final Map<String, Pod> pods = new HashMap<>();
+        private final List<Sample> samples = new ArrayList<>();
+        private final SharedIndexInformer<Pod> informer;
+
+        private PredictorPodsWatcher(String namespace, String inferenceServiceName) {
+            informer = KubeResourceManager.getKubeClient().getClient().pods().inNamespace(namespace)
+                    .withLabel("serving.kserve.io/inferenceservice", inferenceServiceName).inform(this);
+        }
+
+        private synchronized void update(Pod pod, boolean deleted) {
+            if (deleted) {
+                pods.remove(pod.getMetadata().getUid());
+            } else {
+                pods.put(pod.getMetadata().getUid(), pod);
+            }
+            int ready = (int) pods.values().stream().filter(Readiness::isPodReady).count();
+            Sample last = samples.isEmpty() ? null : samples.get(samples.size() - 1);
+            if (last == null || last.ready() != ready || last.total() != pods.size()) {
+                samples.add(new Sample(Instant.now(), ready, pods.size()));
+                notifyAll();
+            }
+        }
+
+        /**
+         * @param condition condition on the pod count
+         * @param ready true to count ready pods, false to count all pods
+         * @param since ignore samples older than this
+         * @return time the condition was first true, null when it was not
+         */
+        synchronized Instant firstReached(IntPredicate condition, boolean ready, Instant since) {
+            Sample atSince = null;
+            for (Sample s : samples) {
+                if (!s.at().isAfter(since)) {
+                    atSince = s;
+                } else if (condition.test(ready ? s.ready() : s.total())) {
+                    return atSince != null && condition.test(ready ? atSince.ready() : atSince.total()) ? since : s.at();
+                }
+            }
+            return atSince != null && condition.test(ready ? atSince.ready() : atSince.total()) ? since : null;
+        }
+
+        synchronized Instant await(String description, IntPredicate condition, boolean ready, Instant since, Duration timeout) {
+            Instant reached = awaitOrNull(condition, ready, since, timeout);
+            if (reached == null) {
+                throw new IllegalStateException(String.format("Predictor pods did not %s within %s, history: %s", description, timeout, samples));
+            }
+            return reached;
+        }
+
+        /**
+         * @return time the condition was first true, null when it was not true within the timeout
+         */
+        synchronized Instant awaitOrNull(IntPredicate condition, boolean ready, Instant since, Duration timeout) {
+            Instant deadline = Instant.now().plus(timeout);
+            Instant reached = firstReached(condition, ready, since);
+            while (reached == null) {
+                long remaining = Duration.between(Instant.now(), deadline).toMillis();
+                if (remaining <= 0) {
+                    return null;
+                }
+                try {
+                    wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                }
+                reached = firstReached(condition, ready, since);
+            }
+            return reached;
+        }
+
+        synchronized int getMaxReady(Instant since) {
+            return samples.stream().filter(s -> s.at().isAfter(since)).mapToInt(Sample::ready).max().orElse(0);
+        }
+
+        @Override
+        public void onAdd(Pod obj) {
+            update(obj, false);
+        }
+
+        @Override
+        public void onUpdate(Pod oldObj, Pod newObj) {
+            update(newObj, false);
+        }
+
+        @Override
+        public void onDelete(Pod obj, boolean deletedFinalStateUnknown) {
+            update(obj, true);
+        }
+
+        @Override
+        public void close() {
+            informer.stop();
+        }
+    }
+}
@@ -9,7 +9,6 @@ import io.fabric8.kubernetes.api.model.Endpoints;
 import io.fabric8.kubernetes.api.model.IntOrString;
 import io.fabric8.kubernetes.api.model.Namespace;
 import io.fabric8.kubernetes.api.model.NamespaceBuilder;
-import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.apiextensions.v1.CustomResourceDefinition;
 import io.fabric8.kubernetes.client.dsl.Resource;
 import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
@@ -158,12 +157,10 @@ public class DistributedST extends StandardAbstract {
         Allure.step("Wait for service availability");
         TestUtils.waitForServiceNotUnavailable(url);
 
-        Secret signingKey = kubeClient.secrets().inNamespace("openshift-ingress").withName("router-certs-default").get();
-
         HttpClient httpClient = HttpClient.newBuilder()
                 .version(HttpClient.Version.HTTP_2)
                 .followRedirects(HttpClient.Redirect.NORMAL)
-                .sslContext(TlsUtils.getSSLContextFromSecret(signingKey))
+                .sslContext(TlsUtils.getIngressSSLContext())
                 .build();
 
         Allure.step("Run workload through Ray API", () -> {
@@ -317,12 +314,10 @@ public class DistributedST extends StandardAbstract {
         Route route = kubeClient.routes().inNamespace(projectName).withName("ray-dashboard-koranteng").get();
         String url = "https://" + route.getStatus().getIngress().get(0).getHost();
 
-        Secret signingKey = kubeClient.secrets().inNamespace("openshift-ingress").withName("router-certs-default").get();
-
         HttpClient httpClient = HttpClient.newBuilder()
                 .version(HttpClient.Version.HTTP_2)
                 .followRedirects(HttpClient.Redirect.NORMAL)
-                .sslContext(TlsUtils.getSSLContextFromSecret(signingKey))
+                .sslContext(TlsUtils.getIngressSSLContext())
                 .build();
 
         Allure.step("Wait for service availability");
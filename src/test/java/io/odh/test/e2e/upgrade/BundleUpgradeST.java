@@ -30,7 +30,6 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.util.Date;
 import java.util.Map;
 
@@ -70,18 +69,20 @@ public class BundleUpgradeST extends UpgradeAbstract {
             @Step(value = "Install operator via bundle of yaml files with specific version", expected = "Operator is up and running"),
             @Step(value = "Deploy DSC (see UpgradeAbstract for more info)", expected = "DSC is created and ready"),
             @Step(value = "Deploy Notebook to namespace test-odh-notebook-upgrade", expected = "All related pods are up and running. Notebook is in ready state."),
+            @Step(value = "Start availability prober of Dashboard and Notebook routes", expected = "Every failed or slow request is recorded with timestamp"),
             @Step(value = "Apply latest yaml files with latest Operator version", expected = "Yaml file is applied"),
             @Step(value = "Wait for RollingUpdate of Operator pod to a new version", expected = "Operator update is finished and pod is up and running"),
             @Step(value = "Verify that Dashboard pods are stable for 2 minutes", expected = "Dashboard pods are stable por 2 minutes after upgrade"),
             @Step(value = "Verify that Notebook pods are stable for 2 minutes", expected = "Notebook pods are stable por 2 minutes after upgrade"),
-            @Step(value = "Check that ODH operator doesn't contain any error logs", expected = "ODH operator log is error free")
+            @Step(value = "Check that ODH operator doesn't contain any error logs", expected = "ODH operator log is error free"),
+            @Step(value = "Report availability of the probed endpoints", expected = "Unavailability, longest gap and latency inflation during the rolling update are attached to the report")
         },
         labels = {
             @Label(value = TestSuite.BUNDLE_UPGRADE)
         }
     )
     @Test
-    void testUpgradeBundle() throws IOException {
+    void testUpgradeBundle() throws Exception {
         LOGGER.info("Install base version");
         baseBundle = new BundleInstall(Environment.INSTALL_FILE_PREVIOUS_PATH);
         baseBundle.disableModifyOperatorImage();
@@ -105,7 +106,7 @@ public class BundleUpgradeST extends UpgradeAbstract {
 
         deployNotebook(ntbNamespace, ntbName);
 
-        Map<String, String> operatorSnapshot = DeploymentUtils.depSnapshot(baseBundle.getNamespace(), baseBundle.getDeploymentName());
+        operatorRollout = DeploymentUtils.trackRollout(baseBundle.getNamespace(), baseBundle.getDeploymentName());
 
         LabelSelector lblSelector = new LabelSelectorBuilder()
                 .withMatchLabels(Map.of("app", ntbName))
@@ -113,11 +114,17 @@ public class BundleUpgradeST extends UpgradeAbstract {
 
         PodUtils.waitForPodsReady(ntbNamespace, lblSelector, 1, true, () -> { });
 
+        // Measure availability of the endpoints during the upgrade
+        startAvailabilityProber(ntbNamespace, ntbName);
+
         LOGGER.info("Upgrade to latest version");
         upgradeBundle = new BundleInstall(Environment.INSTALL_FILE_PATH);
+        // the operator starts rolling while the bundle is being applied, so the window has to be open before
+        availabilityProber.markWindowStart();
         upgradeBundle.createWithoutResourceManager();
 
-        DeploymentUtils.waitTillDepHasRolled(baseBundle.getNamespace(), baseBundle.getDeploymentName(), operatorSnapshot);
+        DeploymentUtils.waitTillDepHasRolled(operatorRollout);
+        availabilityProber.markWindowEnd();
 
         LabelSelector labelSelector = KubeResourceManager.getKubeClient().getClient().apps().deployments()
                 .inNamespace(OdhConstants.CONTROLLERS_NAMESPACE).withName(OdhConstants.DASHBOARD_CONTROLLER).get().getSpec().getSelector();
@@ -36,7 +36,6 @@ import org.kubeflow.v1.Notebook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -67,18 +66,20 @@ public class OlmUpgradeST extends UpgradeAbstract {
             @Step(value = "Install operator via OLM with manual approval and specific version", expected = "Operator is up and running"),
             @Step(value = "Deploy DSC (see UpgradeAbstract for more info)", expected = "DSC is created and ready"),
             @Step(value = "Deploy Notebook to namespace test-odh-notebook-upgrade", expected = "All related pods are up and running. Notebook is in ready state."),
+            @Step(value = "Start availability prober of Dashboard and Notebook routes", expected = "Every failed or slow request is recorded with timestamp"),
             @Step(value = "Approve install plan for new version", expected = "Install plan is approved"),
             @Step(value = "Wait for RollingUpdate of Operator pod to a new version", expected = "Operator update is finished and pod is up and running"),
             @Step(value = "Verify that Dashboard pods are stable for 2 minutes", expected = "Dashboard pods are stable por 2 minutes after upgrade"),
             @Step(value = "Verify that Notebook pods are stable for 2 minutes", expected = "Notebook pods are stable por 2 minutes after upgrade"),
-            @Step(value = "Check that ODH operator doesn't contain any error logs", expected = "ODH operator log is error free")
+            @Step(value = "Check that ODH operator doesn't contain any error logs", expected = "ODH operator log is error free"),
+            @Step(value = "Report availability of the probed endpoints", expected = "Unavailability, longest gap and latency inflation during the rolling update are attached to the report")
         },
         labels = {
             @Label(value = TestSuite.OLM_UPGRADE)
         }
     )
     @Test
-    void testUpgradeOlm() throws IOException, InterruptedException {
+    void testUpgradeOlm() throws Exception {
         final String ntbNamePre = "test-odh-notebook-pre";
         final String ntbNamePost = "test-odh-notebook-post";
         final String ntbNamespace = "test-odh-notebook-upgrade";
@@ -89,14 +90,12 @@ public class OlmUpgradeST extends UpgradeAbstract {
         olmInstall.createManual();
 
         // Approve install plan created for older version
-        TestUtils.waitForInstallPlan(olmInstall.getNamespace(), olmInstall.getOperatorName() + "." + startingVersion);
-        InstallPlan ip = KubeUtils.getNonApprovedInstallPlan(olmInstall.getNamespace(), olmInstall.getOperatorName() + "." + startingVersion);
-        KubeUtils.approveInstallPlan(olmInstall.getNamespace(), ip.getMetadata().getName());
+        TestUtils.waitForInstallPlan(olmInstall.getNamespace(), olmInstall.getOperatorName() + "." + startingVersion, true);
         // Wait for old version readiness
         DeploymentUtils.waitForDeploymentReady(olmInstall.getNamespace(), olmInstall.getDeploymentName());
 
         // Make snapshot of current operator
-        Map<String, String> operatorSnapshot = DeploymentUtils.depSnapshot(olmInstall.getNamespace(), olmInstall.getDeploymentName());
+        operatorRollout = DeploymentUtils.trackRollout(olmInstall.getNamespace(), olmInstall.getDeploymentName());
 
         // Deploy DSC
         deployDsc(DS_PROJECT_NAME);
@@ -122,13 +121,19 @@ public class OlmUpgradeST extends UpgradeAbstract {
                 .inNamespace(ntbNamespace).withLabelSelector(lblSelectorPre).list().getItems();
         Assertions.assertEquals(1, ntbPodsPre.size());
 
+        // Measure availability of the endpoints during the upgrade
+        startAvailabilityProber(ntbNamespace, ntbNamePre);
+
         LOGGER.info("Upgrade to next available version in OLM catalog");
+        InstallPlan ip = TestUtils.waitForInstallPlan(olmInstall.getNamespace(), olmInstall.getCsvName());
+        // OLM starts rolling the operator as soon as the plan is approved, so the window has to be open before
+        availabilityProber.markWindowStart();
         // Approve upgrade to newer version
-        TestUtils.waitForInstallPlan(olmInstall.getNamespace(), olmInstall.getCsvName());
-        ip = KubeUtils.getNonApprovedInstallPlan(olmInstall.getNamespace(), olmInstall.getCsvName());
+        LOGGER.info("Approving InstallPlan {}", ip.getMetadata().getName());
         KubeUtils.approveInstallPlan(olmInstall.getNamespace(), ip.getMetadata().getName());
         // Wait for operator RU
-        DeploymentUtils.waitTillDepHasRolled(olmInstall.getNamespace(), olmInstall.getDeploymentName(), operatorSnapshot);
+        DeploymentUtils.waitTillDepHasRolled(operatorRollout);
+        availabilityProber.markWindowEnd();
 
         // Wait for pod stability for Dashboard
         LabelSelector labelSelector = KubeResourceManager.getKubeClient().getClient()
@@ -7,11 +7,19 @@ package io.odh.test.e2e.upgrade;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
 import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.openshift.api.model.Route;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.odh.test.Environment;
 import io.odh.test.OdhAnnotationsLabels;
+import io.odh.test.OdhConstants;
 import io.odh.test.TestSuite;
+import io.odh.test.TestUtils;
 import io.odh.test.e2e.Abstract;
 import io.odh.test.framework.manager.resources.NotebookType;
+import io.odh.test.platform.AvailabilityProber;
+import io.odh.test.platform.TlsUtils;
 import io.odh.test.utils.DscUtils;
+import io.odh.test.utils.RolloutTracker;
 import io.opendatahub.datasciencecluster.v1.DataScienceCluster;
 import io.opendatahub.datasciencecluster.v1.DataScienceClusterBuilder;
 import io.opendatahub.datasciencecluster.v1.datascienceclusterspec.ComponentsBuilder;
@@ -33,17 +41,96 @@ import io.opendatahub.datasciencecluster.v1.datascienceclusterspec.components.Wo
 import io.opendatahub.datasciencecluster.v1.datascienceclusterspec.components.WorkbenchesBuilder;
 import io.opendatahub.dscinitialization.v1.DSCInitialization;
 import io.skodjob.testframe.annotations.ResourceManager;
+import io.qameta.allure.Allure;
 import io.skodjob.testframe.resources.KubeResourceManager;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Tag;
 import org.kubeflow.v1.Notebook;
 import org.kubeflow.v1.NotebookBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 @Tag(TestSuite.UPGRADE)
 @ResourceManager
 public abstract class UpgradeAbstract extends Abstract {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(UpgradeAbstract.class);
+
+    protected AvailabilityProber availabilityProber;
+    protected RolloutTracker operatorRollout;
+
+    /**
+     * Prober used by {@link #startAvailabilityProber(String, String)}, it is created on the first call,
+     * so tests can add their own targets through {@link AvailabilityProber#addTarget(String, String)} before probing starts.
+     */
+    protected AvailabilityProber getAvailabilityProber() throws Exception {
+        if (availabilityProber == null) {
+            availabilityProber = new AvailabilityProber(TlsUtils.getIngressSSLContext());
+        }
+        return availabilityProber;
+    }
+
+    /**
+     * Starts probing of the dashboard and notebook routes, so the downtime caused by the upgrade can be reported.
+     * Upgrade tests do not deploy any model server, so no model-serving endpoint is probed.
+     */
+    protected AvailabilityProber startAvailabilityProber(String ntbNamespace, String ntbName) throws Exception {
+        OpenShiftClient client = KubeResourceManager.getKubeClient().getOpenShiftClient();
+        AvailabilityProber prober = getAvailabilityProber();
+
+        Route dashboard = client.routes().inNamespace(OdhConstants.CONTROLLERS_NAMESPACE).withName(OdhConstants.DASHBOARD_ROUTE_NAME).get();
+        prober.addTarget("dashboard", "https://" + dashboard.getSpec().getHost());
+
+        Route notebook = client.routes().inNamespace(ntbNamespace).withName(ntbName).get();
+        if (notebook != null) {
+            prober.addTarget("notebook", "https://" + notebook.getSpec().getHost() + "/notebook/" + ntbNamespace + "/" + ntbName + "/api");
+        } else {
+            LOGGER.warn("Route for Notebook {}/{} not found, notebook availability won't be probed", ntbNamespace, ntbName);
+        }
+
+        prober.start();
+        return prober;
+    }
+
+    @AfterEach
+    void upgradeReport() {
+        if (operatorRollout != null) {
+            operatorRollout.close();
+            String timeline = operatorRollout.renderTimeline();
+            Allure.addAttachment("operator-rollout-timeline", "text/plain", timeline);
+            operatorRollout = null;
+        }
+        if (availabilityProber != null) {
+            availabilityProber.close();
+            String report = availabilityProber.renderReport();
+            LOGGER.info("{}", report);
+            Allure.addAttachment("availability-report", "text/plain", report);
+            List<String> violations = checkAvailability(availabilityProber);
+            availabilityProber = null;
+            if (!violations.isEmpty()) {
+                throw new AssertionError("Availability limits exceeded during upgrade: " + String.join("; ", violations));
+            }
+        }
+    }
+
+    /**
+     * Checks the probed targets against {@link Environment#UPGRADE_MAX_UNAVAILABLE_MS} and {@link Environment#UPGRADE_MAX_GAP_MS}
+     */
+    private static List<String> checkAvailability(AvailabilityProber prober) {
+        Map<String, Double> maxUnavailable = TestUtils.parseLimits(Environment.UPGRADE_MAX_UNAVAILABLE_MS);
+        Map<String, Double> maxGap = TestUtils.parseLimits(Environment.UPGRADE_MAX_GAP_MS);
+        List<String> violations = new ArrayList<>();
+        prober.getReports().forEach((name, report) -> violations.addAll(report.check(
+                maxUnavailable.getOrDefault(name, maxUnavailable.getOrDefault("*", -1d)),
+                maxGap.getOrDefault(name, maxGap.getOrDefault("*", -1d)))));
+        return violations;
+    }
+
     protected void deployDsc(String name) {
         DSCInitialization dsci = DscUtils.getBasicDSCI();
 
@@ -0,0 +1,73 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.unit;
+
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.odh.test.TestSuite;
+import io.odh.test.framework.kubeclient.ApiRequest;
+import io.odh.test.framework.kubeclient.ApiRequestAccounting;
+import io.skodjob.testframe.annotations.TestVisualSeparator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag(TestSuite.UNIT)
+@TestVisualSeparator
+@EnableKubernetesMockClient(crud = true)
+public class ApiRequestAccountingTests {
+
+    private KubernetesClient kubernetesClient;
+
+    @Test
+    void testRequestClassification() {
+        assertEquals(new ApiRequest("list", "pods", null),
+                ApiRequest.of("GET", List.of("api", "v1", "namespaces", "test", "pods"), null));
+        assertEquals(new ApiRequest("watch", "pods", null),
+                ApiRequest.of("GET", List.of("api", "v1", "namespaces", "test", "pods"), "true"));
+        assertEquals(new ApiRequest("get", "namespaces", null),
+                ApiRequest.of("GET", List.of("api", "v1", "namespaces", "test"), null));
+        assertEquals(new ApiRequest("update", "datascienceclusters.datasciencecluster.opendatahub.io", "status"),
+                ApiRequest.of("PUT", List.of("apis", "datasciencecluster.opendatahub.io", "v1", "datascienceclusters", "default-dsc", "status"), null));
+        assertEquals(new ApiRequest("deletecollection", "deployments.apps", null),
+                ApiRequest.of("DELETE", List.of("apis", "apps", "v1", "namespaces", "test", "deployments"), null));
+        assertEquals(new ApiRequest("get", "/version", null),
+                ApiRequest.of("GET", List.of("version"), null));
+        assertTrue(ApiRequest.of("PATCH", List.of("api", "v1", "nodes", "node-1"), null).isWrite());
+        assertNull(ApiRequest.of("GET", List.of("api", "v1", "nodes"), null).subresource());
+    }
+
+    @Test
+    void testRequestsAreAccountedPerTest() {
+        ApiRequestAccounting.startTest("accounting-test");
+        kubernetesClient.configMaps().inNamespace("test").resource(new ConfigMapBuilder()
+                .withNewMetadata()
+                .withName("cm")
+                .endMetadata()
+                .addToData("key", "value")
+                .build()).create();
+        kubernetesClient.configMaps().inNamespace("test").list();
+        kubernetesClient.configMaps().inNamespace("test").list();
+        kubernetesClient.configMaps().inNamespace("test").withName("cm").delete();
+        ApiRequestAccounting.TestStats stats = ApiRequestAccounting.stopTest("accounting-test", ApiRequestAccounting.SUITE);
+
+        Map<String, Long> requests = stats.getRequests();
+        assertEquals(1, requests.get("create configmaps"));
+        assertEquals(2, requests.get("list configmaps"));
+        assertEquals(1, requests.get("delete configmaps"));
+        assertEquals(4, stats.getTotalRequests());
+        assertTrue(stats.getBytesSent() > 0);
+        assertTrue(stats.getBytesReceived() > 0);
+        assertEquals(4, Arrays.stream(stats.getLatencyHistogram()).sum());
+    }
+}
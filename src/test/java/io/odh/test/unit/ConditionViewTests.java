@@ -0,0 +1,74 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.unit;
+
+import io.odh.test.TestSuite;
+import io.odh.test.TestUtils;
+import io.odh.test.utils.ConditionView;
+import io.opendatahub.datasciencecluster.v1.DataScienceCluster;
+import io.opendatahub.datasciencecluster.v1.DataScienceClusterBuilder;
+import io.opendatahub.datasciencecluster.v1.datascienceclusterstatus.ConditionsBuilder;
+import io.skodjob.testframe.annotations.TestVisualSeparator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.kubeflow.v1.Notebook;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag(TestSuite.UNIT)
+@TestVisualSeparator
+public class ConditionViewTests {
+
+    @Test
+    void testDscConditions() {
+        DataScienceCluster dsc = new DataScienceClusterBuilder()
+                .withNewMetadata()
+                .withName("default-dsc")
+                .endMetadata()
+                .withNewStatus()
+                .withConditions(
+                        new ConditionsBuilder().withType("dashboardReady").withStatus("True").withReason("ReconcileCompleted").build(),
+                        new ConditionsBuilder().withType("Degraded").withStatus("False").build(),
+                        new ConditionsBuilder().withType("Available").withStatus("False").withMessage("Waiting for components").build())
+                .endStatus()
+                .build();
+
+        ConditionView view = ConditionView.of(dsc);
+        assertTrue(view.isTrue("dashboardReady"));
+        assertEquals("ReconcileCompleted", view.get("dashboardReady").reason());
+        assertTrue(view.has("Degraded"));
+
+        assertFalse(view.has("workbenchesReady"));
+        assertEquals(ConditionView.UNKNOWN, view.status("workbenchesReady"));
+        assertFalse(view.isTrue("workbenchesReady"));
+
+        Map<String, ConditionView.Condition> unmet = view.unmet(Map.of(
+                "dashboardReady", ConditionView.TRUE,
+                "Degraded", ConditionView.FALSE,
+                "Available", ConditionView.TRUE,
+                "workbenchesReady", ConditionView.TRUE));
+        assertEquals(2, unmet.size());
+        assertEquals("Waiting for components", unmet.get("Available").message());
+        assertEquals(ConditionView.UNKNOWN, unmet.get("workbenchesReady").status());
+    }
+
+    @Test
+    void testMissingStatus() {
+        assertEquals(ConditionView.UNKNOWN, ConditionView.of(new Notebook()).status("Ready"));
+        assertTrue(ConditionView.of((DataScienceCluster) null).asMap().isEmpty());
+    }
+
+    @Test
+    void testMissingConditionLookup() {
+        assertNull(TestUtils.getDscConditionByType(List.of(
+                new ConditionsBuilder().withType("dashboardReady").withStatus("True").build()), "kserveReady"));
+    }
+}
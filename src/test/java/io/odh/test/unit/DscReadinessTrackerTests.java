@@ -0,0 +1,109 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.unit;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.odh.test.TestSuite;
+import io.odh.test.utils.ConditionView;
+import io.odh.test.utils.DscReadinessTracker;
+import io.opendatahub.datasciencecluster.v1.DataScienceCluster;
+import io.opendatahub.datasciencecluster.v1.DataScienceClusterSpec;
+import io.opendatahub.datasciencecluster.v1.DataScienceClusterStatus;
+import io.opendatahub.datasciencecluster.v1.datascienceclusterspec.Components;
+import io.opendatahub.datasciencecluster.v1.datascienceclusterspec.components.Dashboard;
+import io.opendatahub.datasciencecluster.v1.datascienceclusterspec.components.Kserve;
+import io.opendatahub.datasciencecluster.v1.datascienceclusterspec.components.Workbenches;
+import io.opendatahub.datasciencecluster.v1.datascienceclusterstatus.Conditions;
+import io.opendatahub.datasciencecluster.v1.datascienceclusterstatus.ConditionsBuilder;
+import io.skodjob.testframe.annotations.TestVisualSeparator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag(TestSuite.UNIT)
+@TestVisualSeparator
+public class DscReadinessTrackerTests {
+
+    @Test
+    void testExpectationsFollowManagementState() {
+        DataScienceCluster dsc = dsc(Dashboard.ManagementState.Managed, Workbenches.ManagementState.Removed, Kserve.ManagementState.Managed);
+
+        Map<String, String> expectations = DscReadinessTracker.expectations(dsc);
+        assertEquals(ConditionView.TRUE, expectations.get("dashboardReady"));
+        assertEquals(ConditionView.TRUE, expectations.get("kserveReady"));
+        assertFalse(expectations.containsKey("workbenchesReady"));
+        // Components missing in the spec are not expected either
+        assertFalse(expectations.containsKey("codeflareReady"));
+        assertEquals(ConditionView.FALSE, expectations.get("Degraded"));
+    }
+
+    @Test
+    void testPendingComponents() {
+        DataScienceCluster dsc = dsc(Dashboard.ManagementState.Managed, Workbenches.ManagementState.Managed, Kserve.ManagementState.Managed);
+        setConditions(dsc, "dashboardReady");
+
+        DscReadinessTracker tracker = new DscReadinessTracker();
+        assertFalse(tracker.evaluate(dsc));
+        assertEquals(List.of(DscReadinessTracker.Component.WORKBENCHES, DscReadinessTracker.Component.KSERVE),
+                new ArrayList<>(tracker.getPending().keySet()));
+        assertTrue(tracker.getReadyAfter().containsKey(DscReadinessTracker.Component.DASHBOARD));
+
+        setConditions(dsc, "dashboardReady", "workbenchesReady");
+        assertFalse(tracker.evaluate(dsc));
+        assertEquals(List.of(DscReadinessTracker.Component.KSERVE), new ArrayList<>(tracker.getPending().keySet()));
+        assertTrue(tracker.render().contains("KSERVE"));
+
+        // KServe is switched to Removed during the wait, it is not checked anymore
+        dsc.getSpec().getComponents().getKserve().setManagementState(Kserve.ManagementState.Removed);
+        assertTrue(tracker.evaluate(dsc));
+        assertTrue(tracker.getPending().isEmpty());
+        assertTrue(tracker.getUnmet().isEmpty());
+    }
+
+    private static DataScienceCluster dsc(Dashboard.ManagementState dashboardState, Workbenches.ManagementState workbenchesState,
+                                          Kserve.ManagementState kserveState) {
+        Dashboard dashboard = new Dashboard();
+        dashboard.setManagementState(dashboardState);
+        Workbenches workbenches = new Workbenches();
+        workbenches.setManagementState(workbenchesState);
+        Kserve kserve = new Kserve();
+        kserve.setManagementState(kserveState);
+
+        Components components = new Components();
+        components.setDashboard(dashboard);
+        components.setWorkbenches(workbenches);
+        components.setKserve(kserve);
+
+        DataScienceClusterSpec spec = new DataScienceClusterSpec();
+        spec.setComponents(components);
+
+        DataScienceCluster dsc = new DataScienceCluster();
+        dsc.setMetadata(new ObjectMetaBuilder().withName("default-dsc").build());
+        dsc.setSpec(spec);
+        return dsc;
+    }
+
+    private static void setConditions(DataScienceCluster dsc, String... readyComponents) {
+        List<Conditions> conditions = new ArrayList<>(List.of(
+                new ConditionsBuilder().withType("Available").withStatus("True").build(),
+                new ConditionsBuilder().withType("Progressing").withStatus("False").build(),
+                new ConditionsBuilder().withType("Degraded").withStatus("False").build(),
+                new ConditionsBuilder().withType("Upgradeable").withStatus("True").build(),
+                new ConditionsBuilder().withType("ReconcileComplete").withStatus("True").build()));
+        for (String component : readyComponents) {
+            conditions.add(new ConditionsBuilder().withType(component).withStatus("True").build());
+        }
+        DataScienceClusterStatus status = new DataScienceClusterStatus();
+        status.setConditions(conditions);
+        dsc.setStatus(status);
+    }
+}
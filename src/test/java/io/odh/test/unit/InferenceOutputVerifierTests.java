@@ -0,0 +1,78 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.unit;
+
+import io.odh.test.TestSuite;
+import io.odh.test.utils.InferenceOutputVerifier;
+import io.odh.test.utils.ModelServingUtils;
+import io.skodjob.testframe.annotations.TestVisualSeparator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag(TestSuite.UNIT)
+@TestVisualSeparator
+public class InferenceOutputVerifierTests {
+
+    // response of OVMS for the mnist input, with the values formatted differently than the expected ones
+    private static final String MNIST_RESPONSE = """
+            {
+                "model_name": "test-model__isvc-1234",
+                "model_version": "1",
+                "id": "abc",
+                "parameters": {"content_type": "none"},
+                "outputs": [{
+                    "name": "Plus214_Output_0",
+                    "shape": [1, 10],
+                    "datatype": "FP32",
+                    "data": [-8.23305225, -7.749703, -3.42368, 1.2363029E1, -12.079105, 17.266596, -10.570976, 0.71307594, 3.321714, 1.362123]
+                }]
+            }""";
+
+    @Test
+    void testMnistResponse() {
+        byte[] body = MNIST_RESPONSE.getBytes(StandardCharsets.UTF_8);
+        InferenceOutputVerifier verifier = ModelServingUtils.getMnistOutputVerifier();
+
+        verifier.verify(body);
+        verifier.verify(new ByteArrayInputStream(body));
+        assertArrayEquals(ModelServingUtils.MNIST_EXPECTED_OUTPUT, InferenceOutputVerifier.readOutput(body, "Plus214_Output_0"), 1e-6f);
+    }
+
+    @Test
+    void testOutputSelection() {
+        // data before shape and name, nested objects and arrays in skipped fields
+        byte[] body = """
+                {"outputs": [
+                    {"data": [1, 2], "name": "first", "parameters": {"nested": {"a": [1, [2]]}}},
+                    {"name": "second", "datatype": "FP32", "shape": [2, 2], "data": [0.5, -0.5, 1e-3, 4]}
+                ], "model_name": "m"}""".getBytes(StandardCharsets.UTF_8);
+
+        assertArrayEquals(new float[]{1f, 2f}, InferenceOutputVerifier.readOutput(body, null));
+        assertArrayEquals(new float[]{0.5f, -0.5f, 0.001f, 4f}, InferenceOutputVerifier.readOutput(body, "second"));
+        assertThrows(IllegalStateException.class, () -> InferenceOutputVerifier.readOutput(body, "third"));
+        assertThrows(IllegalStateException.class,
+                () -> InferenceOutputVerifier.readOutput("{\"error\": \"model not found\"}".getBytes(StandardCharsets.UTF_8), null));
+    }
+
+    @Test
+    void testTolerance() {
+        InferenceOutputVerifier absolute = new InferenceOutputVerifier("out", new float[]{0f, 100f}, 0.01, 0);
+        absolute.verify(new float[]{0.009f, 100.009f});
+        AssertionError error = assertThrows(AssertionError.class, () -> absolute.verify(new float[]{0f, 100.02f}));
+        assertTrue(error.getMessage().contains("index 1"), error.getMessage());
+
+        InferenceOutputVerifier relative = new InferenceOutputVerifier("out", new float[]{0f, 100f}, 0, 0.001);
+        relative.verify(new float[]{0f, 100.09f});
+        assertThrows(AssertionError.class, () -> relative.verify(new float[]{0.001f, 100f}));
+        assertThrows(AssertionError.class, () -> relative.verify(new float[]{0f}));
+    }
+}
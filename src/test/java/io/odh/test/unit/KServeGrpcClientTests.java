@@ -0,0 +1,171 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.unit;
+
+import com.google.protobuf.ByteString;
+import io.grpc.BindableService;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.odh.test.TestSuite;
+import io.odh.test.platform.KServeGrpcClient;
+import io.odh.test.platform.KServeV2Client;
+import io.odh.test.platform.inference.GRPCInferenceServiceGrpc;
+import io.odh.test.platform.inference.GrpcPredictV2.InferTensorContents;
+import io.odh.test.platform.inference.GrpcPredictV2.ModelInferRequest;
+import io.odh.test.platform.inference.GrpcPredictV2.ModelInferResponse;
+import io.skodjob.testframe.annotations.TestVisualSeparator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag(TestSuite.UNIT)
+@TestVisualSeparator
+public class KServeGrpcClientTests {
+
+    private static final Metadata.Key<String> VMODEL_ID = Metadata.Key.of(KServeGrpcClient.VMODEL_ID_HEADER, Metadata.ASCII_STRING_MARSHALLER);
+
+    private final String serverName = InProcessServerBuilder.generateName();
+    private final Queue<String> vmodelIds = new ConcurrentLinkedQueue<>();
+    private Server server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        // model which doubles its input, "missing" model is not found
+        BindableService service = new GRPCInferenceServiceGrpc.GRPCInferenceServiceImplBase() {
+            @Override
+            public void modelInfer(ModelInferRequest request, StreamObserver<ModelInferResponse> observer) {
+                if ("missing".equals(request.getModelName())) {
+                    observer.onError(Status.NOT_FOUND.withDescription("model missing not found").asRuntimeException());
+                    return;
+                }
+                FloatBuffer input = request.getRawInputContents(0).asReadOnlyByteBuffer().order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+                ByteBuffer output = ByteBuffer.allocate(input.remaining() * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                while (input.hasRemaining()) {
+                    output.putFloat(input.get() * 2);
+                }
+                observer.onNext(ModelInferResponse.newBuilder()
+                        .setModelName(request.getModelName())
+                        .addOutputs(ModelInferResponse.InferOutputTensor.newBuilder()
+                                .setName("out")
+                                .setDatatype(KServeV2Client.DATATYPE_FP32)
+                                .addAllShape(request.getInputs(0).getShapeList()))
+                        .addRawOutputContents(ByteString.copyFrom(output.flip()))
+                        .build());
+                observer.onCompleted();
+            }
+        };
+        ServerInterceptor recordHeader = new ServerInterceptor() {
+            @Override
+            public <Q, S> ServerCall.Listener<Q> interceptCall(ServerCall<Q, S> call, Metadata headers, ServerCallHandler<Q, S> next) {
+                vmodelIds.add(headers.get(VMODEL_ID));
+                return next.startCall(call, headers);
+            }
+        };
+        server = InProcessServerBuilder.forName(serverName)
+                .addService(ServerInterceptors.intercept(service, recordHeader))
+                .build()
+                .start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.shutdownNow();
+    }
+
+    private KServeGrpcClient client(String modelName) {
+        return new KServeGrpcClient(InProcessChannelBuilder.forName(serverName).build(), modelName);
+    }
+
+    @Test
+    void testInfer() throws Exception {
+        try (KServeGrpcClient client = client("mnist")) {
+            KServeV2Client.InferResponse response = client.infer("in", new long[]{1, 3}, new float[]{1.5f, -2f, 0f});
+
+            assertEquals("mnist", response.modelName());
+            assertArrayEquals(new long[]{1, 3}, response.getOutput("out").shape());
+            assertArrayEquals(new float[]{3f, -4f, 0f}, response.getOutput("out").asFloatArray());
+            assertEquals(List.of("mnist"), List.copyOf(vmodelIds));
+        }
+    }
+
+    @Test
+    void testAsyncCallsShareChannel() throws Exception {
+        try (KServeGrpcClient client = client("mnist")) {
+            List<CompletableFuture<KServeV2Client.InferResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                float[] data = new float[1000];
+                data[0] = i;
+                futures.add(client.inferAsync(List.of(new KServeV2Client.InferInput("in", new long[]{1, data.length}, data))));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals(2f * i, futures.get(i).get().getOutput("out").asFloatArray()[0]);
+            }
+            assertEquals(100, vmodelIds.size());
+        }
+    }
+
+    @Test
+    void testErrors() throws Exception {
+        try (KServeGrpcClient client = client("missing")) {
+            IllegalStateException e = assertThrows(IllegalStateException.class, () -> client.infer("in", new long[]{1}, new float[]{1f}));
+            assertTrue(e.getMessage().contains("NOT_FOUND"), e.getMessage());
+
+            ExecutionException async = assertThrows(ExecutionException.class,
+                    () -> client.inferAsync(List.of(new KServeV2Client.InferInput("in", new long[]{1}, new float[]{1f}))).get());
+            assertInstanceOf(IllegalStateException.class, async.getCause());
+            assertTrue(async.getCause().getMessage().contains("NOT_FOUND"), async.getCause().getMessage());
+            assertInstanceOf(StatusRuntimeException.class, async.getCause().getCause());
+        }
+    }
+
+    @Test
+    void testParseFp32Contents() {
+        // response with typed contents instead of raw_output_contents
+        ModelInferResponse response = ModelInferResponse.newBuilder()
+                .setModelName("mnist__isvc-1")
+                .setModelVersion("1")
+                .addOutputs(ModelInferResponse.InferOutputTensor.newBuilder()
+                        .setName("Plus214_Output_0")
+                        .setDatatype("FP32")
+                        .addShape(1)
+                        .addShape(2)
+                        .setContents(InferTensorContents.newBuilder()
+                                .addFp32Contents(-8.233052f)
+                                .addFp32Contents(17.266596f)))
+                .build();
+
+        KServeV2Client.InferResponse parsed = KServeGrpcClient.toInferResponse(response);
+        assertEquals("mnist__isvc-1", parsed.modelName());
+        assertArrayEquals(new long[]{1, 2}, parsed.getOutput("Plus214_Output_0").shape());
+        assertArrayEquals(new float[]{-8.233052f, 17.266596f}, parsed.getOutput("Plus214_Output_0").asFloatArray());
+    }
+}
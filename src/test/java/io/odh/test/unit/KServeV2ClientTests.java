@@ -0,0 +1,130 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.unit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import io.odh.test.TestSuite;
+import io.odh.test.platform.KServeV2Client;
+import io.odh.test.unit.mock.MockHttpServer;
+import io.skodjob.testframe.annotations.TestVisualSeparator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag(TestSuite.UNIT)
+@TestVisualSeparator
+public class KServeV2ClientTests {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private MockHttpServer httpd;
+    private final List<JsonNode> requestHeaders = new ArrayList<>();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        httpd = MockHttpServer.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        httpd.close();
+    }
+
+    private KServeV2Client client(String model) {
+        return new KServeV2Client(HttpClient.newHttpClient(), "%s/v2/models/%s".formatted(httpd.getUrl(), model));
+    }
+
+    @Test
+    void testBinaryRoundTrip() throws Exception {
+        // model which doubles its input, answering with binary output
+        httpd.handle("/v2/models/double/infer", exchange -> {
+            float[] input = readBinaryInput(exchange);
+            ByteBuffer output = ByteBuffer.allocate(input.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (float f : input) {
+                output.putFloat(f * 2);
+            }
+            String header = """
+                    {"model_name":"double","outputs":[{"name":"out","datatype":"FP32","shape":[1,%d],"parameters":{"binary_data_size":%d}}]}"""
+                    .formatted(input.length, output.capacity());
+            exchange.getResponseHeaders().add(KServeV2Client.HEADER_CONTENT_LENGTH, String.valueOf(header.getBytes(StandardCharsets.UTF_8).length));
+            MockHttpServer.respond(exchange, 200, header.getBytes(StandardCharsets.UTF_8), output.array());
+        });
+        KServeV2Client client = client("double");
+
+        KServeV2Client.InferResponse response = client.infer("in", new long[]{1, 3}, new float[]{1.5f, -2f, 0f});
+        assertEquals("double", response.modelName());
+        assertArrayEquals(new long[]{1, 3}, response.getOutput("out").shape());
+        assertArrayEquals(new float[]{3f, -4f, 0f}, response.getOutput("out").asFloatArray());
+
+        // larger than the initial request buffer, the buffer grows and is reused
+        float[] large = new float[100_000];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = i;
+        }
+        float[] doubled = client.infer("in", new long[]{1, large.length}, large).getOutput("out").asFloatArray();
+        assertEquals(large.length, doubled.length);
+        assertEquals(2f * (large.length - 1), doubled[large.length - 1]);
+        assertArrayEquals(new float[]{2f}, client.infer("in", new long[]{1, 1}, new float[]{1f}).getOutput("out").asFloatArray());
+
+        JsonNode input = requestHeaders.get(0).get("inputs").get(0);
+        assertEquals("in", input.get("name").asText());
+        assertEquals("FP32", input.get("datatype").asText());
+        assertEquals(12, input.get("parameters").get("binary_data_size").asInt());
+        assertTrue(requestHeaders.get(0).get("parameters").get("binary_data_output").asBoolean());
+    }
+
+    @Test
+    void testJsonOutput() throws Exception {
+        // server which ignores binary_data_output
+        httpd.handle("/v2/models/mnist/infer", exchange -> {
+            readBinaryInput(exchange);
+            MockHttpServer.respond(exchange, 200, """
+                    {"model_name":"mnist","outputs":[{"name":"Plus214_Output_0","datatype":"FP32","shape":[1,3],"data":[-8.233052,17.266596,0]}]}"""
+                    .getBytes(StandardCharsets.UTF_8));
+        });
+
+        KServeV2Client.InferResponse response = client("mnist").infer("Input3", new long[]{1, 2}, new float[]{0f, 1f});
+        assertArrayEquals(new float[]{-8.233052f, 17.266596f, 0f}, response.getOutput("Plus214_Output_0").asFloatArray());
+    }
+
+    @Test
+    void testErrorResponse() {
+        httpd.handle("/v2/models/broken/infer", exchange -> {
+            readBinaryInput(exchange);
+            MockHttpServer.respond(exchange, 400, "{\"error\":\"invalid input shape\"}".getBytes(StandardCharsets.UTF_8));
+        });
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> client("broken").infer("in", new long[]{1}, new float[]{1f}));
+        assertTrue(e.getMessage().contains("invalid input shape"), e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> client("broken").infer("in", new long[]{2, 2}, new float[]{1f}));
+    }
+
+    private float[] readBinaryInput(HttpExchange exchange) throws IOException {
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        int headerLength = Integer.parseInt(exchange.getRequestHeaders().getFirst(KServeV2Client.HEADER_CONTENT_LENGTH));
+        JsonNode header = MAPPER.readTree(body, 0, headerLength);
+        requestHeaders.add(header);
+        float[] input = new float[(body.length - headerLength) / Float.BYTES];
+        ByteBuffer.wrap(body, headerLength, body.length - headerLength).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(input);
+        return input;
+    }
+}
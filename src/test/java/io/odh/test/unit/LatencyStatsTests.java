@@ -0,0 +1,84 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.unit;
+
+import io.odh.test.TestSuite;
+import io.odh.test.utils.LatencyStats;
+import io.odh.test.utils.PerformanceReport;
+import io.skodjob.testframe.annotations.TestVisualSeparator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag(TestSuite.UNIT)
+@TestVisualSeparator
+public class LatencyStatsTests {
+
+    @Test
+    void testPercentiles() {
+        LatencyStats stats = new LatencyStats("first-success");
+        // more samples than the initial capacity, added in reverse order
+        for (int i = 100; i > 0; i--) {
+            stats.add(Duration.ofMillis(i));
+        }
+
+        assertEquals(100, stats.getCount());
+        assertEquals(1, stats.getMin());
+        assertEquals(100, stats.getMax());
+        assertEquals(50.5, stats.getMean(), 1e-9);
+        assertEquals(50, stats.getPercentile(50));
+        assertEquals(90, stats.getPercentile(90));
+        assertEquals(100, stats.getPercentile(100));
+        assertEquals(1, stats.getPercentile(0.1));
+        assertThrows(IllegalArgumentException.class, () -> stats.getPercentile(0));
+    }
+
+    @Test
+    void testEmptyStats() {
+        LatencyStats stats = new LatencyStats("empty");
+        assertTrue(Double.isNaN(stats.getPercentile(50)));
+        assertTrue(Double.isNaN(stats.getMean()));
+        assertTrue(stats.render().startsWith("empty"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testReport() {
+        PerformanceReport report = new PerformanceReport("cold-start").withParameter("iterations", 2);
+        report.getStats("MODEL_LOADED").add(1000);
+        report.getStats("MODEL_LOADED").add(3000);
+        report.getStats("FIRST_SUCCESS").add(5000);
+
+        Map<String, Object> map = report.toMap();
+        assertEquals(Map.of("iterations", 2), map.get("parameters"));
+        List<Map<String, Object>> rows = (List<Map<String, Object>>) map.get("stats");
+        assertEquals(List.of("MODEL_LOADED", "FIRST_SUCCESS"), rows.stream().map(r -> r.get("name")).toList());
+        assertEquals(2000d, rows.get(0).get("mean"));
+        assertTrue(report.render().contains("FIRST_SUCCESS"));
+    }
+
+    @Test
+    void testCsv() {
+        PerformanceReport small = new PerformanceReport("sweep-784").withParameter("elements", 784);
+        small.getStats("REQUEST").add(10);
+        PerformanceReport large = new PerformanceReport("sweep-8192").withParameter("elements", 8192).withParameter("note", "rejected, \"400\"");
+        large.getStats("REQUEST").add(20);
+        large.getStats("SERIALIZE").add(1);
+
+        List<String> lines = PerformanceReport.toCsv(List.of(small, large)).lines().toList();
+        assertEquals(4, lines.size());
+        assertEquals("elements,name,count,min,p50,p90,p99,max,mean,note", lines.get(0));
+        assertEquals("784,REQUEST,1,10.0,10.0,10.0,10.0,10.0,10.0,", lines.get(1));
+        assertEquals("8192,REQUEST,1,20.0,20.0,20.0,20.0,20.0,20.0,\"rejected, \"\"400\"\"\"", lines.get(2));
+        assertTrue(lines.get(3).startsWith("8192,SERIALIZE,1,"));
+    }
+}
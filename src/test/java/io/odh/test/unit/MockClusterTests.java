@@ -0,0 +1,367 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.unit;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.EventBuilder;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Namespace;
+import io.fabric8.kubernetes.api.model.NamespaceBuilder;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.fabric8.kubernetes.api.model.apps.ReplicaSet;
+import io.fabric8.kubernetes.api.model.apps.ReplicaSetBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.openshift.api.model.operatorhub.v1alpha1.ClusterServiceVersionBuilder;
+import io.fabric8.openshift.api.model.operatorhub.v1alpha1.InstallPlan;
+import io.fabric8.openshift.api.model.operatorhub.v1alpha1.InstallPlanBuilder;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.odh.test.TestSuite;
+import io.odh.test.TestUtils;
+import io.odh.test.framework.manager.resources.DataScienceClusterType;
+import io.odh.test.install.OlmInstall;
+import io.odh.test.unit.mock.MockCluster;
+import io.odh.test.unit.mock.MockClusterExtension;
+import io.odh.test.unit.mock.MockScripts;
+import io.odh.test.unit.mock.ScriptedController;
+import io.odh.test.utils.DeploymentUtils;
+import io.odh.test.utils.DscReconcileRecorder;
+import io.odh.test.utils.EventIndex;
+import io.odh.test.utils.NamespaceUtils;
+import io.odh.test.utils.TeardownUtils;
+import io.opendatahub.datasciencecluster.v1.DataScienceCluster;
+import io.opendatahub.datasciencecluster.v1.DataScienceClusterBuilder;
+import io.opendatahub.datasciencecluster.v1.datascienceclusterspec.components.Dashboard;
+import io.opendatahub.datasciencecluster.v1.datascienceclusterspec.components.Workbenches;
+import io.skodjob.testframe.annotations.TestVisualSeparator;
+import io.skodjob.testframe.wait.Wait;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag(TestSuite.UNIT)
+@TestVisualSeparator
+@ExtendWith(MockClusterExtension.class)
+public class MockClusterTests {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MockClusterTests.class);
+
+    private static MockCluster cluster;
+    private static KubernetesClient client;
+
+    @BeforeAll
+    static void startCluster() {
+        cluster = MockCluster.getInstance();
+        client = cluster.getClient();
+    }
+
+    @AfterEach
+    void resetCluster() {
+        cluster.reset();
+    }
+
+    @Test
+    void testDataScienceClusterReadiness() {
+        DataScienceCluster dsc = new DataScienceClusterBuilder()
+                .withNewMetadata()
+                .withName("mock-dsc")
+                .endMetadata()
+                .withNewSpec()
+                .withNewComponents()
+                .withNewDashboard()
+                .withManagementState(Dashboard.ManagementState.Managed)
+                .endDashboard()
+                .withNewWorkbenches()
+                .withManagementState(Workbenches.ManagementState.Managed)
+                .endWorkbenches()
+                .endDatascienceclusterspecComponents()
+                .endSpec()
+                .build();
+
+        try (ScriptedController<DataScienceCluster> controller = ScriptedController.of(client, DataScienceCluster.class)
+                .step(Duration.ofSeconds(1), MockScripts.dscReady())
+                .start()) {
+            DataScienceClusterType dscType = new DataScienceClusterType();
+            dscType.create(dsc);
+
+            long start = System.nanoTime();
+            assertTrue(dscType.isReady(client.resources(DataScienceCluster.class).withName("mock-dsc").get()));
+            LOGGER.info("DataScienceCluster became ready in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    @Test
+    void testDscReconcileWaterfall() throws IOException {
+        DataScienceCluster dsc = new DataScienceClusterBuilder()
+                .withNewMetadata()
+                .withName("mock-dsc-reconcile")
+                .endMetadata()
+                .build();
+
+        try (ScriptedController<DataScienceCluster> controller = ScriptedController.of(client, DataScienceCluster.class)
+                .step(Duration.ofSeconds(1), MockScripts.dscConditions(Map.of(
+                        "dashboardReady", "True",
+                        "workbenchesReady", "False",
+                        "ReconcileComplete", "False")))
+                .step(Duration.ofSeconds(1), MockScripts.dscReady())
+                .start();
+             DscReconcileRecorder recorder = DscReconcileRecorder.start("mock-dsc-reconcile")) {
+            client.resources(DataScienceCluster.class).resource(dsc).create();
+            Wait.until("ReconcileComplete is recorded", 100, Duration.ofSeconds(30).toMillis(),
+                    () -> recorder.getWaterfall().reconcileCompleteSeconds() >= 0);
+
+            assertTrue(recorder.isComplete());
+            DscReconcileRecorder.Waterfall waterfall = recorder.getWaterfall();
+            LOGGER.info("{}", recorder.render());
+            assertEquals(Set.of("dashboard", "workbenches"), waterfall.components().keySet());
+            assertTrue(waterfall.components().get("dashboard") < waterfall.components().get("workbenches"));
+            // workbenchesReady False and then True
+            assertEquals(2, waterfall.transitions().stream().filter(t -> t.condition().equals("workbenchesReady")).count());
+
+            assertEquals(waterfall, DscReconcileRecorder.readWaterfall(recorder.export()));
+            assertTrue(DscReconcileRecorder.compare(waterfall, waterfall, 1, Duration.ZERO).isEmpty());
+
+            DscReconcileRecorder.Waterfall baseline = new DscReconcileRecorder.Waterfall("baseline", null, 0,
+                    Map.of("dashboard", 0d, "kserve", 0d), List.of());
+            List<String> regressions = DscReconcileRecorder.compare(waterfall, baseline, 1.5, Duration.ZERO);
+            assertEquals(2, regressions.size(), regressions.toString());
+        }
+    }
+
+    @Test
+    void testEventIndex() {
+        ConfigMap tracked = client.configMaps().inNamespace("mock-events").resource(new ConfigMapBuilder()
+                .withNewMetadata()
+                .withName("tracked")
+                .endMetadata()
+                .build()).create();
+        ConfigMap other = client.configMaps().inNamespace("mock-events").resource(new ConfigMapBuilder()
+                .withNewMetadata()
+                .withName("other")
+                .endMetadata()
+                .build()).create();
+        MockScripts.emitEvent(client, tracked, "mock-events", "Created");
+
+        String uid = tracked.getMetadata().getUid();
+        EventIndex.getInstance().track(uid, "mock-events");
+        try {
+            assertTrue(EventIndex.getInstance().hasReason(uid, "Created"));
+
+            MockScripts.emitEvent(client, other, "mock-events", "Updated");
+            MockScripts.emitEvent(client, tracked, "mock-events", "Synced");
+            Wait.until("Synced event is indexed", 100, Duration.ofSeconds(10).toMillis(),
+                    () -> EventIndex.getInstance().hasReason(uid, "Synced"));
+            assertEquals(Set.of("Created", "Synced"), EventIndex.getInstance().getReasons(uid));
+        } finally {
+            EventIndex.getInstance().untrack(uid);
+        }
+        assertTrue(EventIndex.getInstance().getReasons(uid).isEmpty());
+    }
+
+    @Test
+    void testWaitForInstallPlan() {
+        String namespace = "mock-operators";
+        String csvName = "opendatahub-operator.v2.99.0";
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        executor.schedule(() -> client.adapt(OpenShiftClient.class).operatorHub().installPlans().inNamespace(namespace)
+                .resource(new InstallPlanBuilder()
+                        .withNewMetadata()
+                        .withName("install-mock")
+                        .withNamespace(namespace)
+                        .endMetadata()
+                        .withNewSpec()
+                        .withApproved(false)
+                        .withApproval("Manual")
+                        .withClusterServiceVersionNames(csvName)
+                        .endSpec()
+                        .build())
+                .create(), 500, TimeUnit.MILLISECONDS);
+
+        try {
+            InstallPlan ip = TestUtils.waitForInstallPlan(namespace, csvName, true);
+            assertEquals("install-mock", ip.getMetadata().getName());
+            assertTrue(client.adapt(OpenShiftClient.class).operatorHub().installPlans().inNamespace(namespace)
+                    .withName("install-mock").get().getSpec().getApproved());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testOlmInstallDeletesOperatorCsvAndInstallPlans() {
+        OlmInstall olmInstall = new OlmInstall();
+        String namespace = olmInstall.getNamespace();
+        String operatorLabel = "operators.coreos.com/" + olmInstall.getOperatorName() + "." + namespace;
+        String labelled = olmInstall.getOperatorName() + ".v2.98.0";
+        String unlabelled = olmInstall.getOperatorName() + ".v2.99.0";
+        createCsv(namespace, labelled, Map.of(operatorLabel, ""));
+        createCsv(namespace, unlabelled, Map.of());
+        createCsv(namespace, "other-operator.v1.0.0", Map.of());
+        createInstallPlan(namespace, "install-odh", unlabelled);
+        createInstallPlan(namespace, "install-other", "other-operator.v1.0.0");
+
+        olmInstall.deleteCSV();
+
+        OpenShiftClient openShiftClient = client.adapt(OpenShiftClient.class);
+        assertEquals(List.of("other-operator.v1.0.0"), openShiftClient.operatorHub().clusterServiceVersions().inNamespace(namespace)
+                .list().getItems().stream().map(csv -> csv.getMetadata().getName()).toList());
+        assertEquals(List.of("install-other"), openShiftClient.operatorHub().installPlans().inNamespace(namespace)
+                .list().getItems().stream().map(ip -> ip.getMetadata().getName()).toList());
+    }
+
+    @Test
+    void testNamespaceDeletionWithLatency() {
+        cluster.getDispatcher().setLatency(Duration.ofMillis(50));
+        Namespace ns = client.namespaces().resource(new NamespaceBuilder()
+                .withNewMetadata()
+                .withName("mock-deleted")
+                .endMetadata()
+                .build()).create();
+
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        executor.schedule(() -> client.resource(ns).delete(), 500, TimeUnit.MILLISECONDS);
+        try {
+            NamespaceUtils.waitForNamespaceDeletion("mock-deleted", Duration.ofSeconds(30).toMillis());
+            assertNull(client.namespaces().withName("mock-deleted").get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testBatchTeardown() {
+        cluster.getDispatcher().setLatency("DELETE", Duration.ofMillis(100));
+        List<HasMetadata> resources = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            resources.add(client.configMaps().inNamespace("mock-teardown-" + i % 2).resource(new ConfigMapBuilder()
+                    .withNewMetadata()
+                    .withName("config-" + i)
+                    .endMetadata()
+                    .build()).create());
+        }
+
+        long start = System.nanoTime();
+        assertTrue(TeardownUtils.deleteAndWait(resources, Duration.ofSeconds(30).toMillis()));
+        LOGGER.info("Teardown of {} resources took {} ms", resources.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        List<ConfigMap> remaining = client.configMaps().inAnyNamespace().list().getItems();
+        assertFalse(remaining.stream().anyMatch(cm -> cm.getMetadata().getName().startsWith("config-")));
+        assertEquals(10, cluster.getDispatcher().getRequestCount("DELETE"));
+    }
+
+    @Test
+    void testDiagnosticSnapshotEvents() {
+        String namespace = "mock-diagnostics";
+        Deployment dashboard = createDeployment(namespace, "odh-dashboard");
+        Deployment other = createDeployment(namespace, "odh-dashboard-xyz");
+        ReplicaSet dashboardRs = createReplicaSet(namespace, "odh-dashboard-5d8f7c9b6", dashboard);
+        ReplicaSet otherRs = createReplicaSet(namespace, "odh-dashboard-xyz-7f6d5c4b3", other);
+
+        emitCoreEvent(namespace, dashboard, "ScalingReplicaSet");
+        emitCoreEvent(namespace, dashboardRs, "SuccessfulCreate");
+        emitCoreEvent(namespace, other, "OtherScaling");
+        emitCoreEvent(namespace, otherRs, "OtherCreate");
+        // Pod which is already deleted, recognized by the ReplicaSet name
+        emitCoreEvent(namespace, new PodBuilder().withNewMetadata().withName("odh-dashboard-5d8f7c9b6-abcde").withUid("gone")
+                .endMetadata().build(), "Killing");
+
+        String snapshot = DeploymentUtils.diagnosticSnapshot(dashboard, namespace);
+        LOGGER.info("{}", snapshot);
+        assertTrue(snapshot.contains("ScalingReplicaSet"), snapshot);
+        assertTrue(snapshot.contains("SuccessfulCreate"), snapshot);
+        assertTrue(snapshot.contains("Killing"), snapshot);
+        assertFalse(snapshot.contains("OtherScaling"), snapshot);
+        assertFalse(snapshot.contains("OtherCreate"), snapshot);
+    }
+
+    private static void createCsv(String namespace, String name, Map<String, String> labels) {
+        client.adapt(OpenShiftClient.class).operatorHub().clusterServiceVersions().inNamespace(namespace)
+                .resource(new ClusterServiceVersionBuilder()
+                        .withNewMetadata()
+                        .withName(name)
+                        .withLabels(labels)
+                        .endMetadata()
+                        .build())
+                .create();
+    }
+
+    private static void createInstallPlan(String namespace, String name, String csvName) {
+        client.adapt(OpenShiftClient.class).operatorHub().installPlans().inNamespace(namespace)
+                .resource(new InstallPlanBuilder()
+                        .withNewMetadata()
+                        .withName(name)
+                        .endMetadata()
+                        .withNewSpec()
+                        .withApproval("Manual")
+                        .withClusterServiceVersionNames(csvName)
+                        .endSpec()
+                        .build())
+                .create();
+    }
+
+    private static Deployment createDeployment(String namespace, String name) {
+        return client.apps().deployments().inNamespace(namespace).resource(new DeploymentBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .endMetadata()
+                .withNewSpec()
+                .withNewSelector()
+                .addToMatchLabels("app", "odh-dashboard")
+                .endSelector()
+                .endSpec()
+                .build()).create();
+    }
+
+    private static ReplicaSet createReplicaSet(String namespace, String name, Deployment owner) {
+        return client.apps().replicaSets().inNamespace(namespace).resource(new ReplicaSetBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .addToLabels("app", "odh-dashboard")
+                .addNewOwnerReference()
+                .withApiVersion("apps/v1")
+                .withKind("Deployment")
+                .withName(owner.getMetadata().getName())
+                .withUid(owner.getMetadata().getUid())
+                .endOwnerReference()
+                .endMetadata()
+                .build()).create();
+    }
+
+    private static void emitCoreEvent(String namespace, HasMetadata involved, String reason) {
+        client.v1().events().inNamespace(namespace).resource(new EventBuilder()
+                .withNewMetadata()
+                .withGenerateName(involved.getMetadata().getName() + ".")
+                .endMetadata()
+                .withNewInvolvedObject()
+                .withKind(involved.getKind())
+                .withName(involved.getMetadata().getName())
+                .withUid(involved.getMetadata().getUid())
+                .endInvolvedObject()
+                .withReason(reason)
+                .withType("Normal")
+                .build()).create();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.unit;
+
+import io.odh.test.TestSuite;
+import io.odh.test.platform.PrometheusClient;
+import io.odh.test.unit.mock.MockHttpServer;
+import io.odh.test.utils.OdhMetricsRecorder;
+import io.skodjob.testframe.annotations.TestVisualSeparator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag(TestSuite.UNIT)
+@TestVisualSeparator
+public class PrometheusClientTests {
+
+    private MockHttpServer httpd;
+    private final List<String> queries = new ArrayList<>();
+    private final List<String> authorizations = new ArrayList<>();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        httpd = MockHttpServer.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        httpd.close();
+    }
+
+    private PrometheusClient client() {
+        return new PrometheusClient(HttpClient.newHttpClient(), httpd.getUrl(), "the-token");
+    }
+
+    private void respond(String path, int status, String body) {
+        httpd.handle(path, exchange -> {
+            queries.add(URLDecoder.decode(exchange.getRequestURI().getRawQuery(), StandardCharsets.UTF_8));
+            authorizations.add(exchange.getRequestHeaders().getFirst("Authorization"));
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            MockHttpServer.respond(exchange, status, body.getBytes(StandardCharsets.UTF_8));
+        });
+    }
+
+    @Test
+    void testQueryRange() throws Exception {
+        respond("/api/v1/query_range", 200, """
+                {"status":"success","data":{"resultType":"matrix","result":[
+                  {"metric":{"controller":"datasciencecluster"},"values":[[1700000000,"0.25"],[1700000015.5,"NaN"]]},
+                  {"metric":{"controller":"dscinitialization"},"values":[[1700000000,"+Inf"]]}
+                ]}}""");
+
+        List<PrometheusClient.Series> series = client().queryRange("workqueue_depth{namespace=~\"a|b\"}",
+                Instant.ofEpochSecond(1700000000), Instant.ofEpochSecond(1700000060), Duration.ofSeconds(15));
+
+        assertEquals("query=workqueue_depth{namespace=~\"a|b\"}&start=1700000000.000&end=1700000060.000&step=15.000", queries.get(0));
+        assertEquals("Bearer the-token", authorizations.get(0));
+        assertEquals(2, series.size());
+        assertEquals(Map.of("controller", "datasciencecluster"), series.get(0).labels());
+        assertEquals(new PrometheusClient.Sample(Instant.ofEpochSecond(1700000000), 0.25), series.get(0).samples().get(0));
+        assertEquals(Instant.ofEpochMilli(1700000015500L), series.get(0).samples().get(1).time());
+        assertTrue(Double.isNaN(series.get(0).samples().get(1).value()));
+        assertEquals(Double.POSITIVE_INFINITY, series.get(1).samples().get(0).value());
+
+        String csv = OdhMetricsRecorder.toCsv(series);
+        assertEquals("""
+                time,series,value
+                2023-11-14T22:13:20Z,"{controller=""datasciencecluster""}",0.25
+                2023-11-14T22:13:35.500Z,"{controller=""datasciencecluster""}",NaN
+                2023-11-14T22:13:20Z,"{controller=""dscinitialization""}",Infinity
+                """, csv);
+    }
+
+    @Test
+    void testInstantQuery() throws Exception {
+        respond("/api/v1/query", 200, """
+                {"status":"success","data":{"resultType":"vector","result":[
+                  {"metric":{"namespace":"opendatahub","pod":"dashboard-1"},"value":[1700000000,"123456789"]}
+                ]}}""");
+
+        List<PrometheusClient.Series> series = client().query("container_memory_working_set_bytes");
+
+        assertEquals(1, series.size());
+        assertEquals("{namespace=\"opendatahub\",pod=\"dashboard-1\"}", series.get(0).labelString());
+        assertEquals(List.of(new PrometheusClient.Sample(Instant.ofEpochSecond(1700000000), 123456789d)), series.get(0).samples());
+    }
+
+    @Test
+    void testQueryError() {
+        respond("/api/v1/query", 400, """
+                {"status":"error","errorType":"bad_data","error":"parse error at char 5"}""");
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> client().query("sum(("));
+        assertTrue(e.getMessage().contains("bad_data parse error at char 5"), e.getMessage());
+    }
+}
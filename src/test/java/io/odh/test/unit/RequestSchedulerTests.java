@@ -0,0 +1,154 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.unit;
+
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.ConfigBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import io.odh.test.TestSuite;
+import io.odh.test.framework.kubeclient.ApiRequest;
+import io.odh.test.framework.kubeclient.InstrumentedOkHttpClientFactory;
+import io.odh.test.framework.kubeclient.RateLimitingInterceptor;
+import io.odh.test.framework.kubeclient.RequestPriority;
+import io.odh.test.framework.kubeclient.RequestScheduler;
+import io.odh.test.unit.mock.MockCluster;
+import io.skodjob.testframe.annotations.TestVisualSeparator;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag(TestSuite.UNIT)
+@TestVisualSeparator
+public class RequestSchedulerTests {
+
+    @Test
+    void testRequestsAreLimited() throws InterruptedException {
+        RequestScheduler scheduler = new RequestScheduler(20, 5);
+        long start = System.nanoTime();
+        for (int i = 0; i < 15; i++) {
+            scheduler.acquire(RequestPriority.READINESS);
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        // 5 requests fit into the burst, the other 10 need 500 ms at 20 qps
+        assertTrue(elapsed >= 450, "Requests were not limited, took " + elapsed + " ms");
+    }
+
+    @Test
+    void testHigherPriorityIsServedFirst() throws InterruptedException {
+        RequestScheduler scheduler = new RequestScheduler(5, 1);
+        scheduler.acquire(RequestPriority.CRITICAL);
+
+        List<RequestPriority> served = new CopyOnWriteArrayList<>();
+        Thread diagnostic = new Thread(() -> acquire(scheduler, RequestPriority.DIAGNOSTIC, served));
+        Thread critical = new Thread(() -> acquire(scheduler, RequestPriority.CRITICAL, served));
+        diagnostic.start();
+        Thread.sleep(50);
+        critical.start();
+        diagnostic.join();
+        critical.join();
+
+        assertEquals(List.of(RequestPriority.CRITICAL, RequestPriority.DIAGNOSTIC), served);
+    }
+
+    @Test
+    void testRequestPriorities() {
+        assertEquals(RequestPriority.CRITICAL, RequestPriority.of(new ApiRequest("create", "pods", null)));
+        assertEquals(RequestPriority.READINESS, RequestPriority.of(new ApiRequest("list", "pods", null)));
+        assertEquals(RequestPriority.DIAGNOSTIC, RequestPriority.of(new ApiRequest("list", "events.events.k8s.io", null)));
+        assertEquals(RequestPriority.DIAGNOSTIC, RequestPriority.of(new ApiRequest("get", "pods", "log")));
+        assertEquals(RequestPriority.DIAGNOSTIC, RequestPriority.of(new ApiRequest("create", "pods", null), "DIAGNOSTIC"));
+    }
+
+    @Test
+    void testPriorityReachesRateLimiter() {
+        List<RequestPriority> seen = new CopyOnWriteArrayList<>();
+        RequestScheduler recording = new RequestScheduler(1000, 1000) {
+            @Override
+            public synchronized long acquire(RequestPriority priority) throws InterruptedException {
+                seen.add(priority);
+                return super.acquire(priority);
+            }
+        };
+        // OkHttp interceptors run on the dispatcher threads, the priority must not depend on the calling thread
+        InstrumentedOkHttpClientFactory factory = new InstrumentedOkHttpClientFactory() {
+            @Override
+            protected void additionalConfig(OkHttpClient.Builder builder) {
+                builder.addInterceptor(new RateLimitingInterceptor(recording));
+            }
+        };
+        Config config = new ConfigBuilder(MockCluster.getInstance().getClient().getConfiguration()).build();
+        try (KubernetesClient client = new KubernetesClientBuilder().withConfig(config).withHttpClientFactory(factory).build()) {
+            client.pods().inNamespace("mock-priority").list();
+            RequestPriority.withPriority(RequestPriority.DIAGNOSTIC, () -> client.pods().inNamespace("mock-priority").list());
+            client.configMaps().inNamespace("mock-priority").list();
+        }
+
+        assertEquals(List.of(RequestPriority.READINESS, RequestPriority.DIAGNOSTIC, RequestPriority.READINESS), seen);
+    }
+
+    @Test
+    void testHigherPriorityOvertakesParkedRequests() throws Exception {
+        List<RequestPriority> served = new CopyOnWriteArrayList<>();
+        RequestScheduler recording = new RequestScheduler(5, 1) {
+            @Override
+            public synchronized long acquire(RequestPriority priority) throws InterruptedException {
+                long waited = super.acquire(priority);
+                served.add(priority);
+                return waited;
+            }
+        };
+        InstrumentedOkHttpClientFactory factory = new InstrumentedOkHttpClientFactory() {
+            @Override
+            protected void additionalConfig(OkHttpClient.Builder builder) {
+                builder.addInterceptor(new RateLimitingInterceptor(recording));
+            }
+        };
+        Config config = new ConfigBuilder(MockCluster.getInstance().getClient().getConfiguration()).build();
+        int diagnostic = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(diagnostic + 1);
+        try (KubernetesClient client = new KubernetesClientBuilder().withConfig(config).withHttpClientFactory(factory).build()) {
+            recording.acquire(RequestPriority.CRITICAL);
+            served.clear();
+            // more parked requests than the default OkHttp limit of 5 requests per host
+            List<Future<?>> requests = new ArrayList<>();
+            for (int i = 0; i < diagnostic; i++) {
+                requests.add(executor.submit(() -> RequestPriority.withPriority(RequestPriority.DIAGNOSTIC,
+                        () -> client.pods().inNamespace("mock-priority").list())));
+            }
+            Thread.sleep(100);
+            requests.add(executor.submit(() -> client.pods().inNamespace("mock-priority").list()));
+            for (Future<?> request : requests) {
+                request.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // a diagnostic request may have been served in between, but the readiness one must not queue behind all of them
+        assertEquals(diagnostic + 1, served.size());
+        assertTrue(served.indexOf(RequestPriority.READINESS) <= 1, "Readiness request was served late: " + served);
+    }
+
+    private static void acquire(RequestScheduler scheduler, RequestPriority priority, List<RequestPriority> served) {
+        try {
+            scheduler.acquire(priority);
+            served.add(priority);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
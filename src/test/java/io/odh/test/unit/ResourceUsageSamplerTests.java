@@ -0,0 +1,86 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.unit;
+
+import io.odh.test.TestSuite;
+import io.odh.test.TestUtils;
+import io.odh.test.utils.ResourceUsageSampler;
+import io.skodjob.testframe.annotations.TestVisualSeparator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag(TestSuite.UNIT)
+@TestVisualSeparator
+public class ResourceUsageSamplerTests {
+
+    private static final long MIB = 1024 * 1024;
+
+    @Test
+    void testRingOverwritesOldest() {
+        ResourceUsageSampler.Ring ring = new ResourceUsageSampler.Ring(4);
+        for (int i = 0; i < 6; i++) {
+            // 100m + 100m * i, 100 MiB + 100 MiB * i
+            ring.add(i * 1000L, (i + 1) * 100_000_000L, (i + 1) * 100 * MIB);
+        }
+
+        ResourceUsageSampler.Summary summary = ring.summarize();
+        assertEquals(4, ring.size());
+        assertEquals(4, summary.samples());
+        assertEquals(Duration.ofSeconds(3), summary.duration());
+        assertEquals(600, summary.peakCpuMillicores(), 1e-9);
+        assertEquals(450, summary.avgCpuMillicores(), 1e-9);
+        assertEquals(600, summary.peakMemoryMiB(), 1e-9);
+        assertEquals(450, summary.avgMemoryMiB(), 1e-9);
+
+        ResourceUsageSampler.Summary window = ring.summarize(4000);
+        assertEquals(2, window.samples());
+        assertEquals(Duration.ofSeconds(1), window.duration());
+        assertEquals(550, window.avgCpuMillicores(), 1e-9);
+        assertEquals(0, ring.summarize(6000).samples());
+    }
+
+    @Test
+    void testLeakSlope() {
+        ResourceUsageSampler.Ring growing = new ResourceUsageSampler.Ring(128);
+        ResourceUsageSampler.Ring flat = new ResourceUsageSampler.Ring(128);
+        for (int minute = 0; minute < 30; minute++) {
+            // 1 MiB per minute, with a garbage collection sawtooth on top
+            long noise = minute % 3 == 0 ? -2 * MIB : MIB;
+            growing.add(minute * 60_000L, 0, 200 * MIB + minute * MIB + noise);
+            flat.add(minute * 60_000L, 0, 200 * MIB + noise);
+        }
+
+        assertEquals(60, growing.summarize().memoryLeakMiBPerHour(), 1);
+        assertEquals(0, flat.summarize().memoryLeakMiBPerHour(), 1);
+        assertEquals(0, new ResourceUsageSampler.Ring(4).summarize().memoryLeakMiBPerHour());
+
+        ResourceUsageSampler.Summary summary = growing.summarize();
+        assertEquals(List.of("operator memory grows by %.2f MiB/h, more than 10.00 MiB/h".formatted(summary.memoryLeakMiBPerHour())),
+                summary.check("operator", 0, 0, 10, Duration.ofMinutes(10)));
+        // the window is too short to tell a leak from start-up allocations
+        assertEquals(List.of(), summary.check("operator", 0, 0, 10, Duration.ofHours(1)));
+        assertEquals(2, summary.check("operator", 100, 0, 10, Duration.ZERO).size());
+    }
+
+    @Test
+    void testLimitsAndDeploymentNames() {
+        Map<String, Double> limits = TestUtils.parseLimits("operator=512, *=1024");
+        assertEquals(512, TestUtils.getLimit(limits, ResourceUsageSampler.OPERATOR));
+        assertEquals(1024, TestUtils.getLimit(limits, "odh-dashboard"));
+        assertEquals(0, TestUtils.getLimit(TestUtils.parseLimits(null), "odh-dashboard"));
+        assertThrows(IllegalArgumentException.class, () -> TestUtils.parseLimits("operator"));
+
+        assertEquals("odh-dashboard", ResourceUsageSampler.getDeploymentName("odh-dashboard-6d4f9c8b7d-x2kqp"));
+        assertEquals("notebook-controller-deployment", ResourceUsageSampler.getDeploymentName("notebook-controller-deployment-5f9c7d6b4-abcde"));
+        assertEquals("modelmesh-etcd-0", ResourceUsageSampler.getDeploymentName("modelmesh-etcd-0"));
+    }
+}
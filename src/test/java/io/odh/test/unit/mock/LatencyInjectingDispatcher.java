@@ -0,0 +1,154 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.unit.mock;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
+import io.fabric8.kubernetes.client.server.mock.KubernetesCrudDispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CRUD dispatcher which delays every request by configured latency (optionally per HTTP method) plus random jitter,
+ * so the wait utilities can be timed against a slow API server. Watch requests are not delayed.
+ * The CRUD mock itself understands only metadata field selectors, other fields (e.g. regarding.uid of events)
+ * are evaluated here on the listed items.
+ */
+public class LatencyInjectingDispatcher extends KubernetesCrudDispatcher {
+
+    private static final String FIELD_SELECTOR = "fieldSelector=";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Map<String, Duration> methodLatency = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> requestCounts = new ConcurrentHashMap<>();
+    private volatile Duration latency = Duration.ZERO;
+    private volatile Duration jitter = Duration.ZERO;
+
+    public LatencyInjectingDispatcher(List<CustomResourceDefinitionContext> crdContexts) {
+        super(crdContexts);
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    public void setLatency(String method, Duration latency) {
+        methodLatency.put(method.toUpperCase(Locale.ENGLISH), latency);
+    }
+
+    public void setJitter(Duration jitter) {
+        this.jitter = jitter;
+    }
+
+    public long getRequestCount(String method) {
+        AtomicLong count = requestCounts.get(method.toUpperCase(Locale.ENGLISH));
+        return count == null ? 0 : count.get();
+    }
+
+    public long getRequestCount() {
+        return requestCounts.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    @Override
+    public MockResponse dispatch(RecordedRequest request) {
+        requestCounts.computeIfAbsent(request.getMethod(), m -> new AtomicLong()).incrementAndGet();
+        if (!request.getPath().contains("watch=true")) {
+            long delay = methodLatency.getOrDefault(request.getMethod(), latency).toMillis();
+            if (!jitter.isZero()) {
+                delay += ThreadLocalRandom.current().nextLong(jitter.toMillis() + 1);
+            }
+            if (delay > 0) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        return super.dispatch(request);
+    }
+
+    @Override
+    public MockResponse handleGet(String path) {
+        int start = path.indexOf(FIELD_SELECTOR);
+        if (start < 0) {
+            return super.handleGet(path);
+        }
+        int end = path.indexOf('&', start);
+        String selector = URLDecoder.decode(path.substring(start + FIELD_SELECTOR.length(), end < 0 ? path.length() : end),
+                StandardCharsets.UTF_8);
+
+        List<String> supported = new ArrayList<>();
+        Map<String, String> filtered = new LinkedHashMap<>();
+        for (String requirement : selector.split(",")) {
+            String[] kv = requirement.split("==?", 2);
+            if (kv[0].startsWith("metadata.") || kv.length < 2) {
+                supported.add(requirement);
+            } else {
+                filtered.put(kv[0], kv[1]);
+            }
+        }
+        if (filtered.isEmpty()) {
+            return super.handleGet(path);
+        }
+
+        String query = supported.isEmpty() ? "" : FIELD_SELECTOR + URLEncoder.encode(String.join(",", supported), StandardCharsets.UTF_8);
+        String rest = end < 0 ? "" : path.substring(end + 1);
+        String strippedPath = path.substring(0, start) + String.join("&", List.of(query, rest).stream().filter(q -> !q.isEmpty()).toList());
+        return filterItems(super.handleGet(strippedPath.endsWith("?") ? strippedPath.substring(0, strippedPath.length() - 1) : strippedPath),
+                filtered);
+    }
+
+    private static MockResponse filterItems(MockResponse response, Map<String, String> fields) {
+        if (response.getBody() == null) {
+            return response;
+        }
+        try {
+            JsonNode list = MAPPER.readTree(response.getBody().clone().readUtf8());
+            if (!list.has("items")) {
+                return response;
+            }
+            ArrayNode items = MAPPER.createArrayNode();
+            list.get("items").forEach(item -> {
+                if (fields.entrySet().stream().allMatch(f -> f.getValue().equals(item.at("/" + f.getKey().replace('.', '/')).asText()))) {
+                    items.add(item);
+                }
+            });
+            ((ObjectNode) list).set("items", items);
+            return response.setBody(MAPPER.writeValueAsString(list));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Drops all stored resources, latency settings and counters
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        methodLatency.clear();
+        requestCounts.clear();
+        latency = Duration.ZERO;
+        jitter = Duration.ZERO;
+    }
+}
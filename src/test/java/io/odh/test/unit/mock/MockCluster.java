@@ -0,0 +1,82 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.unit.mock;
+
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import io.fabric8.mockwebserver.Context;
+import io.kserve.serving.v1beta1.InferenceService;
+import io.opendatahub.datasciencecluster.v1.DataScienceCluster;
+import io.opendatahub.dscinitialization.v1.DSCInitialization;
+import io.skodjob.testframe.resources.KubeResourceManager;
+import okhttp3.mockwebserver.MockWebServer;
+import org.kubeflow.v1.Notebook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Offline cluster for the unit tests. The mock server runs in CRUD mode with the ODH custom resources registered.
+ * There is a single instance per JVM, test classes which exercise the utils built on top of
+ * {@link KubeResourceManager#getKubeClient()} point it to the mock by {@link MockClusterExtension}.
+ */
+public final class MockCluster {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MockCluster.class);
+
+    private static final List<CustomResourceDefinitionContext> CRD_CONTEXTS = List.of(
+            CustomResourceDefinitionContext.fromCustomResourceType(DataScienceCluster.class),
+            CustomResourceDefinitionContext.fromCustomResourceType(DSCInitialization.class),
+            CustomResourceDefinitionContext.fromCustomResourceType(Notebook.class),
+            CustomResourceDefinitionContext.fromCustomResourceType(InferenceService.class)
+    );
+
+    private static MockCluster instance;
+
+    private final KubernetesMockServer server;
+    private final LatencyInjectingDispatcher dispatcher;
+    private final KubernetesClient client;
+
+    private MockCluster() {
+        dispatcher = new LatencyInjectingDispatcher(CRD_CONTEXTS);
+        server = new KubernetesMockServer(new Context(), new MockWebServer(), new HashMap<>(), dispatcher, false);
+        server.init();
+
+        client = server.createClient();
+        LOGGER.info("Mock cluster is running at {}", server.url("/"));
+    }
+
+    public static synchronized MockCluster getInstance() {
+        if (instance == null) {
+            instance = new MockCluster();
+        }
+        return instance;
+    }
+
+    /**
+     * @return client of the mock server, independent of {@link KubeResourceManager}
+     */
+    public KubernetesClient getClient() {
+        return client;
+    }
+
+    public String getUrl() {
+        return server.url("/");
+    }
+
+    public LatencyInjectingDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * Removes all resources and latency settings, so the tests don't influence each other
+     */
+    public void reset() {
+        dispatcher.reset();
+    }
+}
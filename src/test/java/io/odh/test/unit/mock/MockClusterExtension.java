@@ -0,0 +1,89 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.unit.mock;
+
+import io.fabric8.kubernetes.client.Config;
+import io.skodjob.testframe.clients.KubeClient;
+import io.skodjob.testframe.resources.KubeResourceManager;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * jUnit5 extension which points {@link KubeResourceManager#getKubeClient()} to the {@link MockCluster} for the test class.
+ * The fabric8 system properties are set only while the mock client is created, and the previous client of the resource
+ * manager is put back after the class, so the result does not depend on the order in which the test classes run.
+ */
+public class MockClusterExtension implements BeforeAllCallback, AfterAllCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(MockClusterExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        MockCluster cluster = MockCluster.getInstance();
+        Map<String, String> properties = Map.of(
+                Config.KUBERNETES_MASTER_SYSTEM_PROPERTY, cluster.getUrl(),
+                Config.KUBERNETES_TRUST_CERT_SYSTEM_PROPERTY, "true",
+                Config.KUBERNETES_AUTH_TRYKUBECONFIG_SYSTEM_PROPERTY, "false",
+                Config.KUBERNETES_AUTH_TRYSERVICEACCOUNT_SYSTEM_PROPERTY, "false",
+                Config.KUBERNETES_NAMESPACE_SYSTEM_PROPERTY, "default");
+        // values may be null, which Map.of does not allow
+        Map<String, String> previous = new HashMap<>();
+        properties.forEach((key, value) -> previous.put(key, System.setProperty(key, value)));
+        KubeClient mockClient;
+        try {
+            mockClient = new KubeClient();
+        } finally {
+            previous.forEach(MockClusterExtension::restoreProperty);
+        }
+        context.getStore(NAMESPACE).put(KubeClient.class, setKubeClient(mockClient));
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        KubeClient previous = context.getStore(NAMESPACE).remove(KubeClient.class, KubeClient.class);
+        setKubeClient(previous).getClient().close();
+        MockCluster.getInstance().reset();
+    }
+
+    private static void restoreProperty(String key, String value) {
+        if (value == null) {
+            System.clearProperty(key);
+        } else {
+            System.setProperty(key, value);
+        }
+    }
+
+    /**
+     * test-frame has no setter for the client of the resource manager, so the static field is replaced
+     * @return the client which was set before, null when the resource manager did not create one yet
+     */
+    private static KubeClient setKubeClient(KubeClient kubeClient) {
+        List<Field> fields = Arrays.stream(KubeResourceManager.class.getDeclaredFields())
+                .filter(f -> Modifier.isStatic(f.getModifiers()) && !Modifier.isFinal(f.getModifiers()) && f.getType() == KubeClient.class)
+                .toList();
+        if (fields.size() != 1) {
+            throw new IllegalStateException("KubeResourceManager does not keep its KubeClient in a single static field, found " + fields);
+        }
+        Field field = fields.get(0);
+        try {
+            field.setAccessible(true);
+            synchronized (KubeResourceManager.class) {
+                KubeClient previous = (KubeClient) field.get(null);
+                field.set(null, kubeClient);
+                return previous;
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Can't replace the KubeClient of KubeResourceManager", e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.unit.mock;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+
+/**
+ * Plain http server on a random localhost port for unit tests of the http clients, handlers are registered per path
+ */
+public class MockHttpServer implements AutoCloseable {
+
+    private final HttpServer httpd;
+
+    private MockHttpServer(HttpServer httpd) {
+        this.httpd = httpd;
+    }
+
+    public static MockHttpServer start() throws IOException {
+        HttpServer httpd = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        httpd.start();
+        return new MockHttpServer(httpd);
+    }
+
+    /**
+     * @return base url of the server, without a trailing slash
+     */
+    public String getUrl() {
+        return "http://localhost:%d".formatted(httpd.getAddress().getPort());
+    }
+
+    public void handle(String path, HttpHandler handler) {
+        httpd.createContext(path, handler);
+    }
+
+    /**
+     * Sends the status and the parts one after another as the response body
+     */
+    public static void respond(HttpExchange exchange, int status, byte[]... parts) throws IOException {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        exchange.sendResponseHeaders(status, length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            for (byte[] part : parts) {
+                os.write(part);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        httpd.stop(0);
+    }
+}
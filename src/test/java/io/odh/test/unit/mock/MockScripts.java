@@ -0,0 +1,130 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.unit.mock;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.MicroTime;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.events.v1.EventBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.odh.test.OdhConstants;
+import io.odh.test.utils.ConditionView;
+import io.opendatahub.datasciencecluster.v1.DataScienceCluster;
+import io.opendatahub.datasciencecluster.v1.DataScienceClusterStatus;
+import io.opendatahub.datasciencecluster.v1.datascienceclusterstatus.Conditions;
+import io.opendatahub.datasciencecluster.v1.datascienceclusterstatus.ConditionsBuilder;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Reusable steps for {@link ScriptedController} which mimic what the operators would do on a real cluster.
+ */
+public final class MockScripts {
+
+    private MockScripts() { }
+
+    /**
+     * Sets all conditions checked by DataScienceClusterType#isReady, emits the creation event
+     * and makes sure there is a ready Pod in the controllers namespace.
+     */
+    public static BiConsumer<KubernetesClient, DataScienceCluster> dscReady() {
+        return (client, dsc) -> {
+            setDscConditions(client, dsc, Map.of(
+                    "dashboardReady", "True",
+                    "workbenchesReady", "True",
+                    "Available", "True",
+                    "Progressing", "False",
+                    "Degraded", "False",
+                    "Upgradeable", "True",
+                    "ReconcileComplete", "True"));
+            emitEvent(client, dsc, "default", OdhConstants.DSC_CREATION_SUCCESSFUL_EVENT_NAME);
+            client.resource(readyPod(OdhConstants.CONTROLLERS_NAMESPACE, OdhConstants.DASHBOARD_CONTROLLER)).createOr(r -> r.update());
+        };
+    }
+
+    /**
+     * Replaces DSC conditions with the given type to status mapping
+     */
+    public static BiConsumer<KubernetesClient, DataScienceCluster> dscConditions(Map<String, String> conditions) {
+        return (client, dsc) -> setDscConditions(client, dsc, conditions);
+    }
+
+    private static void setDscConditions(KubernetesClient client, DataScienceCluster dsc, Map<String, String> conditions) {
+        if (dsc.getStatus() == null) {
+            dsc.setStatus(new DataScienceClusterStatus());
+        }
+        // lastTransitionTime changes only with the status, same as in the operator
+        ConditionView previous = ConditionView.of(dsc);
+        String now = ZonedDateTime.now().format(DateTimeFormatter.ISO_INSTANT);
+        List<Conditions> statusConditions = new ArrayList<>();
+        conditions.forEach((type, status) -> statusConditions.add(new ConditionsBuilder()
+                .withType(type)
+                .withStatus(status)
+                .withReason(type)
+                .withLastTransitionTime(status.equals(previous.status(type)) ? previous.get(type).lastTransitionTime() : now)
+                .build()));
+        dsc.getStatus().setConditions(statusConditions);
+        client.resources(DataScienceCluster.class).resource(dsc).updateStatus();
+    }
+
+    /**
+     * Creates events.k8s.io/v1 Event regarding the given object
+     */
+    public static void emitEvent(KubernetesClient client, HasMetadata regarding, String namespace, String reason) {
+        client.events().v1().events().inNamespace(namespace).resource(new EventBuilder()
+                .withNewMetadata()
+                .withGenerateName(regarding.getMetadata().getName() + ".")
+                .withNamespace(namespace)
+                .endMetadata()
+                .withNewRegarding()
+                .withApiVersion(regarding.getApiVersion())
+                .withKind(regarding.getKind())
+                .withName(regarding.getMetadata().getName())
+                .withNamespace(regarding.getMetadata().getNamespace())
+                .withUid(regarding.getMetadata().getUid())
+                .endRegarding()
+                .withReason(reason)
+                .withType("Normal")
+                .withAction(reason)
+                .withReportingController("mock-cluster")
+                .withReportingInstance("mock-cluster")
+                .withEventTime(new MicroTime(ZonedDateTime.now().format(DateTimeFormatter.ISO_INSTANT)))
+                .build()).create();
+    }
+
+    public static Pod readyPod(String namespace, String name) {
+        return new PodBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .withNamespace(namespace)
+                .addToLabels("app", name)
+                .endMetadata()
+                .withNewSpec()
+                .addNewContainer()
+                .withName(name)
+                .withImage("mock")
+                .endContainer()
+                .endSpec()
+                .withNewStatus()
+                .withPhase("Running")
+                .addNewCondition()
+                .withType("Ready")
+                .withStatus("True")
+                .endCondition()
+                .addNewContainerStatus()
+                .withName(name)
+                .withReady(true)
+                .withRestartCount(0)
+                .endContainerStatus()
+                .endStatus()
+                .build();
+    }
+}
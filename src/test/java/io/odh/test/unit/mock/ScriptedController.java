@@ -0,0 +1,110 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.odh.test.unit.mock;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Fake controller for the mock cluster. Every created resource of the given type goes through the scripted steps,
+ * each step runs after its delay (counted from the previous step) with the latest version of the resource.
+ * <pre>
+ * ScriptedController.of(client, DataScienceCluster.class)
+ *     .step(Duration.ofSeconds(2), MockScripts.dscReady())
+ *     .start();
+ * </pre>
+ */
+public class ScriptedController<T extends HasMetadata> implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScriptedController.class);
+
+    private record Step<T>(Duration delay, BiConsumer<KubernetesClient, T> action) { }
+
+    private final KubernetesClient client;
+    private final Class<T> type;
+    private final List<Step<T>> steps = new ArrayList<>();
+    private final Set<String> handled = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "scripted-controller");
+        t.setDaemon(true);
+        return t;
+    });
+    private SharedIndexInformer<T> informer;
+
+    private ScriptedController(KubernetesClient client, Class<T> type) {
+        this.client = client;
+        this.type = type;
+    }
+
+    public static <T extends HasMetadata> ScriptedController<T> of(KubernetesClient client, Class<T> type) {
+        return new ScriptedController<>(client, type);
+    }
+
+    public ScriptedController<T> step(Duration delay, BiConsumer<KubernetesClient, T> action) {
+        steps.add(new Step<>(delay, action));
+        return this;
+    }
+
+    public ScriptedController<T> start() {
+        informer = client.resources(type).inAnyNamespace().inform(new ResourceEventHandler<>() {
+            @Override
+            public void onAdd(T resource) {
+                if (handled.add(resource.getMetadata().getUid())) {
+                    schedule(resource);
+                }
+            }
+
+            @Override
+            public void onUpdate(T oldResource, T newResource) {
+            }
+
+            @Override
+            public void onDelete(T resource, boolean deletedFinalStateUnknown) {
+            }
+        });
+        return this;
+    }
+
+    private void schedule(T resource) {
+        long delay = 0;
+        for (Step<T> step : steps) {
+            delay += step.delay().toMillis();
+            executor.schedule(() -> {
+                T latest = client.resource(resource).get();
+                if (latest == null) {
+                    LOGGER.debug("{} {} was deleted, skipping scripted step", resource.getKind(), resource.getMetadata().getName());
+                    return;
+                }
+                try {
+                    step.action().accept(client, latest);
+                } catch (RuntimeException e) {
+                    LOGGER.error("Scripted step for {} {} failed", resource.getKind(), resource.getMetadata().getName(), e);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (informer != null) {
+            informer.stop();
+        }
+        executor.shutdownNow();
+    }
+}